@@ -0,0 +1,93 @@
+package com.armacare;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.armacare.dto.ProfessionalDto;
+import com.armacare.model.Professional;
+import com.armacare.model.Professional.AccountStatus;
+
+// Données de mesure déterministes : mêmes valeurs d'une exécution à l'autre
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static ProfessionalDto professionalDto(int i) {
+        ProfessionalDto dto = new ProfessionalDto();
+        dto.setFirstName("Prénom" + i);
+        dto.setLastName("Nom" + i);
+        dto.setSpeciality("Medecin généraliste");
+        dto.setRegistrationNumber("BENCH-" + i);
+        dto.setPhone("77" + String.format("%07d", i));
+        dto.setEmail("pro" + i + "@example.com");
+        dto.setAddress(i + " avenue Cheikh Anta Diop");
+        dto.setCity("Dakar");
+        dto.setCountry("Sénégal");
+        dto.setIdentityDocumentPath("documents/" + i + "/identite.pdf");
+        dto.setDiplomaPath("documents/" + i + "/diplome.pdf");
+        dto.setLicensePath("documents/" + i + "/licence.pdf");
+        dto.setProfessionalInsurancePath("documents/" + i + "/assurance.pdf");
+        dto.setBankAccountNumberPath("documents/" + i + "/rib.pdf");
+        dto.setAccountStatus(AccountStatus.ACTIVE);
+        dto.setStatusChangeDate(LocalDateTime.of(2025, 1, 1, 12, 0));
+        dto.setStatusChangeReason("Documents validés");
+        return dto;
+    }
+
+    public static Professional professional(int i) {
+        Professional professional = new Professional();
+        professional.setId((long) i);
+        professional.setFirstName("Prénom" + i);
+        professional.setLastName("Nom" + i);
+        professional.setSpeciality("Medecin généraliste");
+        professional.setRegistrationNumber("BENCH-" + i);
+        professional.setPhone("77" + String.format("%07d", i));
+        professional.setEmail("pro" + i + "@example.com");
+        professional.setAddress(i + " avenue Cheikh Anta Diop");
+        professional.setCity("Dakar");
+        professional.setCountry("Sénégal");
+        professional.setIdentityDocumentPath("documents/" + i + "/identite.pdf");
+        professional.setDiplomaPath("documents/" + i + "/diplome.pdf");
+        professional.setLicensePath("documents/" + i + "/licence.pdf");
+        professional.setProfessionalInsurancePath("documents/" + i + "/assurance.pdf");
+        professional.setBankAccountNumberPath("documents/" + i + "/rib.pdf");
+        professional.setAccountStatus(AccountStatus.ACTIVE);
+        professional.setStatusChangeDate(LocalDateTime.of(2025, 1, 1, 12, 0));
+        professional.setStatusChangeReason("Documents validés");
+        return professional;
+    }
+
+    public static List<Professional> professionals(int count) {
+        List<Professional> professionals = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            professionals.add(professional(i));
+        }
+        return professionals;
+    }
+
+    // Application complète sur une base H2 en mémoire propre à l'appel (schéma créé par Hibernate),
+    // sans tâches planifiées : pour mesurer les dépôts et les services qui lisent la base.
+    // À fermer dans le @TearDown du benchmark.
+    public static ConfigurableApplicationContext startApplication() {
+        // En arguments de la ligne de commande : ils priment sur application.properties (MySQL)
+        return new SpringApplicationBuilder(ArmaCareApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--server.port=0",
+                "--armacare.batch.adjudication.cron=-",
+                "--armacare.verification.sweep-cron=-",
+                "--armacare.summary.backfill-on-startup=false",
+                "--armacare.documents.root=target/benchmark-documents",
+                "--logging.level.root=WARN");
+    }
+}
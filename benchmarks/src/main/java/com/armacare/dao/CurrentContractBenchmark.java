@@ -0,0 +1,91 @@
+package com.armacare.dao;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.armacare.BenchmarkFixtures;
+import com.armacare.model.Insurance;
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Patient;
+
+// Contrat en vigueur d'un patient (InsuranceContractRepository.findCurrentContract) sur une base H2 en mémoire :
+// une requête servie par l'index (patient_id, active, start_date, end_date), quel que soit le nombre de contrats
+// du patient. Les contrats sont commencés de mois en mois, un sur deux résilié ; le plus récent est le bon.
+// D'autres patients ont chacun leurs contrats, pour que l'index ne porte pas sur un seul patient.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class CurrentContractBenchmark {
+
+    private static final int OTHER_PATIENTS = 100;
+    private static final int OTHER_PATIENT_CONTRACTS = 10;
+
+    // Nombre de contrats du patient mesuré
+    @Param({"1", "10", "100"})
+    private int contracts;
+
+    private ConfigurableApplicationContext context;
+    private InsuranceContractRepository contractRepository;
+    private Long patientId;
+    private LocalDate date;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication();
+        contractRepository = context.getBean(InsuranceContractRepository.class);
+        PatientRepository patientRepository = context.getBean(PatientRepository.class);
+        Insurance insurance = context.getBean(InsuranceRepository.class).save(
+                new Insurance("Assureur", "Santé", "assureur@example.com", "781234567"));
+
+        for (int p = 0; p <= OTHER_PATIENTS; p++) {
+            Patient patient = patientRepository.save(new Patient("Awa", "Ndiaye" + p, LocalDate.of(1990, 1, 1), "F",
+                    "CNI-" + p, "Rue " + p, "Dakar", "10000", "771234567", "awa" + p + "@example.com"));
+            int count = p == 0 ? contracts : OTHER_PATIENT_CONTRACTS;
+            List<InsuranceContract> patientContracts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                InsuranceContract contract = new InsuranceContract("C-" + p + "-" + i, "Standard",
+                        java.sql.Date.valueOf(LocalDate.of(2000, 1, 1).plusMonths(i)), null, 0.0, patient, insurance);
+                contract.setActive(i == count - 1 || i % 2 == 0);
+                patientContracts.add(contract);
+            }
+            contractRepository.saveAll(patientContracts);
+            if (p == 0) {
+                patientId = patient.getId();
+            }
+        }
+        date = LocalDate.of(2024, 6, 15);
+        if (findCurrentContract().isEmpty()) {
+            throw new IllegalStateException("Aucun contrat en vigueur pour le patient mesuré");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<InsuranceContract> findCurrentContract() {
+        return contractRepository.findCurrentContract(patientId, date);
+    }
+}
@@ -0,0 +1,62 @@
+package com.armacare.dto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.armacare.BenchmarkFixtures;
+import com.armacare.model.Professional;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+// Sérialisation JSON des listes de professionnels, entités et projections, avec la configuration
+// Jackson par défaut de Spring (modules java.time compris)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ProfessionalSerializationBenchmark {
+
+    @Param({"50", "500"})
+    private int size;
+
+    private ObjectWriter entityWriter;
+    private ObjectWriter viewWriter;
+    private List<Professional> professionals;
+    private List<ProfessionalView> views;
+
+    @Setup
+    public void setUp() {
+        var objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        professionals = BenchmarkFixtures.professionals(size);
+        views = professionals.stream().map(ProfessionalView::from).toList();
+        entityWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, Professional.class));
+        viewWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ProfessionalView.class));
+    }
+
+    @Benchmark
+    public byte[] serializeEntities() throws JsonProcessingException {
+        return entityWriter.writeValueAsBytes(professionals);
+    }
+
+    @Benchmark
+    public byte[] serializeViews() throws JsonProcessingException {
+        return viewWriter.writeValueAsBytes(views);
+    }
+}
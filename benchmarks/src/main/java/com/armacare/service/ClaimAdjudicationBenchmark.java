@@ -0,0 +1,130 @@
+package com.armacare.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.armacare.BenchmarkFixtures;
+import com.armacare.dao.CoverageRepository;
+import com.armacare.dao.InsuranceContractRepository;
+import com.armacare.dao.InsuranceRepository;
+import com.armacare.dao.InvoiceRepository;
+import com.armacare.dao.PatientRepository;
+import com.armacare.dto.AdjudicationResult;
+import com.armacare.dto.InvoiceClaim;
+import com.armacare.dto.InvoiceSummary;
+import com.armacare.model.Coverage;
+import com.armacare.model.Insurance;
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Invoice;
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.armacare.model.Patient;
+
+// Calculs de liquidation : part patient, recherche dans les règles compilées d'un contrat
+// et décision complète sur une facture (règles déjà en cache, sans accès à la base).
+// Le contrat et ses couvertures sont enregistrés dans une base H2 en mémoire ; le service est construit
+// sur les vrais dépôts, sans le proxy Spring (transaction, @Timed) qui n'est pas l'objet de la mesure.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ClaimAdjudicationBenchmark {
+
+    // Nombre de types de soins couverts par le contrat
+    @Param({"8", "64"})
+    private int coverages;
+
+    private ConfigurableApplicationContext context;
+    private List<Coverage> contractCoverages;
+    private CoverageRuleTable rules;
+    private ClaimAdjudicationService adjudicationService;
+    private InvoiceClaim claim;
+    private Invoice invoice;
+    private InvoiceSummary summary;
+    private String coverageType;
+
+    @Setup
+    public void setUp() {
+        contractCoverages = new ArrayList<>(coverages);
+        for (int i = 0; i < coverages; i++) {
+            contractCoverages.add(new Coverage("soin-" + i, 50 + (i % 50), 100000.0 + i));
+        }
+        coverageType = "SOIN-" + (coverages / 2);
+        rules = CoverageRuleTable.compile(contractCoverages, 5000.0);
+
+        context = BenchmarkFixtures.startApplication();
+        Patient patient = context.getBean(PatientRepository.class).save(new Patient("Awa", "Ndiaye",
+                LocalDate.of(1990, 1, 1), "F", "CNI-1", "Rue 1", "Dakar", "10000", "771234567", "awa@example.com"));
+        Insurance insurance = context.getBean(InsuranceRepository.class).save(
+                new Insurance("Assureur", "Santé", "assureur@example.com", "781234567"));
+        InsuranceContract contract = new InsuranceContract("C-1", "Standard", java.sql.Date.valueOf("2024-01-01"),
+                null, 5000.0, patient, insurance);
+        contractCoverages.forEach(contract::addCoverage);
+        contract = context.getBean(InsuranceContractRepository.class).save(contract);
+
+        adjudicationService = new ClaimAdjudicationService(context.getBean(InvoiceRepository.class),
+                context.getBean(InsuranceContractRepository.class), context.getBean(CoverageRepository.class),
+                10_000, Duration.ofHours(1));
+        claim = new InvoiceClaim(1L, patient.getId(), contract.getId(), true, contract.getStartDate(), null,
+                contract.getDeductible(), LocalDate.of(2025, 3, 1), 30000.0, coverageType);
+        // Premier appel : règles lues en base et compilées, les appels mesurés les trouvent en cache
+        if (adjudicationService.adjudicate(claim).getReimbursableAmount() <= 0) {
+            throw new IllegalStateException("Liquidation inattendue du contrat mesuré");
+        }
+
+        invoice = new Invoice();
+        invoice.setTotalAmount(30000.0);
+        invoice.setReimbursableAmount(20000.0);
+        summary = new InvoiceSummary(1L, LocalDate.of(2025, 3, 1), 30000.0, 20000.0,
+                InvoiceStatus.PARTIELLEMENT_REMBOURSEE, coverageType, 1L, "Saliou", "Diop",
+                1L, "Awa", "Ndiaye", 1L, "C-1", "Assureur");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Double invoicePatientShare() {
+        return invoice.getPatientShare();
+    }
+
+    @Benchmark
+    public Double summaryPatientShare() {
+        return summary.getPatientShare();
+    }
+
+    @Benchmark
+    public CoverageRuleTable compileRules() {
+        return CoverageRuleTable.compile(contractCoverages, 5000.0);
+    }
+
+    @Benchmark
+    public double reimbursableAmount() {
+        return rules.reimbursableAmount(coverageType, 30000.0);
+    }
+
+    @Benchmark
+    public AdjudicationResult adjudicateClaim() {
+        return adjudicationService.adjudicate(claim);
+    }
+}
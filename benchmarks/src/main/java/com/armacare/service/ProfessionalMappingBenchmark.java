@@ -0,0 +1,72 @@
+package com.armacare.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.armacare.BenchmarkFixtures;
+import com.armacare.dto.ProfessionalDto;
+import com.armacare.dto.ProfessionalView;
+import com.armacare.model.Professional;
+import com.armacare.model.Professional.AccountStatus;
+
+// Copie DTO -> entité (inscription et mise à jour) et entité -> vue renvoyée par l'API.
+// Dans le paquet du service pour accéder aux méthodes de correspondance visibles dans le paquet.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ProfessionalMappingBenchmark {
+
+    private ProfessionalService professionalService;
+    private ProfessionalDto sameStatusDto;
+    private ProfessionalDto statusChangeDto;
+    private Professional professional;
+
+    @Setup
+    public void setUp() {
+        // Le dépôt n'est pas sollicité par les méthodes mesurées
+        professionalService = new ProfessionalService(null, null, new ProfessionalLookupCache(100, Duration.ofMinutes(5)),
+                event -> { });
+        sameStatusDto = BenchmarkFixtures.professionalDto(1);
+        statusChangeDto = BenchmarkFixtures.professionalDto(1);
+        statusChangeDto.setAccountStatus(AccountStatus.SUSPENDED);
+        professional = BenchmarkFixtures.professional(1);
+    }
+
+    @Benchmark
+    public Professional newProfessionalFromDto() {
+        return professionalService.newProfessionalFromDto(sameStatusDto);
+    }
+
+    @Benchmark
+    public Professional updateProfessionalFromDto() {
+        professional.setAccountStatus(AccountStatus.ACTIVE);
+        professionalService.updateProfessionalFromDto(professional, sameStatusDto);
+        return professional;
+    }
+
+    @Benchmark
+    public Professional updateProfessionalFromDtoWithStatusChange() {
+        professional.setAccountStatus(AccountStatus.ACTIVE);
+        professionalService.updateProfessionalFromDto(professional, statusChangeDto);
+        return professional;
+    }
+
+    @Benchmark
+    public ProfessionalView professionalToView() {
+        return ProfessionalView.from(professional);
+    }
+}
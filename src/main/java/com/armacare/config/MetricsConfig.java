@@ -0,0 +1,22 @@
+package com.armacare.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Active @Timed sur les services (minuteurs par méthode, étiquetés class/method/exception).
+// Les dépôts Spring Data (spring.data.repository.invocations), les requêtes HTTP (http.server.requests),
+// les statistiques Hibernate et les pools HikariCP sont instrumentés par l'auto-configuration d'Actuator.
+@Configuration
+public class MetricsConfig {
+
+    // Nom commun des minuteurs de services
+    public static final String SERVICE_TIMER = "armacare.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
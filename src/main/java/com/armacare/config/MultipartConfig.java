@@ -0,0 +1,36 @@
+package com.armacare.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.armacare.service.DocumentStorageService;
+
+import jakarta.servlet.MultipartConfigElement;
+
+// Parties multipart écrites par le conteneur dans le répertoire de réception du stockage des documents :
+// sur le même volume, le fichier reçu est renommé à sa place au lieu d'être recopié.
+// Les limites restent celles de spring.servlet.multipart.* ; le répertoire est absolu, car Tomcat résout
+// un emplacement relatif dans son propre répertoire de travail.
+@Configuration
+public class MultipartConfig {
+
+    @Bean
+    public MultipartConfigElement multipartConfigElement(MultipartProperties properties,
+            DocumentStorageService storage) {
+        Path incoming = storage.incomingDirectory();
+        try {
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Répertoire de réception des documents inaccessible : " + incoming, e);
+        }
+        MultipartConfigElement limits = properties.createMultipartConfig();
+        return new MultipartConfigElement(incoming.toString(), limits.getMaxFileSize(),
+                limits.getMaxRequestSize(), limits.getFileSizeThreshold());
+    }
+}
@@ -0,0 +1,81 @@
+package com.armacare.config;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.armacare.config.ReplicaRoutingDataSource.Replica;
+
+// Vérifie périodiquement le retard de réplication de chaque réplica.
+// Un réplica injoignable, dont la réplication est arrêtée ou dont le retard dépasse le maximum toléré
+// est écarté de l'aiguillage jusqu'à la vérification suivante qui le trouve rattrapé.
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Colonnes de SHOW REPLICA STATUS (MySQL 8.0.22+) puis de SHOW SLAVE STATUS
+    private static final String[] LAG_COLUMNS = {"Seconds_Behind_Source", "Seconds_Behind_Master"};
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+
+    public ReplicaLagMonitor(List<Replica> replicas, String lagQuery, Duration maxLag) {
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toSeconds();
+    }
+
+    @Scheduled(fixedDelayString = "${armacare.datasource.routing.lag-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            Long lag = lagSeconds(replica);
+            boolean available = lag != null && lag <= maxLagSeconds;
+            if (available != replica.isAvailable()) {
+                if (available) {
+                    log.info("Réplica {} de nouveau utilisé (retard {} s)", replica.getName(), lag);
+                } else {
+                    log.warn("Réplica {} écarté : retard {} s (maximum {} s)", replica.getName(),
+                            lag != null ? lag : "inconnu", maxLagSeconds);
+                }
+            }
+            replica.setAvailable(available);
+        }
+    }
+
+    // Retard en secondes, null si le réplica ne répond pas ou si la réplication est arrêtée
+    Long lagSeconds(Replica replica) {
+        try {
+            return new JdbcTemplate(replica.getDataSource()).query(lagQuery, ReplicaLagMonitor::readLag);
+        } catch (DataAccessException e) {
+            log.debug("Vérification du réplica {} impossible", replica.getName(), e);
+            return null;
+        }
+    }
+
+    private static Long readLag(ResultSet resultSet) throws SQLException {
+        if (!resultSet.next()) {
+            return null;
+        }
+        Object lag = resultSet.getObject(lagColumn(resultSet));
+        return lag instanceof Number number ? number.longValue() : null;
+    }
+
+    private static int lagColumn(ResultSet resultSet) throws SQLException {
+        for (String column : LAG_COLUMNS) {
+            try {
+                return resultSet.findColumn(column);
+            } catch (SQLException e) {
+                // colonne absente : requête de sonde personnalisée
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,146 @@
+package com.armacare.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+// Aiguillage des connexions : les transactions en lecture seule vont sur un réplica disponible,
+// tout le reste (écritures, appels hors transaction) sur la base principale.
+// Doit être enveloppée dans un LazyConnectionDataSourceProxy : la connexion n'est alors obtenue
+// qu'à la première requête, une fois le drapeau readOnly de la transaction positionné.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    public enum Selection {
+        // Chaque réplica à tour de rôle
+        ROUND_ROBIN,
+        // Le réplica qui a le moins de connexions actives dans son pool
+        LEAST_LOADED
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Selection selection;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Selection selection) {
+        this.primary = primary;
+        this.selection = selection;
+        List<Replica> replicaList = new ArrayList<>(replicas.size());
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            if (PRIMARY.equals(name)) {
+                throw new IllegalArgumentException("Nom de réplica réservé : " + name);
+            }
+            replicaList.add(new Replica(name, dataSource));
+            targets.put(name, dataSource);
+        });
+        this.replicas = Collections.unmodifiableList(replicaList);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        // Pas forcément déclarée comme bean : initialisation immédiate
+        afterPropertiesSet();
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Replica replica = selectReplica();
+        return replica != null ? replica.getName() : PRIMARY;
+    }
+
+    // null quand aucun réplica n'est disponible : repli sur la base principale
+    Replica selectReplica() {
+        int count = replicas.size();
+        if (count == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), count);
+        Replica selected = null;
+        for (int i = 0; i < count; i++) {
+            Replica candidate = replicas.get((start + i) % count);
+            if (!candidate.isAvailable()) {
+                continue;
+            }
+            if (selection == Selection.ROUND_ROBIN) {
+                return candidate;
+            }
+            // À charge égale, l'ordre tournant départage les réplicas
+            if (selected == null || candidate.getActiveConnections() < selected.getActiveConnections()) {
+                selected = candidate;
+            }
+        }
+        return selected;
+    }
+
+    // Ferme les pools créés par la configuration (appelée à l'arrêt du contexte)
+    public void close() {
+        closePool(primary);
+        for (Replica replica : replicas) {
+            closePool(replica.getDataSource());
+        }
+    }
+
+    private static void closePool(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            hikari.close();
+        }
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        // Mis à jour par ReplicaLagMonitor : un réplica trop en retard ou injoignable n'est plus choisi
+        private volatile boolean available = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        void setAvailable(boolean available) {
+            this.available = available;
+        }
+
+        // Connexions empruntées au pool ; 0 si le pool n'est pas un pool Hikari ou n'a pas encore démarré
+        public int getActiveConnections() {
+            if (dataSource instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                return pool != null ? pool.getActiveConnections() : 0;
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.armacare.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Active les traitements planifiés (liquidation par lots des factures)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
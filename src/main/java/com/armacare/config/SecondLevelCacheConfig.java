@@ -0,0 +1,108 @@
+package com.armacare.config;
+
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+// Cache de second niveau Hibernate (JCache / Caffeine) pour les données de référence lues à chaque liquidation :
+// assureurs, couvertures et couvertures d'un contrat, plus le cache de requêtes des recherches d'assureurs.
+// Chaque région a sa taille et sa durée de vie (armacare.cache.hibernate.regions.*) ; une région manquante
+// fait échouer le démarrage plutôt que d'être créée sans limite.
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    public static final String INSURANCES = "insurances";
+    public static final String COVERAGES = "coverages";
+    public static final String CONTRACT_COVERAGES = "insurance-contract-coverages";
+    public static final String INSURANCE_QUERIES = "insurance-queries";
+
+    // Régions de données et de requêtes, suivies par la jauge de taux de succès
+    static final List<String> REGIONS = List.of(INSURANCES, COVERAGES, CONTRACT_COVERAGES, INSURANCE_QUERIES,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        // Le gestionnaire par défaut du fournisseur est partagé par tous les contextes du même chargeur de classes
+        // (contextes de test successifs sur une base recréée) : chaque contexte a le sien
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("armacare:hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            cacheManager.createCache(region, configuration(properties.region(region)));
+        }
+        // Horodatages des tables modifiées : ne doivent jamais expirer avant les résultats de requêtes qui en dépendent
+        SecondLevelCacheProperties.Region timestamps = properties.region(
+                RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+        timestamps.setTtl(null);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, configuration(timestamps));
+        return cacheManager;
+    }
+
+    // Réglages passés à Hibernate ici plutôt que dans application.properties : les tests @DataJpaTest,
+    // qui ne chargent pas cette configuration, restent sans cache de second niveau
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // Taux de succès par région (hibernate-micrometer publie déjà les compteurs hit/miss/put)
+    @Bean
+    public MeterBinder secondLevelCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : REGIONS) {
+                Gauge.builder("armacare.hibernate.cache.hit.ratio", statistics, s -> hitRatio(s, region))
+                        .description("Taux de succès du cache de second niveau")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return 0;
+        }
+        long requests = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return requests > 0 ? (double) regionStatistics.getHitCount() / requests : 0;
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(SecondLevelCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+        if (region.getTtl() != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
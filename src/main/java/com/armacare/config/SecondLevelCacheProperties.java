@@ -0,0 +1,50 @@
+package com.armacare.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Propriétés armacare.cache.hibernate.* : taille et durée de vie de chaque région du cache de second niveau
+@ConfigurationProperties(prefix = "armacare.cache.hibernate")
+public class SecondLevelCacheProperties {
+
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    public Map<String, Region> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(Map<String, Region> regions) {
+        this.regions = regions;
+    }
+
+    // Réglages d'une région, ou valeurs par défaut si elle n'est pas configurée
+    public Region region(String name) {
+        return regions.getOrDefault(name, new Region());
+    }
+
+    public static class Region {
+
+        private long maximumSize = 1000;
+        // Durée de vie après écriture ; sans valeur, les entrées ne sont évincées que par la taille
+        private Duration ttl;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.armacare.config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.armacare.exception.StatementBudgetExceededException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Compte les instructions SQL de chaque requête HTTP et leur durée cumulée (métriques par point d'accès),
+// puis vérifie le budget du point d'accès (@StatementBudget ou armacare.sql.request-budget).
+// En production un dépassement est journalisé ; avec armacare.sql.fail-on-budget-exceeded=true
+// (profil de test) la requête échoue, ce qui fait échouer le test qui l'a envoyée. Si la réponse est déjà
+// partie (corps écrit, client servi en 200), lever l'exception ne changerait plus rien pour le client :
+// le dépassement est alors conservé, et l'écouteur de test StatementBudgetTestExecutionListener le relève
+// à la fin du test pour le faire échouer.
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementFilter.class);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int defaultBudget;
+    private final boolean failOnBudgetExceeded;
+    private final Queue<String> violations = new ConcurrentLinkedQueue<>();
+
+    public SqlStatementFilter(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${armacare.sql.request-budget:0}") int defaultBudget,
+            @Value("${armacare.sql.fail-on-budget-exceeded:false}") boolean failOnBudgetExceeded) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.stop();
+        }
+        String uri = uriPattern(request);
+        meterRegistry.ifAvailable(registry -> {
+            DistributionSummary.builder("armacare.http.sql.statements")
+                    .description("Instructions SQL par requête HTTP")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(registry)
+                    .record(stats.getStatements());
+            Timer.builder("armacare.http.sql.time")
+                    .description("Durée cumulée des instructions SQL par requête HTTP")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(registry)
+                    .record(stats.getTotalNanos(), TimeUnit.NANOSECONDS);
+        });
+
+        int budget = budget(request);
+        if (budget > 0 && stats.getStatements() > budget) {
+            StatementBudgetExceededException exceeded = new StatementBudgetExceededException(
+                    request.getMethod() + " " + uri, stats.getStatements(), budget);
+            if (!failOnBudgetExceeded) {
+                log.warn(exceeded.getMessage());
+            } else if (!response.isCommitted()) {
+                throw exceeded;
+            } else {
+                violations.add(exceeded.getMessage());
+                log.error(exceeded.getMessage());
+            }
+        }
+    }
+
+    // Dépassements relevés après l'envoi de la réponse depuis le dernier appel (mode échec uniquement)
+    public List<String> drainViolations() {
+        List<String> drained = new ArrayList<>();
+        for (String violation = violations.poll(); violation != null; violation = violations.poll()) {
+            drained.add(violation);
+        }
+        return drained;
+    }
+
+    private int budget(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            StatementBudget budget = AnnotatedElementUtils.findMergedAnnotation(handler.getMethod(), StatementBudget.class);
+            if (budget == null) {
+                budget = AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), StatementBudget.class);
+            }
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return defaultBudget;
+    }
+
+    // Modèle d'URI (/api/professionals/{id}) plutôt que l'URI réelle, pour borner le nombre de séries
+    private static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,54 @@
+package com.armacare.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+// Reçoit chaque exécution JDBC : la compte dans la requête HTTP en cours et journalise les requêtes lentes.
+// Les valeurs des paramètres ne sont jamais journalisées ; les littéraux du texte SQL sont masqués.
+class SqlStatementListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementListener.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private final long slowQueryThresholdMillis;
+
+    SqlStatementListener(Duration slowQueryThreshold) {
+        this.slowQueryThresholdMillis = slowQueryThreshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.record(TimeUnit.MILLISECONDS.toNanos(elapsedMillis));
+        }
+        if (slowQueryThresholdMillis > 0 && elapsedMillis >= slowQueryThresholdMillis) {
+            log.warn("Requête SQL lente ({} ms{}) : {}", elapsedMillis,
+                    execInfo.isBatch() ? ", lot de " + execInfo.getBatchSize() : "",
+                    queryInfoList.stream().map(query -> redact(query.getQuery())).collect(Collectors.joining("; ")));
+        }
+    }
+
+    // Les paramètres liés restent des « ? » ; les valeurs écrites en dur dans le SQL sont remplacées aussi
+    static String redact(String sql) {
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("'?'");
+        return NUMERIC_LITERAL.matcher(redacted).replaceAll("?");
+    }
+}
@@ -0,0 +1,42 @@
+package com.armacare.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+// Remplace spring.jpa.show-sql : la source de données est enveloppée par datasource-proxy, qui mesure
+// chaque instruction (comptage par requête HTTP, journal des requêtes lentes sans valeurs de paramètres).
+@Configuration
+public class SqlStatementMonitoringConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatementDataSourcePostProcessor(Environment environment) {
+        Duration slowQueryThreshold = environment.getProperty("armacare.sql.slow-query-threshold",
+                Duration.class, Duration.ofMillis(500));
+        SqlStatementListener listener = new SqlStatementListener(slowQueryThreshold);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // La source d'aiguillage est injectée par son type concret : seule la source exposée
+                // (celle qui l'enveloppe) est mesurée, chaque instruction n'est comptée qu'une fois
+                if (bean instanceof DataSource dataSource
+                        && !(bean instanceof ProxyDataSource)
+                        && !(bean instanceof ReplicaRoutingDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.armacare.config;
+
+// Instructions SQL exécutées pendant une requête HTTP, sur le thread qui la traite.
+// Ouvert et fermé par SqlStatementFilter, alimenté par SqlStatementListener.
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long totalNanos;
+    private long slowestNanos;
+
+    private SqlStatementStats() {
+    }
+
+    static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    // null hors d'une requête HTTP (traitements par lots, tâches planifiées)
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    void record(long elapsedNanos) {
+        statements++;
+        totalNanos += elapsedNanos;
+        slowestNanos = Math.max(slowestNanos, elapsedNanos);
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getSlowestNanos() {
+        return slowestNanos;
+    }
+}
@@ -0,0 +1,18 @@
+package com.armacare.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Nombre maximal d'instructions SQL d'un point d'accès REST (garde-fou contre les N+1).
+// Vérifié par SqlStatementFilter à la fin de chaque requête ; sans annotation, le budget par défaut
+// armacare.sql.request-budget s'applique.
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface StatementBudget {
+
+    int value();
+}
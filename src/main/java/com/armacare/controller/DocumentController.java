@@ -0,0 +1,130 @@
+package com.armacare.controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.armacare.dto.StoredDocument;
+import com.armacare.exception.InsuranceNotFoundException;
+import com.armacare.exception.InvoiceNotFoundException;
+import com.armacare.exception.ProfessionalNotFoundException;
+import com.armacare.model.Insurance;
+import com.armacare.model.Professional;
+import com.armacare.service.DocumentService;
+import com.armacare.service.DocumentStorageService.Upload;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Envoi des documents par formulaire multipart (champ "file").
+// Le conteneur écrit chaque partie sur disque au fil de la réception (spring.servlet.multipart.file-size-threshold=0),
+// dans le répertoire de réception du stockage (MultipartConfig) : le fichier est ensuite renommé, jamais recopié.
+// Les téléchargements copient le fichier stocké vers la socket sans le charger non plus (DocumentFileSender).
+@RestController
+public class DocumentController {
+
+    private final DocumentService documentService;
+
+    public DocumentController(DocumentService documentService) {
+        this.documentService = documentService;
+    }
+
+    // Documents d'inscription d'un professionnel (IDENTITY, DIPLOMA, LICENSE, PROFESSIONAL_INSURANCE, BANK_ACCOUNT)
+    @PostMapping(value = "/api/professionals/{id}/documents/{type}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StoredDocument> uploadProfessionalDocument(@PathVariable Long id,
+            @PathVariable Professional.DocumentType type, @RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(documentService.attachProfessionalDocument(id, type, upload(file)));
+    }
+
+    // Documents d'un assureur (REGISTRATION, LICENSE, ARMA_CONTRACT)
+    @PostMapping(value = "/api/insurances/{id}/documents/{type}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StoredDocument> uploadInsuranceDocument(@PathVariable Long id,
+            @PathVariable Insurance.DocumentType type, @RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(documentService.attachInsuranceDocument(id, type, upload(file)));
+    }
+
+    // Document d'une facture
+    @PostMapping(value = "/api/invoices/{id}/document", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StoredDocument> uploadInvoiceDocument(@PathVariable Long id,
+            @RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(documentService.attachInvoiceDocument(id, upload(file)));
+    }
+
+    // Téléchargement d'un document d'un professionnel (plages, ETag et sendfile : voir DocumentFileSender)
+    @GetMapping("/api/professionals/{id}/documents/{type}")
+    public void downloadProfessionalDocument(@PathVariable Long id, @PathVariable Professional.DocumentType type,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        send(documentService.findProfessionalDocument(id, type), request, response);
+    }
+
+    // Téléchargement d'un document d'un assureur, dont le contrat ARMA
+    @GetMapping("/api/insurances/{id}/documents/{type}")
+    public void downloadInsuranceDocument(@PathVariable Long id, @PathVariable Insurance.DocumentType type,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        send(documentService.findInsuranceDocument(id, type), request, response);
+    }
+
+    // Téléchargement du document d'une facture
+    @GetMapping("/api/invoices/{id}/document")
+    public void downloadInvoiceDocument(@PathVariable Long id,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        send(documentService.findInvoiceDocument(id), request, response);
+    }
+
+    // transferTo(File) et non transferTo(Path) : seul le premier laisse Tomcat renommer la partie déjà écrite
+    private static Upload upload(MultipartFile file) {
+        return target -> file.transferTo(target.toFile());
+    }
+
+    // Entité inconnue, document non renseigné ou fichier absent du stockage : 404
+    private static void send(Optional<Path> file, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (file.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        DocumentFileSender.send(file.get(), request, response);
+    }
+
+    // Professionnel, assureur ou facture inconnus
+    @ExceptionHandler({ProfessionalNotFoundException.class, InsuranceNotFoundException.class,
+            InvoiceNotFoundException.class})
+    public ResponseEntity<String> handleNotFound(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    // Type de document inconnu
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<String> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
+        return ResponseEntity.badRequest().body("Valeur invalide pour " + e.getName() + " : " + e.getValue());
+    }
+
+    // Gestionnaire d'exceptions global pour ce contrôleur
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> handleExceptions(Exception e) {
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Une erreur est survenue: " + e.getMessage());
+    }
+}
@@ -0,0 +1,121 @@
+package com.armacare.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.armacare.service.DocumentStorageService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Envoi d'un document du stockage par contenu, en entier ou par plage (Range: bytes=début-fin).
+// Le nom du fichier est son empreinte SHA-256 : c'est l'ETag, et un client qui a déjà le document
+// reçoit un 304 (If-None-Match). Au-delà de SENDFILE_THRESHOLD, le fichier est confié à Tomcat (sendfile) :
+// le noyau copie directement du fichier vers la socket, sans passer par le tas. Sinon, ou si le connecteur ne
+// le permet pas (TLS, autre serveur), le fichier est copié par FileChannel.transferTo vers la réponse.
+// Une seule plage est servie ; une demande de plusieurs plages reçoit le document entier.
+final class DocumentFileSender {
+
+    // Attributs de requête de Tomcat pour sendfile (org.apache.catalina.Globals)
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Même seuil que le DefaultServlet de Tomcat : en dessous, l'écriture directe coûte moins cher
+    static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    private DocumentFileSender() {
+    }
+
+    static void send(Path file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String etag = "\"" + file.getFileName() + "\"";
+        // Le document d'une entité peut être remplacé : le client revalide à chaque fois (304 si inchangé)
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        long length = Files.size(file);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setContentType(DocumentStorageService.detectContentType(file));
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            if (length == 0 || !isSatisfiable(range, length)) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = length == 0 ? 0 : end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (count >= SENDFILE_THRESHOLD && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat envoie le fichier après le retour du contrôleur ; fin exclue
+            request.setAttribute(SENDFILE_FILENAME, file.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    // Plage demandée, ou null pour le document entier : pas de Range, plusieurs plages, ou If-Range
+    // qui ne correspond plus au document (le client recevra la nouvelle version complète).
+    // Un en-tête Range mal formé est ignoré (RFC 9110, §14.2) : seule une plage valide hors du document donne un 416.
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private static boolean isSatisfiable(HttpRange range, long length) {
+        try {
+            return range.getRangeStart(length) < length;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
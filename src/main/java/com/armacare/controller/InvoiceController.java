@@ -0,0 +1,111 @@
+package com.armacare.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.armacare.config.StatementBudget;
+import com.armacare.dto.AdjudicationResult;
+import com.armacare.dto.BatchRunReport;
+import com.armacare.dto.InvoiceSummary;
+import com.armacare.dto.SummaryRebuildReport;
+import com.armacare.exception.BatchAlreadyRunningException;
+import com.armacare.exception.InvoiceNotFoundException;
+import com.armacare.service.ClaimAdjudicationService;
+import com.armacare.service.InvoiceAdjudicationBatchJob;
+import com.armacare.service.InvoiceDailySummaryRebuildJob;
+import com.armacare.service.InvoiceService;
+
+@RestController
+@RequestMapping("/api/invoices")
+public class InvoiceController {
+
+    private final InvoiceService invoiceService;
+    private final ClaimAdjudicationService claimAdjudicationService;
+    private final InvoiceAdjudicationBatchJob adjudicationBatchJob;
+    private final InvoiceDailySummaryRebuildJob summaryRebuildJob;
+
+    public InvoiceController(InvoiceService invoiceService,
+            ClaimAdjudicationService claimAdjudicationService,
+            InvoiceAdjudicationBatchJob adjudicationBatchJob,
+            InvoiceDailySummaryRebuildJob summaryRebuildJob) {
+        this.invoiceService = invoiceService;
+        this.claimAdjudicationService = claimAdjudicationService;
+        this.adjudicationBatchJob = adjudicationBatchJob;
+        this.summaryRebuildJob = summaryRebuildJob;
+    }
+
+    // Factures d'un patient
+    @StatementBudget(1)
+    @GetMapping("/by-patient")
+    public List<InvoiceSummary> getInvoicesByPatient(@RequestParam Long patientId) {
+        return invoiceService.findByPatient(patientId);
+    }
+
+    // Factures d'un professionnel
+    @StatementBudget(1)
+    @GetMapping("/by-professional")
+    public List<InvoiceSummary> getInvoicesByProfessional(@RequestParam Long professionalId) {
+        return invoiceService.findByProfessional(professionalId);
+    }
+
+    // Liquider une facture : calcul du montant remboursable et du statut selon le contrat du patient
+    @PostMapping("/{id}/adjudicate")
+    public ResponseEntity<AdjudicationResult> adjudicateInvoice(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(claimAdjudicationService.adjudicate(id));
+        } catch (InvoiceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Lancer immédiatement la liquidation par lots des factures en attente (reprend au dernier point de reprise)
+    @PostMapping("/adjudication-runs")
+    public BatchRunReport runBatchAdjudication() {
+        return adjudicationBatchJob.run();
+    }
+
+    // Reconstruire les cumuls quotidiens des factures sur [from, to) ; sans bornes, tout l'historique
+    @PostMapping("/daily-summary-rebuilds")
+    public SummaryRebuildReport rebuildDailySummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return summaryRebuildJob.rebuild(from, to);
+    }
+
+    // Traitement par lots déjà en cours
+    @ExceptionHandler(BatchAlreadyRunningException.class)
+    public ResponseEntity<String> handleBatchAlreadyRunning(BatchAlreadyRunningException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    // Période invalide
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    // Facture déjà payée : plus de liquidation possible
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleIllegalState(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    // Gestionnaire d'exceptions global pour ce contrôleur
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> handleExceptions(Exception e) {
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Une erreur est survenue: " + e.getMessage());
+    }
+}
@@ -0,0 +1,84 @@
+package com.armacare.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.armacare.config.StatementBudget;
+import com.armacare.dto.InvoiceTotals;
+import com.armacare.service.InvoiceService;
+
+// Relevés de factures d'un assureur sur une période [from, to), totaux calculés par la base
+@RestController
+@RequestMapping("/api/insurances/{insuranceId}/invoice-reports")
+public class InvoiceReportController {
+
+    private final InvoiceService invoiceService;
+
+    public InvoiceReportController(InvoiceService invoiceService) {
+        this.invoiceService = invoiceService;
+    }
+
+    // Totaux par mois
+    @StatementBudget(1)
+    @GetMapping("/monthly")
+    public List<InvoiceTotals> getMonthlyTotals(
+            @PathVariable Long insuranceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return invoiceService.sumByMonth(insuranceId, from, to);
+    }
+
+    // Totaux par professionnel
+    @StatementBudget(1)
+    @GetMapping("/by-professional")
+    public List<InvoiceTotals> getTotalsByProfessional(
+            @PathVariable Long insuranceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return invoiceService.sumByProfessional(insuranceId, from, to);
+    }
+
+    // Totaux par statut
+    @StatementBudget(1)
+    @GetMapping("/by-status")
+    public List<InvoiceTotals> getTotalsByStatus(
+            @PathVariable Long insuranceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return invoiceService.sumByStatus(insuranceId, from, to);
+    }
+
+    // Relevé détaillé par mois, professionnel et statut
+    @StatementBudget(1)
+    @GetMapping("/statement")
+    public List<InvoiceTotals> getStatement(
+            @PathVariable Long insuranceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return invoiceService.statement(insuranceId, from, to);
+    }
+
+    // Période vide ou inversée
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidPeriod(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    // Gestionnaire d'exceptions global pour ce contrôleur
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> handleExceptions(Exception e) {
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Une erreur est survenue: " + e.getMessage());
+    }
+}
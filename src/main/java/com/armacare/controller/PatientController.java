@@ -0,0 +1,101 @@
+package com.armacare.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.armacare.config.StatementBudget;
+import com.armacare.dto.PatientDto;
+import com.armacare.dto.PatientEligibility;
+import com.armacare.dto.PatientView;
+import com.armacare.exception.PatientNotFoundException;
+import com.armacare.model.Patient;
+import com.armacare.service.PatientService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/patients")
+public class PatientController {
+
+    private final PatientService patientService;
+
+    public PatientController(PatientService patientService) {
+        this.patientService = patientService;
+    }
+
+    // Récupérer un patient par son numéro d'identification national
+    @StatementBudget(1)
+    @GetMapping("/{nationalId}")
+    public ResponseEntity<PatientView> getPatient(@PathVariable String nationalId) {
+        try {
+            return ResponseEntity.ok(PatientView.from(patientService.findByNationalId(nationalId)));
+        } catch (PatientNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Le patient est-il couvert pour ce type de soin aujourd'hui (ou à la date donnée) ?
+    @StatementBudget(1)
+    @GetMapping("/{nationalId}/eligibility")
+    public ResponseEntity<PatientEligibility> checkEligibility(
+            @PathVariable String nationalId,
+            @RequestParam String coverageType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return ResponseEntity.ok(patientService.checkEligibility(nationalId, coverageType, date));
+        } catch (PatientNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Créer un patient
+    @PostMapping
+    public ResponseEntity<PatientView> createPatient(@Valid @RequestBody PatientDto patientDto) {
+        Patient createdPatient = patientService.createPatient(patientDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(PatientView.from(createdPatient));
+    }
+
+    // Mettre à jour un patient
+    @PutMapping("/{nationalId}")
+    public ResponseEntity<PatientView> updatePatient(
+            @PathVariable String nationalId,
+            @Valid @RequestBody PatientDto patientDto) {
+        try {
+            return ResponseEntity.ok(PatientView.from(patientService.updatePatient(nationalId, patientDto)));
+        } catch (PatientNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Supprimer un patient (désactivation)
+    @DeleteMapping("/{nationalId}")
+    public ResponseEntity<Void> deletePatient(@PathVariable String nationalId) {
+        try {
+            patientService.deactivatePatient(nationalId);
+            return ResponseEntity.noContent().build();
+        } catch (PatientNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Gestionnaire d'exceptions global pour ce contrôleur
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> handleExceptions(Exception e) {
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Une erreur est survenue: " + e.getMessage());
+    }
+}
@@ -1,13 +1,22 @@
 package com.armacare.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Optional;
 
+import com.armacare.config.StatementBudget;
 import com.armacare.model.Professional;
 import com.armacare.model.Professional.AccountStatus;
+import com.armacare.service.ProfessionalImportService;
 import com.armacare.service.ProfessionalService;
+import com.armacare.service.ProfessionalVerificationService;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,9 +28,20 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.armacare.dto.CursorPage;
 import com.armacare.dto.ProfessionalDto;
+import com.armacare.dto.ProfessionalImportReport;
+import com.armacare.dto.ProfessionalSearchCriteria;
+import com.armacare.dto.ProfessionalView;
+import com.armacare.dto.StatusChange;
+import com.armacare.exception.InvalidCursorException;
+import com.armacare.exception.ProfessionalImportException;
 import com.armacare.exception.ProfessionalNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import jakarta.validation.Valid;
 
@@ -29,75 +49,125 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/professionals")
 public class ProfessionalController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final ProfessionalService professionalService;
+    private final ProfessionalImportService professionalImportService;
+    private final ProfessionalVerificationService verificationService;
+    private final ObjectMapper objectMapper;
 
-    public ProfessionalController(ProfessionalService professionalService) {
+    public ProfessionalController(ProfessionalService professionalService,
+            ProfessionalImportService professionalImportService,
+            ProfessionalVerificationService verificationService, ObjectMapper objectMapper) {
         this.professionalService = professionalService;
+        this.professionalImportService = professionalImportService;
+        this.verificationService = verificationService;
+        this.objectMapper = objectMapper;
     }
 
-    // Récupérer tous les professionnels
+    // Récupérer les professionnels page par page (curseur opaque renvoyé dans nextCursor)
+    @StatementBudget(1)
     @GetMapping
-    public List<Professional> getAllProfessionals() {
-        return professionalService.findAll();
+    public CursorPage<ProfessionalView> getAllProfessionals(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${armacare.pagination.default-size:50}") int size) {
+        return professionalService.findPage(cursor, size);
+    }
+
+    // Exporter tous les professionnels en NDJSON (un objet JSON par ligne), sans charger la table en mémoire
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllProfessionals() {
+        ObjectWriter writer = objectMapper.writerFor(ProfessionalView.class);
+        StreamingResponseBody body = outputStream -> professionalService.streamAll(professional -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(professional));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
     
     // Récupérer un professionnel par son ID
+    @StatementBudget(1)
     @GetMapping("/{id}")
-    public ResponseEntity<Professional> getProfessionalById(@PathVariable Long id) {
+    public ResponseEntity<ProfessionalView> getProfessionalById(@PathVariable Long id) {
         try {
             Professional professional = professionalService.findById(id);
-            return ResponseEntity.ok(professional);
+            return ResponseEntity.ok(ProfessionalView.from(professional));
         } catch (ProfessionalNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
     // Récupérer un professionnel par son Email
+    @StatementBudget(1)
     @GetMapping("/by-email")
-    public ResponseEntity<Professional> getProfessionalByEmail(@RequestParam String email) {
-        try {
-            Optional<Professional> professional = professionalService.findByEmail(email);
-            return ResponseEntity.ok(professional.get());
-        } catch (ProfessionalNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<ProfessionalView> getProfessionalByEmail(@RequestParam String email) {
+        return professionalService.findByEmail(email)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     // Récupérer un professionnel par son téléphone
+    @StatementBudget(1)
     @GetMapping("/by-phone")
-    public ResponseEntity<Professional> getProfessionalByPhone(@RequestParam String phone) {
-        try {
-            Optional<Professional> professional = professionalService.findByPhone(phone);
-            return ResponseEntity.ok(professional.get());
-        } catch (ProfessionalNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<ProfessionalView> getProfessionalByPhone(@RequestParam String phone) {
+        return professionalService.findByPhone(phone)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     // Récupérer un professionnel par son numéro de registration
+    @StatementBudget(1)
     @GetMapping("/by-registration-number")
-    public ResponseEntity<Professional> getProfessionalByRegistrationNumber(@RequestParam String registrationNumber) {
-        try {
-            Optional<Professional> professional = professionalService.findByRegistrationNumber(registrationNumber);
-            return ResponseEntity.ok(professional.get());
-        } catch (ProfessionalNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<ProfessionalView> getProfessionalByRegistrationNumber(@RequestParam String registrationNumber) {
+        return professionalService.findByRegistrationNumber(registrationNumber)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
     // Créer un professionnel
     @PostMapping
-    public ResponseEntity<Professional> createProfessional(@Valid @RequestBody ProfessionalDto professionalDto) {
+    public ResponseEntity<ProfessionalView> createProfessional(@Valid @RequestBody ProfessionalDto professionalDto) {
         Professional createdProfessional = professionalService.createProfessional(professionalDto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdProfessional);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ProfessionalView.from(createdProfessional));
     }
     
+    // Import en masse depuis un tableau JSON de professionnels
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ProfessionalImportReport importProfessionalsJson(InputStream body) throws IOException {
+        return professionalImportService.importJson(body);
+    }
+
+    // Import en masse depuis un corps CSV (en-tête avec les noms des champs de ProfessionalDto)
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ProfessionalImportReport importProfessionalsCsv(InputStream body) {
+        return professionalImportService.importCsv(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    // Import en masse depuis un fichier envoyé par formulaire (.json ou .csv)
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ProfessionalImportReport importProfessionalsFile(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream content = file.getInputStream()) {
+            String filename = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
+            if (filename.endsWith(".json") || MediaType.APPLICATION_JSON_VALUE.equals(file.getContentType())) {
+                return professionalImportService.importJson(content);
+            }
+            Reader csv = new InputStreamReader(content, StandardCharsets.UTF_8);
+            return professionalImportService.importCsv(csv);
+        }
+    }
+
     // Mettre à jour un professionnel
     @PutMapping("/{id}")
-    public ResponseEntity<Professional> updateProfessional(
+    public ResponseEntity<ProfessionalView> updateProfessional(
             @PathVariable Long id, 
             @Valid @RequestBody ProfessionalDto professionalDto) {
         try {
             Professional updatedProfessional = professionalService.updateProfessional(id, professionalDto);
-            return ResponseEntity.ok(updatedProfessional);
+            return ResponseEntity.ok(ProfessionalView.from(updatedProfessional));
         } catch (ProfessionalNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -114,30 +184,69 @@ public class ProfessionalController {
         }
     }
     
+    // Recherche combinée : spécialité, ville, statut et début du nom, tous optionnels
+    @StatementBudget(1)
+    @GetMapping("/search")
+    public CursorPage<ProfessionalView> searchProfessionals(
+            ProfessionalSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${armacare.pagination.default-size:50}") int size) {
+        return professionalService.search(criteria, cursor, size);
+    }
+
     // Rechercher des professionnels par spécialité
+    @StatementBudget(1)
     @GetMapping("/by-speciality")
-    public List<Professional> getProfessionalsBySpeciality(@RequestParam String speciality) {
+    public List<ProfessionalView> getProfessionalsBySpeciality(@RequestParam String speciality) {
         return professionalService.findBySpeciality(speciality);
     }
     
     // Rechercher des professionnels par ville
+    @StatementBudget(1)
     @GetMapping("/by-city")
-    public List<Professional> getProfessionalsByCity(@RequestParam String city) {
+    public List<ProfessionalView> getProfessionalsByCity(@RequestParam String city) {
         return professionalService.findByCity(city);
     }
     
     // Rechercher des professionnels par statut de compte
+    @StatementBudget(1)
     @GetMapping("/by-status")
-    public List<Professional> getProfessionalsByStatus(@RequestParam AccountStatus status) {
+    public List<ProfessionalView> getProfessionalsByStatus(@RequestParam AccountStatus status) {
         return professionalService.findByAccountStatus(status);
     }
     
     // Activer le compte d'un professionnel
     @PutMapping("/{id}/activate")
-    public ResponseEntity<Professional> activateAccount(@PathVariable Long id) {
+    public ResponseEntity<ProfessionalView> activateAccount(@PathVariable Long id) {
         try {
             Professional professional = professionalService.activateAccount(id);
-            return ResponseEntity.ok(professional);
+            return ResponseEntity.ok(ProfessionalView.from(professional));
+        } catch (ProfessionalNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    // Historique des statuts du compte, du plus récent au plus ancien (curseur opaque renvoyé dans nextCursor).
+    // Deux instructions au plus : la page, puis l'existence du professionnel si la première page est vide.
+    @StatementBudget(2)
+    @GetMapping("/{id}/status-history")
+    public ResponseEntity<CursorPage<StatusChange>> getStatusHistory(@PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${armacare.pagination.default-size:50}") int size) {
+        try {
+            return ResponseEntity.ok(professionalService.findStatusHistory(id, cursor, size));
+        } catch (ProfessionalNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Relancer la vérification des documents d'un compte en attente (traitée en arrière-plan)
+    @PostMapping("/{id}/verification")
+    public ResponseEntity<Void> requestVerification(@PathVariable Long id) {
+        try {
+            professionalService.findById(id);
+            verificationService.request(id);
+            return ResponseEntity.accepted().build();
         } catch (ProfessionalNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -145,17 +254,29 @@ public class ProfessionalController {
     
     // Suspendre le compte d'un professionnel
     @PutMapping("/{id}/suspend")
-    public ResponseEntity<Professional> suspendAccount(
+    public ResponseEntity<ProfessionalView> suspendAccount(
             @PathVariable Long id, 
             @RequestParam String reason) {
         try {
             Professional professional = professionalService.suspendAccount(id, reason);
-            return ResponseEntity.ok(professional);
+            return ResponseEntity.ok(ProfessionalView.from(professional));
         } catch (ProfessionalNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
+    // Curseur de pagination illisible ou falsifié
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursor(InvalidCursorException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    // Fichier d'import illisible (en-tête CSV absent ou inconnu)
+    @ExceptionHandler(ProfessionalImportException.class)
+    public ResponseEntity<String> handleImportError(ProfessionalImportException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
     // Gestionnaire d'exceptions global pour ce contrôleur
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleExceptions(Exception e) {
@@ -0,0 +1,9 @@
+package com.armacare.dao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.armacare.model.BatchCheckpoint;
+
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, String> {
+
+}
@@ -1,9 +1,11 @@
 package com.armacare.dao;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.armacare.model.Coverage;
 
 public interface CoverageRepository extends JpaRepository<Coverage, Long> {
-
+    List<Coverage> findByContractId(Long contractId);
 }
@@ -1,9 +1,30 @@
 package com.armacare.dao;
 
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.armacare.model.InsuranceContract;
 
 public interface InsuranceContractRepository extends JpaRepository<InsuranceContract, Long> {
 
+    // Contrats actifs du patient couvrant la date donnée, le plus récent en premier.
+    // Servie par l'index (patient_id, active, start_date, end_date) sans tri ni lecture de la table
+    // pour les contrats écartés.
+    @Query("select c from InsuranceContract c where c.patient.id = :patientId and c.active = true"
+            + " and c.startDate <= :date and (c.endDate is null or c.endDate >= :date)"
+            + " order by c.startDate desc, c.id desc")
+    List<InsuranceContract> findEffectiveContracts(Long patientId, Date date, Limit limit);
+
+    // Contrat en vigueur du patient à la date donnée : le plus récemment commencé parmi les contrats actifs
+    // dont la période couvre la date (l'assureur se lit ensuite par getInsurance(), en cache de second niveau)
+    default Optional<InsuranceContract> findCurrentContract(Long patientId, LocalDate date) {
+        List<InsuranceContract> contracts = findEffectiveContracts(patientId, java.sql.Date.valueOf(date), Limit.of(1));
+        return contracts.isEmpty() ? Optional.empty() : Optional.of(contracts.get(0));
+    }
 }
@@ -1,9 +1,35 @@
 package com.armacare.dao;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.armacare.config.SecondLevelCacheConfig;
 import com.armacare.model.Insurance;
 
+import jakarta.persistence.QueryHint;
+
+// Les recherches d'assureurs passent par le cache de requêtes : invalidé dès qu'une ligne d'insurances change
 public interface InsuranceRepository extends JpaRepository<Insurance, Long> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.INSURANCE_QUERIES)
+    })
+    Optional<Insurance> findByEmail(String email);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.INSURANCE_QUERIES)
+    })
+    Optional<Insurance> findByUsername(String username);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.INSURANCE_QUERIES)
+    })
+    List<Insurance> findByActiveTrueOrderByNameAsc();
 }
@@ -0,0 +1,52 @@
+package com.armacare.dao;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.armacare.dto.InvoiceTotals;
+import com.armacare.model.InvoiceDailySummary;
+
+public interface InvoiceDailySummaryRepository extends JpaRepository<InvoiceDailySummary, InvoiceDailySummary.Key> {
+
+    // Cumuls quotidiens d'un assureur sur une période [from, to), par l'index (insurance_id, summary_date).
+    // Les lignes à zéro (factures passées à un autre statut) sont ignorées.
+    String FROM_INSURER_PERIOD = " from InvoiceDailySummary s"
+            + " where s.id.insuranceId = :insuranceId and s.id.summaryDate >= :from and s.id.summaryDate < :to"
+            + " and s.invoiceCount > 0 ";
+
+    String TOTALS = "sum(s.invoiceCount), sum(s.totalAmount), sum(s.reimbursableAmount))";
+
+    String JOIN_PROFESSIONAL = " join Professional pr on pr.id = s.id.professionalId";
+
+    // Relevés des assureurs : une requête d'agrégation par regroupement
+    @Query("select new com.armacare.dto.InvoiceTotals(year(s.id.summaryDate), month(s.id.summaryDate), " + TOTALS
+            + FROM_INSURER_PERIOD
+            + "group by year(s.id.summaryDate), month(s.id.summaryDate)"
+            + " order by year(s.id.summaryDate), month(s.id.summaryDate)")
+    List<InvoiceTotals> sumByMonth(Long insuranceId, LocalDate from, LocalDate to);
+
+    @Query("select new com.armacare.dto.InvoiceTotals(pr.id, pr.firstName, pr.lastName, " + TOTALS
+            + " from InvoiceDailySummary s" + JOIN_PROFESSIONAL
+            + " where s.id.insuranceId = :insuranceId and s.id.summaryDate >= :from and s.id.summaryDate < :to"
+            + " and s.invoiceCount > 0"
+            + " group by pr.id, pr.firstName, pr.lastName order by pr.id")
+    List<InvoiceTotals> sumByProfessional(Long insuranceId, LocalDate from, LocalDate to);
+
+    @Query("select new com.armacare.dto.InvoiceTotals(s.id.status, " + TOTALS
+            + FROM_INSURER_PERIOD
+            + "group by s.id.status order by s.id.status")
+    List<InvoiceTotals> sumByStatus(Long insuranceId, LocalDate from, LocalDate to);
+
+    @Query("select new com.armacare.dto.InvoiceTotals(year(s.id.summaryDate), month(s.id.summaryDate),"
+            + " pr.id, pr.firstName, pr.lastName, s.id.status, " + TOTALS
+            + " from InvoiceDailySummary s" + JOIN_PROFESSIONAL
+            + " where s.id.insuranceId = :insuranceId and s.id.summaryDate >= :from and s.id.summaryDate < :to"
+            + " and s.invoiceCount > 0"
+            + " group by year(s.id.summaryDate), month(s.id.summaryDate), pr.id, pr.firstName, pr.lastName,"
+            + " s.id.status"
+            + " order by year(s.id.summaryDate), month(s.id.summaryDate), pr.id, s.id.status")
+    List<InvoiceTotals> sumByMonthProfessionalAndStatus(Long insuranceId, LocalDate from, LocalDate to);
+}
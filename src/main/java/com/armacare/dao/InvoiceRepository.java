@@ -1,9 +1,39 @@
 package com.armacare.dao;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import com.armacare.dto.InvoiceClaim;
+import com.armacare.dto.InvoiceSummary;
 import com.armacare.model.Invoice;
 
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
 
+    String SELECT_SUMMARY = "select " + InvoiceSummary.JPQL_CONSTRUCTOR + " from Invoice i"
+            + " join i.professional pr join i.patient pa join i.contract c join c.insurance ins ";
+
+    // Listes renvoyées par l'API : projections, sans entité gérée
+    @Query(SELECT_SUMMARY + "where pa.id = :patientId order by i.invoiceDate desc, i.id desc")
+    List<InvoiceSummary> findSummariesByPatientId(Long patientId);
+
+    @Query(SELECT_SUMMARY + "where pr.id = :professionalId order by i.invoiceDate desc, i.id desc")
+    List<InvoiceSummary> findSummariesByProfessionalId(Long professionalId);
+
+    // Factures en attente après l'id donné (pagination par clé), projetées avec les termes de leur contrat.
+    // Les factures sans type de soin restent en attente sans être relues à chaque exécution.
+    @Query("select new com.armacare.dto.InvoiceClaim(i.id, i.patient.id, c.id, c.active, c.startDate, c.endDate,"
+            + " c.deductible, i.invoiceDate, i.totalAmount, i.coverageType)"
+            + " from Invoice i left join i.contract c"
+            + " where i.status = com.armacare.model.Invoice.InvoiceStatus.EN_ATTENTE and i.coverageType is not null"
+            + " and i.id > :lastId"
+            + " order by i.id")
+    List<InvoiceClaim> findPendingClaims(long lastId, Limit limit);
+
+    // Chemin du document de la facture seul, sans charger la facture
+    @Query("select i.invoiceDocumentPath from Invoice i where i.id = :id")
+    Optional<String> findDocumentPathById(Long id);
 }
@@ -1,9 +1,29 @@
 package com.armacare.dao;
 
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import com.armacare.dto.PatientCoverage;
 import com.armacare.model.Patient;
 
 public interface PatientRepository extends JpaRepository<Patient, Long> {
 
+    Optional<Patient> findByNationalId(String nationalId);
+
+    // Éligibilité en une requête : patient par son numéro national (index unique), contrat actif couvrant la date
+    // et couverture du type de soin (index coverages(contract_id, coverage_type)). Le contrat qui couvre le soin
+    // passe en premier, puis le plus récent ; aucune ligne si le patient est inconnu.
+    @Query("select " + PatientCoverage.JPQL_CONSTRUCTOR + " from Patient p"
+            + " left join p.insuranceContracts c on c.active = true and c.startDate <= :date"
+            + " and (c.endDate is null or c.endDate >= :date)"
+            + " left join c.insurance ins"
+            + " left join c.coverages cv on lower(cv.coverageType) = lower(:coverageType)"
+            + " where p.nationalId = :nationalId"
+            + " order by case when cv.id is null then 1 else 0 end, c.startDate desc, c.id desc")
+    List<PatientCoverage> findCoverage(String nationalId, String coverageType, Date date, Limit limit);
 }
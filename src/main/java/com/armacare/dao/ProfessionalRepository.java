@@ -1,14 +1,28 @@
 package com.armacare.dao;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.armacare.dto.ProfessionalView;
 import com.armacare.model.Professional;
 import com.armacare.model.Professional.AccountStatus;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ProfessionalRepository extends JpaRepository<Professional, Long>,
+        JpaSpecificationExecutor<Professional>, ProfessionalViewQueries {
+
+    String SELECT_VIEW = "select " + ProfessionalView.JPQL_CONSTRUCTOR + " from Professional p ";
 
-public interface ProfessionalRepository extends JpaRepository<Professional, Long> {
     Optional<Professional> findById(Long professionalId);
     List<Professional> findAll();
     Optional<Professional> findByEmail(String email);
@@ -20,5 +34,33 @@ public interface ProfessionalRepository extends JpaRepository<Professional, Long
     Optional<Professional> findByRegistrationNumber(String registrationNumber);
     List<Professional> findByAccountStatus(AccountStatus accountStatus);
     void deleteById(Long professionalId);
-   
+
+    // Les listes renvoyées par l'API sont projetées en ProfessionalView : aucune entité gérée
+
+    // Pagination par clé : seek sur l'id (index primaire) au lieu d'un OFFSET qui relit les lignes précédentes
+    @Query(SELECT_VIEW + "where p.id > :lastId order by p.id")
+    List<ProfessionalView> findViewPage(long lastId, Limit limit);
+
+    @Query(SELECT_VIEW + "where p.speciality = :speciality order by p.id")
+    List<ProfessionalView> findViewsBySpeciality(String speciality);
+
+    @Query(SELECT_VIEW + "where p.city = :city order by p.id")
+    List<ProfessionalView> findViewsByCity(String city);
+
+    @Query(SELECT_VIEW + "where p.accountStatus = :accountStatus order by p.id")
+    List<ProfessionalView> findViewsByAccountStatus(AccountStatus accountStatus);
+
+    // Identifiants seuls, pour la reprise périodique des vérifications de documents
+    @Query("select p.id from Professional p where p.accountStatus = :accountStatus order by p.id")
+    List<Long> findIdsByAccountStatus(AccountStatus accountStatus);
+
+    // Parcours de toute la table en flux, à consommer dans une transaction.
+    // Sous MySQL, le fetch size n'est respecté qu'avec useCursorFetch=true dans l'URL JDBC.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_VIEW + "order by p.id")
+    Stream<ProfessionalView> streamAllViews();
+
+    // Numéros d'enregistrement déjà présents parmi ceux fournis (pré-contrôle de l'import en masse)
+    @Query("select p.registrationNumber from Professional p where p.registrationNumber in :registrationNumbers")
+    List<String> findExistingRegistrationNumbers(Collection<String> registrationNumbers);
 }
@@ -0,0 +1,60 @@
+package com.armacare.dao;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.armacare.model.Professional;
+import com.armacare.model.Professional.AccountStatus;
+
+// Critères combinables de recherche dans l'annuaire des professionnels.
+// Chaque critère absent renvoie null et est ignoré par Specification.where/and.
+public final class ProfessionalSpecifications {
+
+    // Caractère d'échappement neutre : l'antislash est interprété différemment selon le SGBD
+    private static final char LIKE_ESCAPE = '!';
+
+    private ProfessionalSpecifications() {
+    }
+
+    public static Specification<Professional> hasSpeciality(String speciality) {
+        if (isBlank(speciality)) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("speciality"), speciality);
+    }
+
+    public static Specification<Professional> inCity(String city) {
+        if (isBlank(city)) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("city"), city);
+    }
+
+    public static Specification<Professional> hasAccountStatus(AccountStatus status) {
+        if (status == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("accountStatus"), status);
+    }
+
+    // Préfixe du nom de famille : LIKE 'xxx%' reste utilisable par l'index sur last_name
+    public static Specification<Professional> lastNameStartsWith(String prefix) {
+        if (isBlank(prefix)) {
+            return null;
+        }
+        String pattern = escapeLike(prefix.trim()) + "%";
+        return (root, query, cb) -> cb.like(root.get("lastName"), pattern, LIKE_ESCAPE);
+    }
+
+    // Seek de pagination par clé
+    public static Specification<Professional> idGreaterThan(long lastId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), lastId);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,27 @@
+package com.armacare.dao;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.armacare.dto.StatusChange;
+import com.armacare.model.ProfessionalStatusHistory;
+
+// Chronologie du plus récent au plus ancien, paginée par clé sur (changed_at, id) :
+// le curseur ne porte que l'id de la dernière entrée lue, sa date est relue par clé primaire
+// dans la même requête. Les deux requêtes parcourent l'index (professional_id, changed_at) à rebours.
+public interface ProfessionalStatusHistoryRepository extends JpaRepository<ProfessionalStatusHistory, Long> {
+
+    String SELECT_CHANGE = "select " + StatusChange.JPQL_CONSTRUCTOR + " from ProfessionalStatusHistory h ";
+
+    @Query(SELECT_CHANGE + "where h.professionalId = :professionalId order by h.changedAt desc, h.id desc")
+    List<StatusChange> findTimeline(Long professionalId, Limit limit);
+
+    @Query(SELECT_CHANGE + "join ProfessionalStatusHistory c on c.id = :lastId"
+            + " where h.professionalId = :professionalId"
+            + " and (h.changedAt < c.changedAt or (h.changedAt = c.changedAt and h.id < c.id))"
+            + " order by h.changedAt desc, h.id desc")
+    List<StatusChange> findTimelineAfter(Long professionalId, long lastId, Limit limit);
+}
@@ -0,0 +1,16 @@
+package com.armacare.dao;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.armacare.dto.ProfessionalView;
+import com.armacare.model.Professional;
+
+// Recherche multicritère projetée directement en ProfessionalView
+public interface ProfessionalViewQueries {
+
+    // Résultats triés par id, bornés par la limite
+    List<ProfessionalView> findViews(Specification<Professional> specification, Limit limit);
+}
@@ -0,0 +1,49 @@
+package com.armacare.dao;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.armacare.dto.ProfessionalView;
+import com.armacare.model.Professional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class ProfessionalViewQueriesImpl implements ProfessionalViewQueries {
+
+    private final EntityManager entityManager;
+
+    ProfessionalViewQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ProfessionalView> findViews(Specification<Professional> specification, Limit limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProfessionalView> query = builder.createQuery(ProfessionalView.class);
+        Root<Professional> p = query.from(Professional.class);
+        // Même ordre que le constructeur de ProfessionalView (voir ProfessionalView.JPQL_CONSTRUCTOR)
+        query.select(builder.construct(ProfessionalView.class,
+                p.get("id"), p.get("firstName"), p.get("lastName"), p.get("speciality"),
+                p.get("registrationNumber"), p.get("phone"), p.get("email"), p.get("address"),
+                p.get("city"), p.get("country"), p.get("identityDocumentPath"), p.get("diplomaPath"),
+                p.get("licensePath"), p.get("professionalInsurancePath"), p.get("bankAccountNumberPath"),
+                p.get("accountStatus"), p.get("statusChangeDate"), p.get("statusChangeReason")));
+        Predicate predicate = specification != null ? specification.toPredicate(p, query, builder) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(builder.asc(p.get("id")));
+        TypedQuery<ProfessionalView> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return typedQuery.getResultList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.armacare.dto;
+
+import com.armacare.model.Invoice.InvoiceStatus;
+
+// Résultat de la liquidation d'une facture
+public class AdjudicationResult {
+
+    private final Long invoiceId;
+    private final Long contractId;
+    private final String coverageType;
+    private final double totalAmount;
+    private final double reimbursableAmount;
+    private final InvoiceStatus status;
+    private final String reason;
+
+    public AdjudicationResult(Long invoiceId, Long contractId, String coverageType, double totalAmount,
+            double reimbursableAmount, InvoiceStatus status, String reason) {
+        this.invoiceId = invoiceId;
+        this.contractId = contractId;
+        this.coverageType = coverageType;
+        this.totalAmount = totalAmount;
+        this.reimbursableAmount = reimbursableAmount;
+        this.status = status;
+        this.reason = reason;
+    }
+
+    public Long getInvoiceId() {
+        return invoiceId;
+    }
+
+    public Long getContractId() {
+        return contractId;
+    }
+
+    public String getCoverageType() {
+        return coverageType;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public double getReimbursableAmount() {
+        return reimbursableAmount;
+    }
+
+    public double getPatientShare() {
+        return totalAmount - reimbursableAmount;
+    }
+
+    public InvoiceStatus getStatus() {
+        return status;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return "AdjudicationResult [invoiceId=" + invoiceId + ", contractId=" + contractId
+                + ", coverageType=" + coverageType + ", totalAmount=" + totalAmount
+                + ", reimbursableAmount=" + reimbursableAmount + ", status=" + status
+                + ", reason=" + reason + "]";
+    }
+}
@@ -0,0 +1,69 @@
+package com.armacare.dto;
+
+// Bilan d'une exécution du traitement par lots des factures en attente
+public class BatchRunReport {
+
+    private final long resumedFromId;
+    private final long claimsRead;
+    private final long reimbursed;
+    private final long partiallyReimbursed;
+    private final long rejected;
+    private final long failed;
+    private final long skipped;
+    private final long durationMillis;
+
+    public BatchRunReport(long resumedFromId, long claimsRead, long reimbursed, long partiallyReimbursed,
+            long rejected, long failed, long skipped, long durationMillis) {
+        this.resumedFromId = resumedFromId;
+        this.claimsRead = claimsRead;
+        this.reimbursed = reimbursed;
+        this.partiallyReimbursed = partiallyReimbursed;
+        this.rejected = rejected;
+        this.failed = failed;
+        this.skipped = skipped;
+        this.durationMillis = durationMillis;
+    }
+
+    // Identifiant du point de reprise au démarrage (0 pour une exécution complète)
+    public long getResumedFromId() {
+        return resumedFromId;
+    }
+
+    public long getClaimsRead() {
+        return claimsRead;
+    }
+
+    public long getReimbursed() {
+        return reimbursed;
+    }
+
+    public long getPartiallyReimbursed() {
+        return partiallyReimbursed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    // Factures dont la liquidation a levé une erreur : laissées en attente pour la prochaine exécution
+    public long getFailed() {
+        return failed;
+    }
+
+    // Factures sorties de l'attente entre la lecture et l'écriture : non modifiées
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchRunReport [resumedFromId=" + resumedFromId + ", claimsRead=" + claimsRead
+                + ", reimbursed=" + reimbursed + ", partiallyReimbursed=" + partiallyReimbursed
+                + ", rejected=" + rejected + ", failed=" + failed + ", skipped=" + skipped
+                + ", durationMillis=" + durationMillis + "]";
+    }
+}
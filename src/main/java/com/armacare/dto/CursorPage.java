@@ -0,0 +1,73 @@
+package com.armacare.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import com.armacare.exception.InvalidCursorException;
+
+// Page de résultats paginée par clé (seek sur l'id) avec un curseur opaque
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    // Construit la page à partir de (pageSize + 1) lignes lues : la ligne en trop indique qu'une page suit
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, ToLongFunction<T> idExtractor) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        long lastId = idExtractor.applyAsLong(content.get(pageSize - 1));
+        return new CursorPage<>(content, encodeCursor(lastId));
+    }
+
+    public static String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Un curseur absent signifie "depuis le début"
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            long lastId = Long.parseLong(decoded);
+            if (lastId < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return lastId;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getSize() {
+        return content.size();
+    }
+
+    public boolean isLast() {
+        return nextCursor == null;
+    }
+
+    @Override
+    public String toString() {
+        return "CursorPage [size=" + content.size() + ", nextCursor=" + nextCursor + "]";
+    }
+}
@@ -0,0 +1,35 @@
+package com.armacare.dto;
+
+import java.util.List;
+
+// Erreur sur une ligne d'un import en masse (numéro de ligne de données, à partir de 1)
+public class ImportRowError {
+
+    private final long row;
+    private final String registrationNumber;
+    private final List<String> messages;
+
+    public ImportRowError(long row, String registrationNumber, List<String> messages) {
+        this.row = row;
+        this.registrationNumber = registrationNumber;
+        this.messages = messages;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public String getRegistrationNumber() {
+        return registrationNumber;
+    }
+
+    public List<String> getMessages() {
+        return messages;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportRowError [row=" + row + ", registrationNumber=" + registrationNumber
+                + ", messages=" + messages + "]";
+    }
+}
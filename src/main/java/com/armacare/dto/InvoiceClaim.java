@@ -0,0 +1,82 @@
+package com.armacare.dto;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+// Données d'une facture nécessaires à sa liquidation, avec les termes du contrat qu'elle porte.
+// Lue par projection (sans entités gérées) pour le traitement par lots.
+public class InvoiceClaim {
+
+    private final Long invoiceId;
+    private final Long patientId;
+    private final Long contractId;
+    private final boolean contractActive;
+    private final Date contractStartDate;
+    private final Date contractEndDate;
+    private final Double deductible;
+    private final LocalDate invoiceDate;
+    private final Double totalAmount;
+    private final String coverageType;
+
+    public InvoiceClaim(Long invoiceId, Long patientId, Long contractId, Boolean contractActive,
+            Date contractStartDate, Date contractEndDate, Double deductible,
+            LocalDate invoiceDate, Double totalAmount, String coverageType) {
+        this.invoiceId = invoiceId;
+        this.patientId = patientId;
+        this.contractId = contractId;
+        this.contractActive = Boolean.TRUE.equals(contractActive);
+        this.contractStartDate = contractStartDate;
+        this.contractEndDate = contractEndDate;
+        this.deductible = deductible;
+        this.invoiceDate = invoiceDate;
+        this.totalAmount = totalAmount;
+        this.coverageType = coverageType;
+    }
+
+    public Long getInvoiceId() {
+        return invoiceId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public Long getContractId() {
+        return contractId;
+    }
+
+    public boolean isContractActive() {
+        return contractActive;
+    }
+
+    public Date getContractStartDate() {
+        return contractStartDate;
+    }
+
+    public Date getContractEndDate() {
+        return contractEndDate;
+    }
+
+    public Double getDeductible() {
+        return deductible;
+    }
+
+    public LocalDate getInvoiceDate() {
+        return invoiceDate;
+    }
+
+    public Double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public String getCoverageType() {
+        return coverageType;
+    }
+
+    @Override
+    public String toString() {
+        return "InvoiceClaim [invoiceId=" + invoiceId + ", patientId=" + patientId + ", contractId=" + contractId
+                + ", invoiceDate=" + invoiceDate + ", totalAmount=" + totalAmount
+                + ", coverageType=" + coverageType + "]";
+    }
+}
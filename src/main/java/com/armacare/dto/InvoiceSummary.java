@@ -0,0 +1,38 @@
+package com.armacare.dto;
+
+import java.time.LocalDate;
+
+import com.armacare.model.Invoice.InvoiceStatus;
+
+// Ligne d'une liste de factures : colonnes de la facture et libellés des entités liées,
+// lus en une seule requête de projection (pas d'entités Professional, Patient ni InsuranceContract)
+public record InvoiceSummary(
+        Long id,
+        LocalDate invoiceDate,
+        Double totalAmount,
+        Double reimbursableAmount,
+        InvoiceStatus status,
+        String coverageType,
+        Long professionalId,
+        String professionalFirstName,
+        String professionalLastName,
+        Long patientId,
+        String patientFirstName,
+        String patientLastName,
+        Long contractId,
+        String contractNumber,
+        String insuranceName) {
+
+    public static final String JPQL_CONSTRUCTOR = "new com.armacare.dto.InvoiceSummary(i.id, i.invoiceDate,"
+            + " i.totalAmount, i.reimbursableAmount, i.status, i.coverageType,"
+            + " pr.id, pr.firstName, pr.lastName, pa.id, pa.firstName, pa.lastName,"
+            + " c.id, c.contractNumber, ins.name)";
+
+    // Part restant à la charge du patient
+    public Double getPatientShare() {
+        if (totalAmount == null || reimbursableAmount == null) {
+            return null;
+        }
+        return totalAmount - reimbursableAmount;
+    }
+}
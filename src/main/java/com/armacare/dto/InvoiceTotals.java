@@ -0,0 +1,47 @@
+package com.armacare.dto;
+
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Totaux de factures calculés par la base (GROUP BY), pour les relevés des assureurs.
+// Seules les dimensions du regroupement demandé sont renseignées ; les autres restent nulles et sont
+// omises du JSON. Le relevé détaillé utilise le constructeur canonique, les autres regroupements
+// leur propre constructeur (select new ...).
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record InvoiceTotals(
+        Integer year,
+        Integer month,
+        Long professionalId,
+        String professionalFirstName,
+        String professionalLastName,
+        InvoiceStatus status,
+        Long invoiceCount,
+        Double totalAmount,
+        Double reimbursableAmount) {
+
+    // Par mois
+    public InvoiceTotals(Integer year, Integer month, Long invoiceCount, Double totalAmount,
+            Double reimbursableAmount) {
+        this(year, month, null, null, null, null, invoiceCount, totalAmount, reimbursableAmount);
+    }
+
+    // Par professionnel
+    public InvoiceTotals(Long professionalId, String professionalFirstName, String professionalLastName,
+            Long invoiceCount, Double totalAmount, Double reimbursableAmount) {
+        this(null, null, professionalId, professionalFirstName, professionalLastName, null, invoiceCount,
+                totalAmount, reimbursableAmount);
+    }
+
+    // Par statut
+    public InvoiceTotals(InvoiceStatus status, Long invoiceCount, Double totalAmount, Double reimbursableAmount) {
+        this(null, null, null, null, null, status, invoiceCount, totalAmount, reimbursableAmount);
+    }
+
+    // Part restant à la charge des patients
+    public Double getPatientShare() {
+        if (totalAmount == null || reimbursableAmount == null) {
+            return null;
+        }
+        return Math.round((totalAmount - reimbursableAmount) * 100) / 100.0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.armacare.dto;
+
+// Ligne de la requête d'éligibilité : le patient, son contrat en vigueur à la date demandée (colonnes nulles
+// s'il n'en a pas) et la couverture du type de soin demandé (colonnes nulles si le contrat ne le couvre pas)
+public record PatientCoverage(
+        Long patientId,
+        boolean patientActive,
+        Long contractId,
+        String contractNumber,
+        String insuranceName,
+        Double deductible,
+        Long coverageId,
+        Integer coverageRate,
+        Double coverageCeiling) {
+
+    public static final String JPQL_CONSTRUCTOR = "new com.armacare.dto.PatientCoverage(p.id, p.active,"
+            + " c.id, c.contractNumber, ins.name, c.deductible, cv.id, cv.coverageRate, cv.coverageCeiling)";
+}
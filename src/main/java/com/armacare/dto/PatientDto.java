@@ -0,0 +1,172 @@
+package com.armacare.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+public class PatientDto {
+
+    private Long id;
+
+    @NotBlank(message = "Le prénom du patient est obligatoire")
+    private String firstName;
+
+    @NotBlank(message = "Le nom du patient est obligatoire")
+    private String lastName;
+
+    @Past(message = "La date de naissance doit être dans le passé")
+    private LocalDate dateOfBirth;
+
+    @Pattern(regexp = "^[MF]$", message = "Le sexe doit être 'M' pour masculin ou 'F' pour féminin")
+    private String gender;
+
+    @NotBlank(message = "Le numéro d'identification national est obligatoire")
+    private String nationalId;
+
+    private String address;
+    private String city;
+    private String postalCode;
+    private String country = "Sénégal";
+
+    @NotBlank(message = "Le numéro de téléphone est obligatoire")
+    @Pattern(regexp = "^(\\+221|00221)?[7-9][0-9]{8}$", message = "Format de téléphone sénégalais invalide. Exemple: +221770001122 ou 770001122")
+    private String phone;
+
+    @Email(message = "Format d'email invalide")
+    private String email;
+
+    private String bloodGroup;
+
+    @Size(max = 500, message = "Les allergies ne peuvent pas dépasser 500 caractères")
+    private String allergies;
+
+    @Size(max = 500, message = "Les conditions médicales ne peuvent pas dépasser 500 caractères")
+    private String medicalConditions;
+
+    public PatientDto() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public LocalDate getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    public void setDateOfBirth(LocalDate dateOfBirth) {
+        this.dateOfBirth = dateOfBirth;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    public String getNationalId() {
+        return nationalId;
+    }
+
+    public void setNationalId(String nationalId) {
+        this.nationalId = nationalId;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getPostalCode() {
+        return postalCode;
+    }
+
+    public void setPostalCode(String postalCode) {
+        this.postalCode = postalCode;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public void setBloodGroup(String bloodGroup) {
+        this.bloodGroup = bloodGroup;
+    }
+
+    public String getAllergies() {
+        return allergies;
+    }
+
+    public void setAllergies(String allergies) {
+        this.allergies = allergies;
+    }
+
+    public String getMedicalConditions() {
+        return medicalConditions;
+    }
+
+    public void setMedicalConditions(String medicalConditions) {
+        this.medicalConditions = medicalConditions;
+    }
+}
@@ -0,0 +1,35 @@
+package com.armacare.dto;
+
+import java.time.LocalDate;
+
+// Réponse à « ce patient est-il couvert pour ce type de soin à cette date ? ».
+// Quand il ne l'est pas, reason donne le motif et les colonnes de couverture sont nulles.
+public record PatientEligibility(
+        String nationalId,
+        String coverageType,
+        LocalDate date,
+        boolean eligible,
+        String reason,
+        Long contractId,
+        String contractNumber,
+        String insuranceName,
+        Integer coverageRate,
+        Double coverageCeiling,
+        Double deductible) {
+
+    public static PatientEligibility eligible(String nationalId, String coverageType, LocalDate date,
+            PatientCoverage coverage) {
+        return new PatientEligibility(nationalId, coverageType, date, true, null, coverage.contractId(),
+                coverage.contractNumber(), coverage.insuranceName(), coverage.coverageRate(),
+                coverage.coverageCeiling(), coverage.deductible());
+    }
+
+    public static PatientEligibility notEligible(String nationalId, String coverageType, LocalDate date,
+            PatientCoverage coverage, String reason) {
+        return new PatientEligibility(nationalId, coverageType, date, false, reason,
+                coverage != null ? coverage.contractId() : null,
+                coverage != null ? coverage.contractNumber() : null,
+                coverage != null ? coverage.insuranceName() : null,
+                null, null, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.armacare.dto;
+
+import java.time.LocalDate;
+
+import com.armacare.model.Patient;
+
+// Représentation d'un patient renvoyée par l'API, sans ses contrats (collection paresseuse de l'entité)
+public record PatientView(
+        Long id,
+        String firstName,
+        String lastName,
+        LocalDate dateOfBirth,
+        String gender,
+        String nationalId,
+        String address,
+        String city,
+        String postalCode,
+        String country,
+        String phone,
+        String email,
+        String bloodGroup,
+        String allergies,
+        String medicalConditions,
+        boolean active) {
+
+    public static PatientView from(Patient patient) {
+        return new PatientView(patient.getId(), patient.getFirstName(), patient.getLastName(),
+                patient.getDateOfBirth(), patient.getGender(), patient.getNationalId(), patient.getAddress(),
+                patient.getCity(), patient.getPostalCode(), patient.getCountry(), patient.getPhone(),
+                patient.getEmail(), patient.getBloodGroup(), patient.getAllergies(), patient.getMedicalConditions(),
+                patient.isActive());
+    }
+}
@@ -0,0 +1,63 @@
+package com.armacare.dto;
+
+import java.util.List;
+
+// Bilan d'un import en masse de professionnels
+public class ProfessionalImportReport {
+
+    private final long totalRows;
+    private final long importedRows;
+    private final long failedRows;
+    private final List<ImportRowError> errors;
+    private final boolean errorsTruncated;
+    private final long durationMillis;
+
+    public ProfessionalImportReport(long totalRows, long importedRows, long failedRows,
+            List<ImportRowError> errors, boolean errorsTruncated, long durationMillis) {
+        this.totalRows = totalRows;
+        this.importedRows = importedRows;
+        this.failedRows = failedRows;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+        this.durationMillis = durationMillis;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public long getFailedRows() {
+        return failedRows;
+    }
+
+    // Limité aux premières erreurs : voir errorsTruncated
+    public List<ImportRowError> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    // Débit de l'import en lignes traitées par seconde
+    public double getRowsPerSecond() {
+        if (durationMillis == 0) {
+            return totalRows;
+        }
+        return totalRows * 1000.0 / durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ProfessionalImportReport [totalRows=" + totalRows + ", importedRows=" + importedRows
+                + ", failedRows=" + failedRows + ", durationMillis=" + durationMillis + "]";
+    }
+}
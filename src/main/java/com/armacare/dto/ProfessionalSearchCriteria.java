@@ -0,0 +1,60 @@
+package com.armacare.dto;
+
+import com.armacare.model.Professional.AccountStatus;
+
+// Filtres optionnels de la recherche de professionnels (tous combinables)
+public class ProfessionalSearchCriteria {
+
+    private String speciality;
+    private String city;
+    private AccountStatus status;
+    private String name;
+
+    public ProfessionalSearchCriteria() {
+    }
+
+    public ProfessionalSearchCriteria(String speciality, String city, AccountStatus status, String name) {
+        this.speciality = speciality;
+        this.city = city;
+        this.status = status;
+        this.name = name;
+    }
+
+    public String getSpeciality() {
+        return speciality;
+    }
+
+    public void setSpeciality(String speciality) {
+        this.speciality = speciality;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public AccountStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AccountStatus status) {
+        this.status = status;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return "ProfessionalSearchCriteria [speciality=" + speciality + ", city=" + city
+                + ", status=" + status + ", name=" + name + "]";
+    }
+}
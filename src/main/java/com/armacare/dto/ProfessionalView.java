@@ -0,0 +1,46 @@
+package com.armacare.dto;
+
+import java.time.LocalDateTime;
+
+import com.armacare.model.Professional;
+import com.armacare.model.Professional.AccountStatus;
+
+// Représentation d'un professionnel renvoyée par l'API.
+// Les listes la construisent directement en JPQL (select new ...) : ni entité hydratée,
+// ni instantané pour le dirty-checking. Mêmes noms de champs JSON que l'entité.
+public record ProfessionalView(
+        Long id,
+        String firstName,
+        String lastName,
+        String speciality,
+        String registrationNumber,
+        String phone,
+        String email,
+        String address,
+        String city,
+        String country,
+        String identityDocumentPath,
+        String diplomaPath,
+        String licensePath,
+        String professionalInsurancePath,
+        String bankAccountNumberPath,
+        AccountStatus accountStatus,
+        LocalDateTime statusChangeDate,
+        String statusChangeReason) {
+
+    // Colonnes sélectionnées par les requêtes de projection, dans l'ordre du constructeur
+    public static final String JPQL_CONSTRUCTOR = "new com.armacare.dto.ProfessionalView(p.id, p.firstName,"
+            + " p.lastName, p.speciality, p.registrationNumber, p.phone, p.email, p.address, p.city, p.country,"
+            + " p.identityDocumentPath, p.diplomaPath, p.licensePath, p.professionalInsurancePath,"
+            + " p.bankAccountNumberPath, p.accountStatus, p.statusChangeDate, p.statusChangeReason)";
+
+    public static ProfessionalView from(Professional professional) {
+        return new ProfessionalView(professional.getId(), professional.getFirstName(), professional.getLastName(),
+                professional.getSpeciality(), professional.getRegistrationNumber(), professional.getPhone(),
+                professional.getEmail(), professional.getAddress(), professional.getCity(), professional.getCountry(),
+                professional.getIdentityDocumentPath(), professional.getDiplomaPath(), professional.getLicensePath(),
+                professional.getProfessionalInsurancePath(), professional.getBankAccountNumberPath(),
+                professional.getAccountStatus(), professional.getStatusChangeDate(),
+                professional.getStatusChangeReason());
+    }
+}
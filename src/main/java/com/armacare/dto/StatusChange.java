@@ -0,0 +1,18 @@
+package com.armacare.dto;
+
+import java.time.LocalDateTime;
+
+import com.armacare.model.Professional.AccountStatus;
+
+// Entrée de la chronologie des statuts d'un professionnel, projetée en JPQL (select new ...)
+public record StatusChange(
+        Long id,
+        AccountStatus previousStatus,
+        AccountStatus status,
+        String reason,
+        LocalDateTime changedAt) {
+
+    // Colonnes sélectionnées par les requêtes de projection, dans l'ordre du constructeur
+    public static final String JPQL_CONSTRUCTOR = "new com.armacare.dto.StatusChange(h.id, h.previousStatus,"
+            + " h.status, h.reason, h.changedAt)";
+}
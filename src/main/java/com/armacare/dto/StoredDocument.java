@@ -0,0 +1,10 @@
+package com.armacare.dto;
+
+// Document enregistré dans le stockage par contenu : la clé (path) est dérivée de l'empreinte SHA-256.
+// deduplicated : un document identique était déjà stocké, aucune nouvelle copie n'a été écrite.
+public record StoredDocument(
+        String path,
+        String sha256,
+        long size,
+        boolean deduplicated) {
+}
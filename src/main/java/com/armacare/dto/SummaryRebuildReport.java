@@ -0,0 +1,12 @@
+package com.armacare.dto;
+
+import java.time.LocalDate;
+
+// Bilan d'une reconstruction des cumuls quotidiens de factures sur la période [from, to)
+public record SummaryRebuildReport(
+        LocalDate from,
+        LocalDate to,
+        int months,
+        long summaryRows,
+        long durationMillis) {
+}
@@ -0,0 +1,7 @@
+package com.armacare.exception;
+
+public class BatchAlreadyRunningException extends RuntimeException {
+    public BatchAlreadyRunningException(String jobName) {
+        super("Le traitement " + jobName + " est déjà en cours");
+    }
+}
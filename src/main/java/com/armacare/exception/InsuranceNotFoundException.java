@@ -0,0 +1,7 @@
+package com.armacare.exception;
+
+public class InsuranceNotFoundException extends RuntimeException {
+    public InsuranceNotFoundException(Long id) {
+        super("Assureur non trouvé avec l'ID: " + id);
+    }
+}
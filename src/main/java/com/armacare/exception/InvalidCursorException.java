@@ -0,0 +1,7 @@
+package com.armacare.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Curseur de pagination invalide: " + cursor);
+    }
+}
@@ -0,0 +1,12 @@
+package com.armacare.exception;
+
+// Ligne d'un import illisible (nombre de colonnes, valeur invalide) : le fichier reste lisible après elle
+public class InvalidImportRowException extends ProfessionalImportException {
+    public InvalidImportRowException(String message) {
+        super(message);
+    }
+
+    public InvalidImportRowException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.armacare.exception;
+
+public class InvoiceNotFoundException extends RuntimeException {
+    public InvoiceNotFoundException(Long id) {
+        super("Facture non trouvée avec l'ID: " + id);
+    }
+}
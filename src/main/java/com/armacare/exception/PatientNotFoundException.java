@@ -0,0 +1,7 @@
+package com.armacare.exception;
+
+public class PatientNotFoundException extends RuntimeException {
+    public PatientNotFoundException(String nationalId) {
+        super("Patient non trouvé avec le numéro d'identification national: " + nationalId);
+    }
+}
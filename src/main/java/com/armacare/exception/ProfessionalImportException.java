@@ -0,0 +1,11 @@
+package com.armacare.exception;
+
+public class ProfessionalImportException extends RuntimeException {
+    public ProfessionalImportException(String message) {
+        super(message);
+    }
+
+    public ProfessionalImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.armacare.exception;
+
+public class StatementBudgetExceededException extends RuntimeException {
+    public StatementBudgetExceededException(String request, int statements, int budget) {
+        super(request + " a exécuté " + statements + " instructions SQL pour un budget de " + budget);
+    }
+}
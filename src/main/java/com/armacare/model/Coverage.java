@@ -1,23 +1,38 @@
 package com.armacare.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Column;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 
-// Couverture spécifique (dentaire, optique, hospitalisation, etc.)
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.armacare.config.SecondLevelCacheConfig;
+
+// Couverture spécifique (dentaire, optique, hospitalisation, etc.), lue à chaque liquidation : cache de second niveau.
+// Index de la vérification d'éligibilité : couverture d'un type de soin dans un contrat.
 @Entity
-@Table(name = "coverages")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.COVERAGES)
+@Table(name = "coverages", indexes = {
+    @Index(name = "idx_coverages_contract_type", columnList = "contract_id, coverage_type")
+})
 public class Coverage {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coverages_seq")
+    @SequenceGenerator(name = "coverages_seq", sequenceName = "coverages_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Le type de couverture est obligatoire")
@@ -33,7 +48,7 @@ public class Coverage {
     private Double coverageCeiling; // Plafond (montant maximal remboursable)
     
     // Relation avec le contrat parent
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull(message = "Le contrat est obligatoire")
     private InsuranceContract contract;
     
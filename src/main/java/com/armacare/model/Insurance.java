@@ -1,9 +1,11 @@
 package com.armacare.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Column;
 import jakarta.persistence.Table;
@@ -14,12 +16,20 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.ArrayList;
 
-// Assureur 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.armacare.config.SecondLevelCacheConfig;
+
+// Assureur (donnée de référence : cache de second niveau)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.INSURANCES)
 @Table(name = "insurances")
 public class Insurance {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "insurances_seq")
+    @SequenceGenerator(name = "insurances_seq", sequenceName = "insurances_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Le nom de l'assureur est obligatoire")
@@ -69,6 +79,13 @@ public class Insurance {
     private String registrationDocumentPath; // Chemin vers le document d'enregistrement
     private String licensePath; // Chemin vers la licence
     private String armaContractPath; // Chemin vers le contrat avec ARMA-CARE
+
+    // Documents envoyés par POST /api/insurances/{id}/documents/{type}
+    public enum DocumentType {
+        REGISTRATION,
+        LICENSE,
+        ARMA_CONTRACT
+    }
     
     // Relations
     @OneToMany(mappedBy = "insurance")
@@ -322,4 +339,21 @@ public class Insurance {
                 + ", nombre de contrats=" + (contracts != null ? contracts.size() : 0)
                 + ", compte actif=" + active + "]";
     }
+
+    // Chemin du document dans le stockage (clé renvoyée par DocumentStorageService)
+    public String getDocumentPath(DocumentType type) {
+        return switch (type) {
+            case REGISTRATION -> registrationDocumentPath;
+            case LICENSE -> licensePath;
+            case ARMA_CONTRACT -> armaContractPath;
+        };
+    }
+
+    public void setDocumentPath(DocumentType type, String path) {
+        switch (type) {
+            case REGISTRATION -> this.registrationDocumentPath = path;
+            case LICENSE -> this.licensePath = path;
+            case ARMA_CONTRACT -> this.armaContractPath = path;
+        }
+    }
 }
@@ -4,10 +4,13 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
@@ -19,12 +22,22 @@ import java.util.Date;
 import java.util.ArrayList;
 import java.util.List;
 
-// Contrat d'assurance
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.armacare.config.SecondLevelCacheConfig;
+
+// Contrat d'assurance.
+// Index de recherche du contrat en vigueur d'un patient : égalités sur le patient et le statut,
+// parcours décroissant des dates de début, date de fin vérifiée dans l'index.
 @Entity
-@Table(name = "insurance_contracts")
+@Table(name = "insurance_contracts", indexes = {
+    @Index(name = "idx_insurance_contracts_patient_current", columnList = "patient_id, active, start_date, end_date")
+})
 public class InsuranceContract {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "insurance_contracts_seq")
+    @SequenceGenerator(name = "insurance_contracts_seq", sequenceName = "insurance_contracts_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Le numéro de contrat est obligatoire")
@@ -53,15 +66,16 @@ public class InsuranceContract {
     private boolean active = true;
 
     // Relations
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull(message = "Le patient est obligatoire")
     private Patient patient;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull(message = "L'assureur est obligatoire")
     private Insurance insurance;
     
-    // Relation avec les couvertures spécifiques
+    // Relation avec les couvertures spécifiques (identifiants en cache, couvertures dans la région des couvertures)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CONTRACT_COVERAGES)
     @OneToMany(mappedBy = "contract", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Coverage> coverages = new ArrayList<>();
 
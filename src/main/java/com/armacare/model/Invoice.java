@@ -1,20 +1,28 @@
 package com.armacare.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Min;
 import java.time.LocalDate;
 
-// Facture
+// Facture.
+// Les rapports par assureur lisent les cumuls quotidiens (invoice_daily_summary), pas cette table.
+// Index par date : reconstruction des cumuls quotidiens (InvoiceDailySummaryRebuildJob) mois par mois.
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices", indexes = {
+    @Index(name = "idx_invoices_invoice_date", columnList = "invoice_date")
+})
 public class Invoice {
     
     // Enum pour les statuts possibles
@@ -27,7 +35,8 @@ public class Invoice {
     }
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoices_seq")
+    @SequenceGenerator(name = "invoices_seq", sequenceName = "invoices_seq", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "La date de facture est obligatoire")
@@ -45,18 +54,23 @@ public class Invoice {
     @Enumerated(EnumType.STRING)
     private InvoiceStatus status = InvoiceStatus.EN_ATTENTE;
     
-    @ManyToOne
+    // Relations chargées à la demande : les listes passent par les graphes d'entités d'InvoiceRepository
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull(message = "Le professionnel de santé est obligatoire")
     private Professional professional;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull(message = "Le patient est obligatoire")
     private Patient patient;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull(message = "Le contrat d'assurance est obligatoire")
     private InsuranceContract contract;
     
+    // Type de soin facturé, rapproché du type de couverture du contrat (ex: "dentaire", "optique")
+    @Column(name = "coverage_type")
+    private String coverageType;
+    
     // Chemin vers le document de facture
     private String invoiceDocumentPath;
 
@@ -143,6 +157,14 @@ public class Invoice {
         this.contract = contract;
     }
     
+    public String getCoverageType() {
+        return coverageType;
+    }
+    
+    public void setCoverageType(String coverageType) {
+        this.coverageType = coverageType;
+    }
+    
     public String getInvoiceDocumentPath() {
         return invoiceDocumentPath;
     }
@@ -156,6 +178,7 @@ public class Invoice {
         return totalAmount - reimbursableAmount;
     }
 
+    // Identifiants seuls pour les associations LAZY : un log ne déclenche aucun SELECT
     @Override
     public String toString() {
         return "Invoice [id=" + id 
@@ -164,9 +187,10 @@ public class Invoice {
                 + ", montant remboursable=" + reimbursableAmount
                 + ", part patient=" + getPatientShare()
                 + ", statut=" + status 
-                + ", professionnel=" + professional 
-                + ", patient=" + patient 
-                + ", contrat=" + contract
+                + ", type de soin=" + coverageType
+                + ", professionnel=" + (professional != null ? professional.getId() : null)
+                + ", patient=" + (patient != null ? patient.getId() : null)
+                + ", contrat=" + (contract != null ? contract.getId() : null)
                 + "]";
     }
 }
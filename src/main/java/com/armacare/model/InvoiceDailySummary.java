@@ -0,0 +1,160 @@
+package com.armacare.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Objects;
+
+import com.armacare.model.Invoice.InvoiceStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// Cumul quotidien des factures par assureur, professionnel, jour et statut.
+// Tenu à jour à chaque création, modification ou suppression de facture (InvoiceDailySummaryService)
+// et reconstruit par InvoiceDailySummaryRebuildJob ; les relevés des assureurs le lisent au lieu de
+// parcourir la table des factures. Identifiants sans clé étrangère : la table n'est qu'un cumul.
+@Entity
+@Table(name = "invoice_daily_summary", indexes = {
+    @Index(name = "idx_invoice_daily_summary_insurer_date", columnList = "insurance_id, summary_date")
+})
+public class InvoiceDailySummary {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "invoice_count", nullable = false)
+    private long invoiceCount;
+
+    @Column(name = "total_amount", nullable = false)
+    private double totalAmount;
+
+    @Column(name = "reimbursable_amount", nullable = false)
+    private double reimbursableAmount;
+
+    public InvoiceDailySummary() {
+    }
+
+    public InvoiceDailySummary(Key id, long invoiceCount, double totalAmount, double reimbursableAmount) {
+        this.id = id;
+        this.invoiceCount = invoiceCount;
+        this.totalAmount = totalAmount;
+        this.reimbursableAmount = reimbursableAmount;
+    }
+
+    public Key getId() {
+        return id;
+    }
+
+    public void setId(Key id) {
+        this.id = id;
+    }
+
+    public long getInvoiceCount() {
+        return invoiceCount;
+    }
+
+    public void setInvoiceCount(long invoiceCount) {
+        this.invoiceCount = invoiceCount;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public double getReimbursableAmount() {
+        return reimbursableAmount;
+    }
+
+    public void setReimbursableAmount(double reimbursableAmount) {
+        this.reimbursableAmount = reimbursableAmount;
+    }
+
+    // Clé du cumul ; ordonnée pour que les transactions verrouillent les lignes dans le même ordre
+    @Embeddable
+    public static class Key implements Serializable, Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::getInsuranceId)
+                .thenComparing(Key::getSummaryDate)
+                .thenComparing(Key::getProfessionalId)
+                .thenComparing(Key::getStatus);
+
+        @Column(name = "insurance_id", nullable = false)
+        private Long insuranceId;
+
+        @Column(name = "professional_id", nullable = false)
+        private Long professionalId;
+
+        @Column(name = "summary_date", nullable = false)
+        private LocalDate summaryDate;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "status", nullable = false)
+        private InvoiceStatus status;
+
+        public Key() {
+        }
+
+        public Key(Long insuranceId, Long professionalId, LocalDate summaryDate, InvoiceStatus status) {
+            this.insuranceId = insuranceId;
+            this.professionalId = professionalId;
+            this.summaryDate = summaryDate;
+            this.status = status;
+        }
+
+        public Long getInsuranceId() {
+            return insuranceId;
+        }
+
+        public Long getProfessionalId() {
+            return professionalId;
+        }
+
+        public LocalDate getSummaryDate() {
+            return summaryDate;
+        }
+
+        public InvoiceStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return Objects.equals(insuranceId, other.insuranceId)
+                    && Objects.equals(professionalId, other.professionalId)
+                    && Objects.equals(summaryDate, other.summaryDate)
+                    && status == other.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(insuranceId, professionalId, summaryDate, status);
+        }
+
+        @Override
+        public String toString() {
+            return insuranceId + "/" + professionalId + "/" + summaryDate + "/" + status;
+        }
+    }
+}
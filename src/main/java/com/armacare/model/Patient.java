@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Table;
 import jakarta.persistence.OneToMany;
@@ -23,7 +24,8 @@ import java.util.List;
 @Table(name = "patients")
 public class Patient {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patients_seq")
+    @SequenceGenerator(name = "patients_seq", sequenceName = "patients_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Le prénom du patient est obligatoire")
@@ -57,7 +59,8 @@ public class Patient {
     @Email(message = "Format d'email invalide")
     private String email;
     
-    // Relation avec les contrats d'assurance
+    // Relation avec les contrats d'assurance. Le contrat en vigueur se lit par une requête indexée
+    // (InsuranceContractRepository.findCurrentContract), pas en parcourant cette collection.
     @OneToMany(mappedBy = "patient", cascade = CascadeType.ALL)
     private List<InsuranceContract> insuranceContracts = new ArrayList<>();
     
@@ -203,20 +206,6 @@ public class Patient {
         this.insuranceContracts = insuranceContracts;
     }
     
-    // Méthode utilitaire pour obtenir l'assurance actuelle
-    public Insurance getCurrentInsurance() {
-        if (insuranceContracts == null || insuranceContracts.isEmpty()) {
-            return null;
-        }
-        
-        // Trouver le contrat actif le plus récent
-        return insuranceContracts.stream()
-            .filter(contract -> contract.isActive())
-            .findFirst()
-            .map(contract -> contract.getInsurance())
-            .orElse(null);
-    }
-    
     public String getBloodGroup() {
         return bloodGroup;
     }
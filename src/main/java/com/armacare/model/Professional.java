@@ -6,6 +6,8 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 import jakarta.validation.constraints.Email;
@@ -14,11 +16,20 @@ import jakarta.validation.constraints.Pattern;
 import java.time.LocalDateTime;
 
 // Professionnel de santé
+// Index composites de la recherche dans l'annuaire : InnoDB ajoute implicitement la clé primaire
+// en fin d'index, ce qui permet le seek de pagination sur l'id après les filtres d'égalité.
 @Entity
-@Table(name = "professionals")
+@Table(name = "professionals", indexes = {
+    @Index(name = "idx_professionals_speciality_city_status", columnList = "speciality, city, account_status"),
+    @Index(name = "idx_professionals_speciality_status", columnList = "speciality, account_status"),
+    @Index(name = "idx_professionals_city_status", columnList = "city, account_status"),
+    @Index(name = "idx_professionals_status", columnList = "account_status"),
+    @Index(name = "idx_professionals_last_name", columnList = "last_name")
+})
 public class Professional {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "professionals_seq")
+    @SequenceGenerator(name = "professionals_seq", sequenceName = "professionals_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Le prénom du professionnel est obligatoire")
@@ -53,6 +64,15 @@ public class Professional {
     private String licensePath; // Licence d'exercice
     private String professionalInsurancePath; // Assurance responsabilité professionnelle
     private String bankAccountNumberPath; // RIB 
+
+    // Documents d'inscription envoyés par POST /api/professionals/{id}/documents/{type}
+    public enum DocumentType {
+        IDENTITY,
+        DIPLOMA,
+        LICENSE,
+        PROFESSIONAL_INSURANCE,
+        BANK_ACCOUNT
+    }
     
     // Statut du compte
     public enum AccountStatus {
@@ -285,4 +305,25 @@ public class Professional {
                 + ", assurance professionnelle du professionnel=" + professionalInsurancePath
                 + ", numéro de compte bancaire=" + bankAccountNumberPath + "]";
     }
+
+    // Chemin du document dans le stockage (clé renvoyée par DocumentStorageService)
+    public String getDocumentPath(DocumentType type) {
+        return switch (type) {
+            case IDENTITY -> identityDocumentPath;
+            case DIPLOMA -> diplomaPath;
+            case LICENSE -> licensePath;
+            case PROFESSIONAL_INSURANCE -> professionalInsurancePath;
+            case BANK_ACCOUNT -> bankAccountNumberPath;
+        };
+    }
+
+    public void setDocumentPath(DocumentType type, String path) {
+        switch (type) {
+            case IDENTITY -> this.identityDocumentPath = path;
+            case DIPLOMA -> this.diplomaPath = path;
+            case LICENSE -> this.licensePath = path;
+            case PROFESSIONAL_INSURANCE -> this.professionalInsurancePath = path;
+            case BANK_ACCOUNT -> this.bankAccountNumberPath = path;
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package com.armacare.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import com.armacare.model.Professional.AccountStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+// Historique des changements de statut d'un compte, en ajout seul : une ligne par transition, jamais
+// modifiée. La ligne du professionnel ne garde que le dernier statut ; l'historique est dans sa propre
+// table, écrit dans la transaction du changement (INSERT regroupés au flush grâce aux identifiants par
+// séquence). L'index (professional_id, changed_at) sert la chronologie d'un professionnel ;
+// InnoDB y ajoute la clé primaire, qui départage les changements de même date.
+@Entity
+@Immutable
+@Table(name = "professional_status_history", indexes = {
+    @Index(name = "idx_professional_status_history_professional_changed", columnList = "professional_id, changed_at")
+})
+public class ProfessionalStatusHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "professional_status_history_seq")
+    @SequenceGenerator(name = "professional_status_history_seq", sequenceName = "professional_status_history_seq",
+            allocationSize = 50)
+    private Long id;
+
+    // Identifiant seul, sans association : l'écriture ne charge pas le professionnel
+    @Column(name = "professional_id", nullable = false)
+    private Long professionalId;
+
+    // Statut avant le changement, null à la création du compte
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status")
+    private AccountStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private AccountStatus status;
+
+    @Column(name = "reason")
+    private String reason;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    protected ProfessionalStatusHistory() {
+    }
+
+    public ProfessionalStatusHistory(Long professionalId, AccountStatus previousStatus, AccountStatus status,
+            String reason, LocalDateTime changedAt) {
+        this.professionalId = professionalId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.reason = reason;
+        this.changedAt = changedAt;
+    }
+
+    // Transition vers le statut courant du professionnel, avec son motif et sa date
+    public static ProfessionalStatusHistory transition(Professional professional, AccountStatus previousStatus) {
+        return new ProfessionalStatusHistory(professional.getId(), previousStatus, professional.getAccountStatus(),
+                professional.getStatusChangeReason(),
+                professional.getStatusChangeDate() != null ? professional.getStatusChangeDate() : LocalDateTime.now());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProfessionalId() {
+        return professionalId;
+    }
+
+    public AccountStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public AccountStatus getStatus() {
+        return status;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
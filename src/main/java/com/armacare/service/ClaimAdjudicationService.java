@@ -0,0 +1,181 @@
+package com.armacare.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.armacare.config.MetricsConfig;
+import com.armacare.dao.CoverageRepository;
+import com.armacare.dao.InsuranceContractRepository;
+import com.armacare.dao.InvoiceRepository;
+import com.armacare.dto.AdjudicationResult;
+import com.armacare.dto.InvoiceClaim;
+import com.armacare.exception.InvoiceNotFoundException;
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Invoice;
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.annotation.Timed;
+
+// Liquidation des factures : calcul du montant remboursable à partir des couvertures du contrat
+// en vigueur à la date de la facture (taux, plafond, franchise) et décision sur le statut.
+// Les règles de chaque contrat sont compilées une fois par franchise puis gardées en cache (CoverageRuleTable) ;
+// CoverageRulesEvictionListener les oublie quand une couverture ou le contrat change.
+// Les appels hors transaction (liquidation par lots) lisent contrats et couvertures en lecture seule ;
+// seule la liquidation d'une facture par son id écrit.
+// Une facture sans type de soin (factures antérieures à la colonne coverage_type) n'est pas liquidée :
+// elle reste EN_ATTENTE, avec un motif, jusqu'à ce que le type soit renseigné.
+@Service
+@Transactional(readOnly = true)
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ClaimAdjudicationService {
+
+    public static final String MISSING_COVERAGE_TYPE = "Type de soin non renseigné : facture laissée en attente";
+
+    private final InvoiceRepository invoiceRepository;
+    private final InsuranceContractRepository contractRepository;
+    private final CoverageRepository coverageRepository;
+    private final Cache<RuleKey, CoverageRuleTable> ruleTables;
+
+    // La franchise fait partie de la clé : elle est compilée dans les règles
+    private record RuleKey(Long contractId, Double deductible) {
+    }
+
+    public ClaimAdjudicationService(InvoiceRepository invoiceRepository,
+            InsuranceContractRepository contractRepository,
+            CoverageRepository coverageRepository,
+            @Value("${armacare.adjudication.rules.maximum-size:10000}") long maximumSize,
+            @Value("${armacare.adjudication.rules.ttl:PT10M}") Duration ttl) {
+        this.invoiceRepository = invoiceRepository;
+        this.contractRepository = contractRepository;
+        this.coverageRepository = coverageRepository;
+        this.ruleTables = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Transactional
+    public AdjudicationResult adjudicate(Long invoiceId) {
+        Invoice invoice = invoiceRepository.findById(invoiceId)
+                .orElseThrow(() -> new InvoiceNotFoundException(invoiceId));
+        return adjudicate(invoice);
+    }
+
+    // Applique la décision sur la facture (entité gérée : enregistrée à la fin de la transaction).
+    // Transaction en écriture : appelée seule, une session en lecture seule n'enregistrerait rien.
+    @Transactional
+    public AdjudicationResult adjudicate(Invoice invoice) {
+        if (invoice.getStatus() == InvoiceStatus.PAYEE) {
+            throw new IllegalStateException("La facture " + invoice.getId() + " est déjà payée");
+        }
+        LocalDate invoiceDate = invoice.getInvoiceDate() != null ? invoice.getInvoiceDate() : LocalDate.now();
+        // Le contrat porté par la facture est gardé s'il est en vigueur ; sinon on cherche celui du patient
+        InsuranceContract contract = invoice.getContract();
+        if (contract == null || !isEffective(contract.isActive(), contract.getStartDate(), contract.getEndDate(), invoiceDate)) {
+            contract = invoice.getPatient() != null
+                    ? findEffectiveContract(invoice.getPatient().getId(), invoiceDate)
+                    : null;
+        }
+        if (contract != null) {
+            invoice.setContract(contract);
+        }
+        InvoiceClaim claim = new InvoiceClaim(invoice.getId(),
+                invoice.getPatient() != null ? invoice.getPatient().getId() : null,
+                contract != null ? contract.getId() : null,
+                contract != null && contract.isActive(),
+                contract != null ? contract.getStartDate() : null,
+                contract != null ? contract.getEndDate() : null,
+                contract != null ? contract.getDeductible() : null,
+                invoiceDate, invoice.getTotalAmount(), invoice.getCoverageType());
+        AdjudicationResult result = contract != null
+                ? decide(claim, contract.getId(), contract.getDeductible())
+                : reject(claim, null, "Aucun contrat actif à la date de la facture");
+        if (result.getStatus() != InvoiceStatus.EN_ATTENTE) {
+            invoice.setReimbursableAmount(result.getReimbursableAmount());
+            invoice.setStatus(result.getStatus());
+        }
+        return result;
+    }
+
+    // Décision seule, sans modifier la facture : sans état, appelable depuis plusieurs threads
+    public AdjudicationResult adjudicate(InvoiceClaim claim) {
+        LocalDate invoiceDate = claim.getInvoiceDate() != null ? claim.getInvoiceDate() : LocalDate.now();
+        if (claim.getContractId() != null && isEffective(claim.isContractActive(),
+                claim.getContractStartDate(), claim.getContractEndDate(), invoiceDate)) {
+            return decide(claim, claim.getContractId(), claim.getDeductible());
+        }
+        InsuranceContract contract = claim.getPatientId() != null
+                ? findEffectiveContract(claim.getPatientId(), invoiceDate)
+                : null;
+        if (contract == null) {
+            return reject(claim, null, "Aucun contrat actif à la date de la facture");
+        }
+        return decide(claim, contract.getId(), contract.getDeductible());
+    }
+
+    private AdjudicationResult decide(InvoiceClaim claim, Long contractId, Double deductible) {
+        double totalAmount = claim.getTotalAmount() != null ? claim.getTotalAmount() : 0;
+        if (claim.getCoverageType() == null) {
+            return new AdjudicationResult(claim.getInvoiceId(), contractId, null, totalAmount, 0,
+                    InvoiceStatus.EN_ATTENTE, MISSING_COVERAGE_TYPE);
+        }
+        CoverageRuleTable rules = rulesFor(contractId, deductible);
+        int rule = rules.indexOf(claim.getCoverageType());
+        if (rule == CoverageRuleTable.NOT_COVERED) {
+            return reject(claim, contractId, "Type de soin non couvert par le contrat");
+        }
+        double reimbursableAmount = rules.reimbursableAmount(rule, totalAmount);
+        if (reimbursableAmount <= 0) {
+            return reject(claim, contractId, "Montant inférieur à la franchise du contrat");
+        }
+        InvoiceStatus status = reimbursableAmount >= totalAmount
+                ? InvoiceStatus.REMBOURSEE
+                : InvoiceStatus.PARTIELLEMENT_REMBOURSEE;
+        return new AdjudicationResult(claim.getInvoiceId(), contractId, claim.getCoverageType(),
+                totalAmount, reimbursableAmount, status, null);
+    }
+
+    // Règles compilées du contrat pour la franchise donnée
+    public CoverageRuleTable rulesFor(Long contractId, Double deductible) {
+        return ruleTables.get(new RuleKey(contractId, deductible), key ->
+                CoverageRuleTable.compile(coverageRepository.findByContractId(key.contractId()), key.deductible()));
+    }
+
+    // Oublie les règles du contrat, quelle que soit la franchise (couvertures modifiées)
+    public void evictRules(Long contractId) {
+        ruleTables.asMap().keySet().removeIf(key -> key.contractId().equals(contractId));
+    }
+
+    private InsuranceContract findEffectiveContract(Long patientId, LocalDate date) {
+        return contractRepository.findCurrentContract(patientId, date).orElse(null);
+    }
+
+    private static boolean isEffective(boolean active, Date startDate, Date endDate, LocalDate date) {
+        return active
+                && startDate != null
+                && !toLocalDate(startDate).isAfter(date)
+                && (endDate == null || !toLocalDate(endDate).isBefore(date));
+    }
+
+    // Hibernate renvoie des java.sql.Date, dont toInstant() n'est pas supporté
+    private static LocalDate toLocalDate(Date date) {
+        if (date instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static AdjudicationResult reject(InvoiceClaim claim, Long contractId, String reason) {
+        double totalAmount = claim.getTotalAmount() != null ? claim.getTotalAmount() : 0;
+        return new AdjudicationResult(claim.getInvoiceId(), contractId, claim.getCoverageType(),
+                totalAmount, 0, InvoiceStatus.REJETEE, reason);
+    }
+}
@@ -0,0 +1,87 @@
+package com.armacare.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.armacare.model.Coverage;
+
+// Règles de couverture d'un contrat, compilées une fois pour toutes dans des tableaux triés.
+// Immuable et partagée entre threads : la recherche d'une règle (recherche dichotomique,
+// insensible à la casse) et le calcul du montant remboursable n'allouent aucun objet.
+public final class CoverageRuleTable {
+
+    // Indice renvoyé quand le type de soin n'est pas couvert par le contrat
+    public static final int NOT_COVERED = -1;
+
+    private static final Comparator<String> TYPE_ORDER = String.CASE_INSENSITIVE_ORDER;
+
+    private final String[] coverageTypes;
+    private final int[] rates;
+    private final double[] ceilings;
+    private final double deductible;
+
+    private CoverageRuleTable(String[] coverageTypes, int[] rates, double[] ceilings, double deductible) {
+        this.coverageTypes = coverageTypes;
+        this.rates = rates;
+        this.ceilings = ceilings;
+        this.deductible = deductible;
+    }
+
+    // Un type présent plusieurs fois garde la règle la plus favorable à l'assuré (taux le plus élevé).
+    // Sans plafond, le remboursement n'est borné que par le taux.
+    public static CoverageRuleTable compile(List<Coverage> coverages, Double deductible) {
+        Coverage[] sorted = coverages.stream()
+                .filter(coverage -> coverage.getCoverageType() != null && coverage.getCoverageRate() != null)
+                .sorted(Comparator.comparing(Coverage::getCoverageType, TYPE_ORDER)
+                        .thenComparing(Coverage::getCoverageRate, Comparator.reverseOrder()))
+                .toArray(Coverage[]::new);
+        String[] types = new String[sorted.length];
+        int[] rates = new int[sorted.length];
+        double[] ceilings = new double[sorted.length];
+        int size = 0;
+        for (Coverage coverage : sorted) {
+            if (size > 0 && TYPE_ORDER.compare(types[size - 1], coverage.getCoverageType()) == 0) {
+                continue;
+            }
+            types[size] = coverage.getCoverageType();
+            rates[size] = coverage.getCoverageRate();
+            ceilings[size] = coverage.getCoverageCeiling() != null
+                    ? coverage.getCoverageCeiling()
+                    : Double.POSITIVE_INFINITY;
+            size++;
+        }
+        return new CoverageRuleTable(Arrays.copyOf(types, size), Arrays.copyOf(rates, size),
+                Arrays.copyOf(ceilings, size), deductible != null ? Math.max(0, deductible) : 0);
+    }
+
+    public int indexOf(String coverageType) {
+        if (coverageType == null) {
+            return NOT_COVERED;
+        }
+        int index = Arrays.binarySearch(coverageTypes, coverageType, TYPE_ORDER);
+        return index >= 0 ? index : NOT_COVERED;
+    }
+
+    // Montant remboursable : (total - franchise) x taux, borné par le plafond, jamais négatif
+    public double reimbursableAmount(int index, double totalAmount) {
+        if (index == NOT_COVERED) {
+            return 0;
+        }
+        double base = Math.max(0, totalAmount - deductible);
+        double amount = Math.min(base * rates[index] / 100.0, ceilings[index]);
+        return Math.round(amount * 100) / 100.0;
+    }
+
+    public double reimbursableAmount(String coverageType, double totalAmount) {
+        return reimbursableAmount(indexOf(coverageType), totalAmount);
+    }
+
+    public int size() {
+        return coverageTypes.length;
+    }
+
+    public double getDeductible() {
+        return deductible;
+    }
+}
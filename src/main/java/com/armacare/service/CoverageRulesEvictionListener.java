@@ -0,0 +1,97 @@
+package com.armacare.service;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import com.armacare.model.Coverage;
+import com.armacare.model.InsuranceContract;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+// Invalide les règles compilées d'un contrat (ClaimAdjudicationService) quand l'une de ses couvertures
+// est ajoutée, modifiée ou supprimée, ou que le contrat lui-même change, quel que soit le code qui écrit.
+// Les règles sont oubliées tout de suite puis à nouveau après la fin de la transaction : une compilation
+// lancée entre les deux, qui aurait lu les anciennes couvertures, ne reste pas en cache.
+@Component
+public class CoverageRulesEvictionListener
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ClaimAdjudicationService adjudicationService;
+
+    public CoverageRulesEvictionListener(EntityManagerFactory entityManagerFactory,
+            ClaimAdjudicationService adjudicationService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.adjudicationService = adjudicationService;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Coverage) {
+            evict(event.getSession(), contractId(event.getPersister(), event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Coverage) {
+            // Couverture rattachée à un autre contrat : les deux sont concernés
+            if (event.getOldState() != null) {
+                evict(event.getSession(), contractId(event.getPersister(), event.getOldState()));
+            }
+            evict(event.getSession(), contractId(event.getPersister(), event.getState()));
+        } else if (event.getEntity() instanceof InsuranceContract) {
+            evict(event.getSession(), (Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Coverage) {
+            evict(event.getSession(), contractId(event.getPersister(), event.getDeletedState()));
+        } else if (event.getEntity() instanceof InsuranceContract) {
+            evict(event.getSession(), (Long) event.getId());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void evict(EventSource session, Long contractId) {
+        if (contractId == null) {
+            return;
+        }
+        adjudicationService.evictRules(contractId);
+        session.getActionQueue().registerProcess(
+                (AfterTransactionCompletionProcess) (success, completed) -> adjudicationService.evictRules(contractId));
+    }
+
+    // L'id d'un proxy est lu sans le charger
+    private static Long contractId(EntityPersister persister, Object[] state) {
+        InsuranceContract contract = (InsuranceContract) state[persister.getPropertyIndex("contract")];
+        return contract != null ? contract.getId() : null;
+    }
+}
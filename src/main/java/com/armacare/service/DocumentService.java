@@ -0,0 +1,122 @@
+package com.armacare.service;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.armacare.config.MetricsConfig;
+import com.armacare.dao.InsuranceRepository;
+import com.armacare.dao.InvoiceRepository;
+import com.armacare.dao.ProfessionalRepository;
+import com.armacare.dto.StoredDocument;
+import com.armacare.exception.InsuranceNotFoundException;
+import com.armacare.exception.InvoiceNotFoundException;
+import com.armacare.exception.ProfessionalNotFoundException;
+import com.armacare.model.Insurance;
+import com.armacare.model.Invoice;
+import com.armacare.model.Professional;
+import com.armacare.model.Professional.AccountStatus;
+import com.armacare.service.DocumentStorageService.Upload;
+import com.armacare.service.ProfessionalVerificationService.VerificationRequested;
+
+import io.micrometer.core.annotation.Timed;
+
+// Rattachement des documents envoyés aux professionnels, assureurs et factures.
+// Le fichier est d'abord enregistré hors transaction (la copie peut durer le temps de l'envoi),
+// puis seul le chemin est écrit dans une transaction courte : aucune connexion n'est retenue
+// pendant la copie. L'existence de l'entité est vérifiée avant, pour ne rien stocker en vain.
+// Les lectures renvoient le fichier stocké, vide si l'entité, le document ou le fichier manque.
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class DocumentService {
+
+    private final DocumentStorageService storage;
+    private final ProfessionalRepository professionalRepository;
+    private final InsuranceRepository insuranceRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final ProfessionalLookupCache lookupCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public DocumentService(DocumentStorageService storage,
+            ProfessionalRepository professionalRepository,
+            InsuranceRepository insuranceRepository,
+            InvoiceRepository invoiceRepository,
+            ProfessionalLookupCache lookupCache,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
+        this.storage = storage;
+        this.professionalRepository = professionalRepository;
+        this.insuranceRepository = insuranceRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.lookupCache = lookupCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public Optional<Path> findProfessionalDocument(Long professionalId, Professional.DocumentType type) {
+        return professionalRepository.findById(professionalId)
+                .map(professional -> professional.getDocumentPath(type))
+                .flatMap(storage::find);
+    }
+
+    // Assureurs servis par le cache de second niveau
+    public Optional<Path> findInsuranceDocument(Long insuranceId, Insurance.DocumentType type) {
+        return insuranceRepository.findById(insuranceId)
+                .map(insurance -> insurance.getDocumentPath(type))
+                .flatMap(storage::find);
+    }
+
+    public Optional<Path> findInvoiceDocument(Long invoiceId) {
+        return invoiceRepository.findDocumentPathById(invoiceId).flatMap(storage::find);
+    }
+
+    public StoredDocument attachProfessionalDocument(Long professionalId, Professional.DocumentType type,
+            Upload content) {
+        if (!professionalRepository.existsById(professionalId)) {
+            throw new ProfessionalNotFoundException(professionalId);
+        }
+        StoredDocument document = storage.store(content);
+        transactionTemplate.executeWithoutResult(status -> {
+            Professional professional = professionalRepository.findById(professionalId)
+                    .orElseThrow(() -> new ProfessionalNotFoundException(professionalId));
+            professional.setDocumentPath(type, document.path());
+            // Les professionnels en cache portent les chemins de leurs documents
+            lookupCache.invalidate(professional);
+            // Compte en attente : ses documents sont revérifiés une fois le chemin validé
+            if (professional.getAccountStatus() == AccountStatus.PENDING_VERIFICATION) {
+                eventPublisher.publishEvent(new VerificationRequested(professionalId));
+            }
+        });
+        return document;
+    }
+
+    public StoredDocument attachInsuranceDocument(Long insuranceId, Insurance.DocumentType type,
+            Upload content) {
+        if (!insuranceRepository.existsById(insuranceId)) {
+            throw new InsuranceNotFoundException(insuranceId);
+        }
+        StoredDocument document = storage.store(content);
+        transactionTemplate.executeWithoutResult(status -> insuranceRepository.findById(insuranceId)
+                .orElseThrow(() -> new InsuranceNotFoundException(insuranceId))
+                .setDocumentPath(type, document.path()));
+        return document;
+    }
+
+    public StoredDocument attachInvoiceDocument(Long invoiceId, Upload content) {
+        if (!invoiceRepository.existsById(invoiceId)) {
+            throw new InvoiceNotFoundException(invoiceId);
+        }
+        StoredDocument document = storage.store(content);
+        transactionTemplate.executeWithoutResult(status -> {
+            Invoice invoice = invoiceRepository.findById(invoiceId)
+                    .orElseThrow(() -> new InvoiceNotFoundException(invoiceId));
+            invoice.setInvoiceDocumentPath(document.path());
+        });
+        return document;
+    }
+}
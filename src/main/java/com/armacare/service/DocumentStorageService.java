@@ -0,0 +1,202 @@
+package com.armacare.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.armacare.dto.StoredDocument;
+
+// Stockage local des documents par contenu : chaque fichier est rangé sous son empreinte SHA-256
+// (ab/cd/abcd…), si bien que deux envois identiques ne sont stockés qu'une fois et qu'un document
+// stocké n'est jamais modifié. Le contenu est copié par blocs dans un fichier temporaire du même
+// volume (FileChannel.transferFrom) pendant le calcul de l'empreinte, puis renommé à sa place :
+// le fichier n'est jamais entièrement en mémoire et un lecteur ne voit jamais de fichier incomplet.
+// Un envoi déjà sur disque (partie multipart écrite par le conteneur dans incoming/) est déplacé dans le
+// fichier temporaire au lieu d'y être recopié (Upload) : l'empreinte est alors calculée en relisant le fichier.
+@Service
+public class DocumentStorageService {
+
+    // Contenu reçu, que l'appelant écrit ou déplace dans le fichier temporaire désigné par le stockage
+    @FunctionalInterface
+    public interface Upload {
+        void transferTo(Path target) throws IOException;
+
+        static Upload of(InputStream content) {
+            return target -> Files.copy(content, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}");
+
+    // Taille des blocs copiés du flux reçu vers le fichier temporaire
+    private static final long TRANSFER_CHUNK = 1 << 20;
+
+    private final Path root;
+    private final Path incoming;
+
+    public DocumentStorageService(@Value("${armacare.documents.root:./data/documents}") Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        this.incoming = this.root.resolve("incoming");
+    }
+
+    public StoredDocument store(InputStream content) {
+        return receive(temporary -> {
+            MessageDigest sha256 = sha256();
+            long size = copy(new DigestInputStream(content, sha256), temporary);
+            return install(temporary, sha256, size);
+        });
+    }
+
+    public StoredDocument store(Upload upload) {
+        return receive(temporary -> {
+            upload.transferTo(temporary);
+            MessageDigest sha256 = sha256();
+            long size = digest(temporary, sha256);
+            return install(temporary, sha256, size);
+        });
+    }
+
+    // Répertoire des fichiers en cours de réception, sur le même volume que les documents stockés
+    public Path incomingDirectory() {
+        return incoming;
+    }
+
+    private interface Reception {
+        StoredDocument receive(Path temporary) throws IOException;
+    }
+
+    private StoredDocument receive(Reception reception) {
+        try {
+            Files.createDirectories(incoming);
+            Path temporary = Files.createTempFile(incoming, "upload-", ".part");
+            try {
+                return reception.receive(temporary);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Enregistrement du document impossible", e);
+        }
+    }
+
+    // Renomme le fichier reçu sous son empreinte, sauf si ce contenu est déjà stocké
+    private StoredDocument install(Path temporary, MessageDigest sha256, long size) throws IOException {
+        String hash = HexFormat.of().formatHex(sha256.digest());
+        String key = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+        Path target = root.resolve(key);
+        if (Files.exists(target)) {
+            return new StoredDocument(key, hash, size, true);
+        }
+        Files.createDirectories(target.getParent());
+        // Deux envois simultanés du même contenu : le second renommage remplace un fichier identique
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        return new StoredDocument(key, hash, size, false);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Relecture d'un fichier déposé par l'appelant, forcé sur disque avant le renommage
+    private static long digest(Path file, MessageDigest sha256) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            long size = 0;
+            int read;
+            while ((read = channel.read(buffer)) >= 0) {
+                buffer.flip();
+                sha256.update(buffer);
+                buffer.clear();
+                size += read;
+            }
+            channel.force(false);
+            return size;
+        }
+    }
+
+    private static long copy(InputStream content, Path temporary) throws IOException {
+        try (ReadableByteChannel source = Channels.newChannel(content);
+                FileChannel target = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = target.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                position += transferred;
+            }
+            // Contenu sur disque avant le renommage : une clé enregistrée en base désigne un fichier complet
+            target.force(false);
+            return position;
+        }
+    }
+
+    // Fichier d'une clé renvoyée par store ; une clé mal formée ne peut pas sortir du répertoire racine
+    public Path resolve(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Clé de document invalide : " + key);
+        }
+        return root.resolve(key);
+    }
+
+    // Fichier stocké sous cette clé ; vide pour un chemin enregistré avant le stockage par contenu
+    // (hors du stockage, jamais servi) ou un fichier absent
+    public Optional<Path> find(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        Path file = root.resolve(key);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    // Le stockage ne garde pas le type : il est reconnu aux premiers octets (scans PDF et images),
+    // application/octet-stream pour tout autre contenu
+    public static String detectContentType(Path file) throws IOException {
+        byte[] head = new byte[8];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(head, 0, head.length);
+        }
+        if (startsWith(head, read, '%', 'P', 'D', 'F')) {
+            return MediaType.APPLICATION_PDF_VALUE;
+        }
+        if (startsWith(head, read, 0x89, 'P', 'N', 'G')) {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (startsWith(head, read, 0xFF, 0xD8, 0xFF)) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    private static boolean startsWith(byte[] head, int read, int... signature) {
+        if (read < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((head[i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
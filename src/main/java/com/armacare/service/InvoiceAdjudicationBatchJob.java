@@ -0,0 +1,244 @@
+package com.armacare.service;
+
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.armacare.dao.BatchCheckpointRepository;
+import com.armacare.dao.InvoiceRepository;
+import com.armacare.dto.AdjudicationResult;
+import com.armacare.dto.BatchRunReport;
+import com.armacare.dto.InvoiceClaim;
+import com.armacare.exception.BatchAlreadyRunningException;
+import com.armacare.model.BatchCheckpoint;
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.armacare.service.InvoiceDailySummaryService.Deltas;
+import com.armacare.service.InvoiceDailySummaryService.InvoiceFact;
+
+import jakarta.annotation.PreDestroy;
+
+// Liquidation par lots des factures en attente.
+// Les factures sont lues par pages de clés (id croissant), liquidées en parallèle sur un pool borné,
+// puis écrites par UPDATE JDBC groupés. Le point de reprise avance dans la même transaction que
+// l'écriture de chaque page : après un arrêt brutal, l'exécution suivante reprend juste après la
+// dernière page validée. Une exécution terminée remet le point de reprise à zéro, ce qui rattrape
+// les factures insérées entre-temps avec un id inférieur (plages d'identifiants par nœud).
+// Les cumuls quotidiens suivent dans la même transaction : état des factures de la page verrouillé
+// avant l'UPDATE, relu après, et l'écart est appliqué à invoice_daily_summary.
+@Service
+public class InvoiceAdjudicationBatchJob {
+
+    public static final String JOB_NAME = "invoice-adjudication";
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceAdjudicationBatchJob.class);
+
+    // Le statut est revérifié à l'écriture : une facture traitée entre-temps n'est pas écrasée.
+    // Sans contrat en vigueur, la facture garde le contrat qu'elle portait.
+    private static final String UPDATE_SQL = "update invoices set status = ?, reimbursable_amount = ?,"
+            + " contract_id = coalesce(?, contract_id)"
+            + " where id = ? and status = '" + InvoiceStatus.EN_ATTENTE.name() + "'";
+
+    private final InvoiceRepository invoiceRepository;
+    private final BatchCheckpointRepository checkpointRepository;
+    private final ClaimAdjudicationService adjudicationService;
+    private final InvoiceDailySummaryService summaryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public InvoiceAdjudicationBatchJob(InvoiceRepository invoiceRepository,
+            BatchCheckpointRepository checkpointRepository,
+            ClaimAdjudicationService adjudicationService,
+            InvoiceDailySummaryService summaryService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${armacare.batch.adjudication.chunk-size:500}") int chunkSize,
+            @Value("${armacare.batch.adjudication.workers:4}") int workerCount) {
+        this.invoiceRepository = invoiceRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.adjudicationService = adjudicationService;
+        this.summaryService = summaryService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        int poolSize = Math.max(1, workerCount);
+        // File bornée à une page : au-delà, le thread du traitement liquide lui-même (contre-pression)
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.chunkSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "adjudication-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Scheduled(cron = "${armacare.batch.adjudication.cron:0 0 2 * * *}")
+    public void runScheduled() {
+        try {
+            BatchRunReport report = run();
+            log.info("Liquidation par lots terminée : {}", report);
+        } catch (BatchAlreadyRunningException e) {
+            log.info(e.getMessage());
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    // Une seule exécution à la fois par instance
+    public BatchRunReport run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BatchAlreadyRunningException(JOB_NAME);
+        }
+        try {
+            return runChunks();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private BatchRunReport runChunks() {
+        long start = System.nanoTime();
+        BatchCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> new BatchCheckpoint(JOB_NAME));
+        long resumedFromId = checkpoint.getLastProcessedId();
+        long lastId = resumedFromId;
+        long read = 0;
+        long reimbursed = 0;
+        long partiallyReimbursed = 0;
+        long rejected = 0;
+        long failed = 0;
+        long skipped = 0;
+
+        List<InvoiceClaim> claims = invoiceRepository.findPendingClaims(lastId, Limit.of(chunkSize));
+        while (!claims.isEmpty()) {
+            read += claims.size();
+            List<AdjudicationResult> adjudicated = adjudicateAll(claims);
+            failed += claims.size() - adjudicated.size();
+            lastId = claims.get(claims.size() - 1).getInvoiceId();
+            // Décision suspendue (type de soin non renseigné) : la facture reste en attente, rien à écrire
+            List<AdjudicationResult> results = adjudicated.stream()
+                    .filter(result -> result.getStatus() != InvoiceStatus.EN_ATTENTE)
+                    .toList();
+            skipped += adjudicated.size() - results.size();
+
+            // Une facture modifiée entre la lecture et l'écriture (garde sur le statut) n'est comptée qu'écartée
+            List<AdjudicationResult> written = writeChunk(results, checkpoint, lastId);
+            skipped += results.size() - written.size();
+            for (AdjudicationResult result : written) {
+                switch (result.getStatus()) {
+                    case REMBOURSEE -> reimbursed++;
+                    case PARTIELLEMENT_REMBOURSEE -> partiallyReimbursed++;
+                    default -> rejected++;
+                }
+            }
+            claims = invoiceRepository.findPendingClaims(lastId, Limit.of(chunkSize));
+        }
+
+        // Exécution complète : la prochaine repartira du début
+        transactionTemplate.executeWithoutResult(status -> saveCheckpoint(checkpoint, 0));
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        return new BatchRunReport(resumedFromId, read, reimbursed, partiallyReimbursed,
+                rejected, failed, skipped, durationMillis);
+    }
+
+    // Liquidation parallèle d'une page ; une facture en erreur reste en attente
+    // et sera reprise par l'exécution suivante
+    private List<AdjudicationResult> adjudicateAll(List<InvoiceClaim> claims) {
+        List<Future<AdjudicationResult>> futures = new ArrayList<>(claims.size());
+        for (InvoiceClaim claim : claims) {
+            futures.add(workers.submit(() -> adjudicationService.adjudicate(claim)));
+        }
+        List<AdjudicationResult> results = new ArrayList<>(claims.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                log.warn("Liquidation impossible pour la facture {}", claims.get(i).getInvoiceId(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Liquidation par lots interrompue", e);
+            }
+        }
+        return results;
+    }
+
+    // Écriture groupée de la page et avancée du point de reprise, dans une seule transaction.
+    // Renvoie les décisions réellement écrites, dans l'ordre de la page.
+    private List<AdjudicationResult> writeChunk(List<AdjudicationResult> results, BatchCheckpoint checkpoint,
+            long lastId) {
+        List<Long> invoiceIds = results.stream().map(AdjudicationResult::getInvoiceId).toList();
+        List<AdjudicationResult> written = transactionTemplate.execute(status -> {
+            Map<Long, InvoiceFact> before = summaryService.lockFacts(invoiceIds);
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, results, Math.max(1, results.size()), (statement, result) -> {
+                statement.setString(1, result.getStatus().name());
+                statement.setDouble(2, result.getReimbursableAmount());
+                if (result.getContractId() != null) {
+                    statement.setLong(3, result.getContractId());
+                } else {
+                    statement.setNull(3, Types.BIGINT);
+                }
+                statement.setLong(4, result.getInvoiceId());
+            });
+            // Les factures écartées par la garde sur le statut sont inchangées : écart nul
+            Map<Long, InvoiceFact> after = summaryService.readFacts(invoiceIds);
+            Deltas deltas = new Deltas();
+            for (Long invoiceId : invoiceIds) {
+                deltas.change(before.get(invoiceId), after.get(invoiceId));
+            }
+            summaryService.apply(deltas);
+            saveCheckpoint(checkpoint, lastId);
+            // Lots dans l'ordre de la page : le n-ième compte est celui de la n-ième décision
+            List<AdjudicationResult> updated = new ArrayList<>(results.size());
+            int index = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    // Certains pilotes ne renvoient pas le nombre exact de lignes d'un lot (SUCCESS_NO_INFO) :
+                    // la ligne est alors tenue pour écrite
+                    if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                        updated.add(results.get(index));
+                    }
+                    index++;
+                }
+            }
+            return updated;
+        });
+        return written != null ? written : List.of();
+    }
+
+    private void saveCheckpoint(BatchCheckpoint checkpoint, long lastId) {
+        checkpoint.setLastProcessedId(lastId);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
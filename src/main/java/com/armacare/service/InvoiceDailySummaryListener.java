@@ -0,0 +1,137 @@
+package com.armacare.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Invoice;
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.armacare.model.Professional;
+import com.armacare.service.InvoiceDailySummaryService.ContractDeltas;
+import com.armacare.service.InvoiceDailySummaryService.ContractFact;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+// Reporte dans les cumuls quotidiens les factures insérées, modifiées ou supprimées par Hibernate.
+// Les écarts sont accumulés par session pendant la transaction, puis appliqués une seule fois par ligne
+// de cumul juste avant la validation, après le dernier flush et sur la même connexion : les lignes de
+// cumul, très partagées, ne restent verrouillées que le temps de la validation.
+@Component
+public class InvoiceDailySummaryListener
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceDailySummaryListener.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final InvoiceDailySummaryService summaryService;
+    private final Map<SharedSessionContractImplementor, ContractDeltas> pending = new ConcurrentHashMap<>();
+
+    public InvoiceDailySummaryListener(EntityManagerFactory entityManagerFactory,
+            InvoiceDailySummaryService summaryService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.summaryService = summaryService;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Invoice) {
+            deltas(event.getSession()).add(fact(event.getPersister(), event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Invoice)) {
+            return;
+        }
+        // Entité rattachée sans état chargé (update d'une entité détachée) : état précédent inconnu
+        if (event.getOldState() == null) {
+            log.warn("Cumul quotidien non mis à jour pour la facture {} : état précédent inconnu", event.getId());
+            return;
+        }
+        deltas(event.getSession()).change(fact(event.getPersister(), event.getOldState()),
+                fact(event.getPersister(), event.getState()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Invoice) {
+            deltas(event.getSession()).remove(fact(event.getPersister(), event.getDeletedState()));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // Écarts de la transaction en cours ; la première écriture de facture inscrit leur application
+    // avant la validation, et leur abandon après la fin de la transaction (validée ou annulée)
+    private ContractDeltas deltas(EventSource session) {
+        ContractDeltas deltas = pending.get(session);
+        if (deltas == null) {
+            deltas = new ContractDeltas();
+            pending.put(session, deltas);
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::applyPending);
+            session.getActionQueue().registerProcess(
+                    (AfterTransactionCompletionProcess) (success, completed) -> pending.remove(completed));
+        }
+        return deltas;
+    }
+
+    private void applyPending(SharedSessionContractImplementor session) {
+        ContractDeltas deltas = pending.remove(session);
+        if (deltas != null) {
+            session.doWork(connection -> summaryService.apply(connection, deltas));
+        }
+    }
+
+    private static ContractFact fact(EntityPersister persister, Object[] state) {
+        return ContractFact.of(
+                id((InsuranceContract) state[persister.getPropertyIndex("contract")], InsuranceContract::getId),
+                id((Professional) state[persister.getPropertyIndex("professional")], Professional::getId),
+                (LocalDate) state[persister.getPropertyIndex("invoiceDate")],
+                (InvoiceStatus) state[persister.getPropertyIndex("status")],
+                (Double) state[persister.getPropertyIndex("totalAmount")],
+                (Double) state[persister.getPropertyIndex("reimbursableAmount")]);
+    }
+
+    // Identifiant d'une association, lu dans le proxy sans l'initialiser (pas de SELECT pendant le flush)
+    private static <T> Long id(T association, Function<T, Long> getId) {
+        if (association instanceof HibernateProxy proxy) {
+            return (Long) proxy.getHibernateLazyInitializer().getIdentifier();
+        }
+        return association != null ? getId.apply(association) : null;
+    }
+}
@@ -0,0 +1,147 @@
+package com.armacare.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.armacare.dao.BatchCheckpointRepository;
+import com.armacare.dto.SummaryRebuildReport;
+import com.armacare.exception.BatchAlreadyRunningException;
+import com.armacare.model.BatchCheckpoint;
+
+// Reconstruction des cumuls quotidiens à partir des factures : reprise de l'historique au déploiement,
+// ou correction après une écriture faite hors de l'application. Un mois par transaction : ses cumuls
+// sont supprimés puis recalculés par un seul INSERT ... SELECT ... GROUP BY exécuté par la base.
+// À lancer quand les factures de la période ne sont pas en cours de modification.
+// Les rapports ne lisent que les cumuls : tant qu'aucune reconstruction complète n'a été enregistrée
+// (point de reprise JOB_NAME), elle est lancée au démarrage. Jusqu'à sa fin, les rapports du premier
+// démarrage après le déploiement sont incomplets.
+@Service
+public class InvoiceDailySummaryRebuildJob {
+
+    public static final String JOB_NAME = "invoice-daily-summary-rebuild";
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceDailySummaryRebuildJob.class);
+
+    private static final String DELETE_SQL = "delete from invoice_daily_summary"
+            + " where summary_date >= ? and summary_date < ?";
+
+    private static final String REBUILD_SQL = "insert into invoice_daily_summary"
+            + " (insurance_id, professional_id, summary_date, status, invoice_count, total_amount, reimbursable_amount)"
+            + " select c.insurance_id, i.professional_id, i.invoice_date, i.status,"
+            + " count(*), sum(i.total_amount), sum(i.reimbursable_amount)"
+            + " from invoices i join insurance_contracts c on c.id = i.contract_id"
+            + " where i.invoice_date >= ? and i.invoice_date < ?"
+            + " group by c.insurance_id, i.professional_id, i.invoice_date, i.status";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BatchCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean backfillOnStartup;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public InvoiceDailySummaryRebuildJob(JdbcTemplate jdbcTemplate,
+            BatchCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${armacare.summary.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            backfillIfNeeded();
+        } catch (RuntimeException e) {
+            // Autre instance en cours de reconstruction, par exemple : à relancer par POST /daily-summary-rebuilds
+            log.error("Reprise des cumuls quotidiens impossible au démarrage", e);
+        }
+    }
+
+    // Reconstruction complète si aucune n'a encore été enregistrée ; false si rien n'était à faire
+    public boolean backfillIfNeeded() {
+        if (checkpointRepository.existsById(JOB_NAME)) {
+            return false;
+        }
+        log.info("Aucune reconstruction complète des cumuls quotidiens enregistrée : reprise de l'historique");
+        rebuild(null, null);
+        return true;
+    }
+
+    // Période [from, to) ; sans bornes, de la première à la dernière facture
+    public SummaryRebuildReport rebuild(LocalDate from, LocalDate to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("La date de début doit précéder la date de fin (exclue)");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new BatchAlreadyRunningException(JOB_NAME);
+        }
+        try {
+            SummaryRebuildReport report = rebuildMonths(from, to);
+            if (from == null && to == null) {
+                recordFullRebuild();
+            }
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private SummaryRebuildReport rebuildMonths(LocalDate from, LocalDate to) {
+        long start = System.nanoTime();
+        if (from == null) {
+            from = jdbcTemplate.queryForObject("select min(invoice_date) from invoices", LocalDate.class);
+        }
+        if (to == null) {
+            LocalDate last = jdbcTemplate.queryForObject("select max(invoice_date) from invoices", LocalDate.class);
+            to = last != null ? last.plusDays(1) : null;
+        }
+        int months = 0;
+        long rows = 0;
+        if (from != null && to != null) {
+            LocalDate monthStart = from;
+            while (monthStart.isBefore(to)) {
+                LocalDate nextMonth = monthStart.withDayOfMonth(1).plusMonths(1);
+                LocalDate monthEnd = nextMonth.isBefore(to) ? nextMonth : to;
+                rows += rebuildPeriod(monthStart, monthEnd);
+                months++;
+                monthStart = monthEnd;
+            }
+        }
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        SummaryRebuildReport report = new SummaryRebuildReport(from, to, months, rows, durationMillis);
+        log.info("Cumuls quotidiens reconstruits : {}", report);
+        return report;
+    }
+
+    private void recordFullRebuild() {
+        BatchCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> new BatchCheckpoint(JOB_NAME));
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+    }
+
+    private int rebuildPeriod(LocalDate from, LocalDate to) {
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.update(DELETE_SQL, Date.valueOf(from), Date.valueOf(to));
+            return jdbcTemplate.update(REBUILD_SQL, Date.valueOf(from), Date.valueOf(to));
+        });
+        return rows != null ? rows : 0;
+    }
+}
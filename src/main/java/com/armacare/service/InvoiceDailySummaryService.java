@@ -0,0 +1,284 @@
+package com.armacare.service;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.armacare.model.InvoiceDailySummary;
+
+// Tenue à jour incrémentale des cumuls quotidiens (invoice_daily_summary).
+// Chaque écriture de facture se traduit par des écarts (+1 facture et ses montants sur la ligne de son
+// état après, -1 sur celle de son état avant), regroupés par ligne puis appliqués dans la transaction
+// qui a modifié les factures : le cumul et les factures sont validés ou annulés ensemble.
+// Les factures écrites par l'ORM passent par InvoiceDailySummaryListener, qui ne relève que les identifiants
+// du contrat et du professionnel (associations LAZY) : l'assureur est lu en SQL au moment d'appliquer les écarts.
+// L'écriture JDBC de la liquidation par lots lit l'état des factures avant et après sa mise à jour.
+@Service
+public class InvoiceDailySummaryService {
+
+    private static final String INCREMENT_SQL = "update invoice_daily_summary"
+            + " set invoice_count = invoice_count + ?, total_amount = total_amount + ?,"
+            + " reimbursable_amount = reimbursable_amount + ?"
+            + " where insurance_id = ? and professional_id = ? and summary_date = ? and status = ?";
+
+    private static final String INSERT_SQL = "insert into invoice_daily_summary"
+            + " (invoice_count, total_amount, reimbursable_amount, insurance_id, professional_id, summary_date, status)"
+            + " values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSURERS_SQL = "select id, insurance_id from insurance_contracts where id in (";
+
+    private static final String FACTS_SQL = "select i.id, c.insurance_id, i.professional_id, i.invoice_date,"
+            + " i.status, i.total_amount, i.reimbursable_amount"
+            + " from invoices i join insurance_contracts c on c.id = i.contract_id where i.id in (";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InvoiceDailySummaryService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Applique les écarts dans la transaction en cours (écritures JDBC)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Deltas deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            apply(connection, deltas);
+            return null;
+        });
+    }
+
+    // Une ligne par clé, dans l'ordre des clés : deux transactions qui touchent les mêmes lignes les
+    // verrouillent dans le même ordre. Ligne absente : insertion ; si une autre transaction vient de
+    // l'insérer, la clé primaire refuse la seconde et l'incrément est rejoué sur la ligne existante.
+    void apply(Connection connection, Deltas deltas) throws SQLException {
+        try (PreparedStatement increment = connection.prepareStatement(INCREMENT_SQL);
+                PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            for (Map.Entry<InvoiceDailySummary.Key, Delta> entry : deltas.deltas.entrySet()) {
+                Delta delta = entry.getValue();
+                if (delta.isZero()) {
+                    continue;
+                }
+                bind(increment, entry.getKey(), delta);
+                if (increment.executeUpdate() > 0) {
+                    continue;
+                }
+                bind(insert, entry.getKey(), delta);
+                try {
+                    insert.executeUpdate();
+                } catch (SQLIntegrityConstraintViolationException e) {
+                    increment.executeUpdate();
+                }
+            }
+        }
+    }
+
+    // Écarts relevés par contrat : l'assureur de chaque contrat est lu en une requête, puis les écarts sont
+    // appliqués comme ceux de la liquidation par lots
+    void apply(Connection connection, ContractDeltas deltas) throws SQLException {
+        Set<Long> contractIds = deltas.contractIds();
+        if (contractIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> insurers = new HashMap<>();
+        String sql = INSURERS_SQL + String.join(", ", Collections.nCopies(contractIds.size(), "?")) + ")";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (Long contractId : contractIds) {
+                statement.setLong(index++, contractId);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    long insuranceId = resultSet.getLong(2);
+                    if (!resultSet.wasNull()) {
+                        insurers.put(resultSet.getLong(1), insuranceId);
+                    }
+                }
+            }
+        }
+        Deltas resolved = deltas.resolve(insurers);
+        if (!resolved.isEmpty()) {
+            apply(connection, resolved);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, InvoiceDailySummary.Key key, Delta delta)
+            throws SQLException {
+        statement.setLong(1, delta.count);
+        statement.setDouble(2, delta.totalAmount);
+        statement.setDouble(3, delta.reimbursableAmount);
+        statement.setLong(4, key.getInsuranceId());
+        statement.setLong(5, key.getProfessionalId());
+        statement.setDate(6, Date.valueOf(key.getSummaryDate()));
+        statement.setString(7, key.getStatus().name());
+    }
+
+    // État des factures données, lignes verrouillées jusqu'à la fin de la transaction :
+    // aucune autre transaction ne peut les modifier entre cette lecture et l'écriture qui suit
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, InvoiceFact> lockFacts(Collection<Long> invoiceIds) {
+        return facts(invoiceIds, " for update");
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, InvoiceFact> readFacts(Collection<Long> invoiceIds) {
+        return facts(invoiceIds, "");
+    }
+
+    private Map<Long, InvoiceFact> facts(Collection<Long> invoiceIds, String lockClause) {
+        Map<Long, InvoiceFact> facts = new HashMap<>();
+        if (invoiceIds.isEmpty()) {
+            return facts;
+        }
+        String sql = FACTS_SQL + String.join(", ", Collections.nCopies(invoiceIds.size(), "?")) + ")"
+                + lockClause;
+        jdbcTemplate.query(sql, resultSet -> {
+            facts.put(resultSet.getLong(1), new InvoiceFact(
+                    new InvoiceDailySummary.Key(resultSet.getLong(2), resultSet.getLong(3),
+                            resultSet.getDate(4).toLocalDate(), InvoiceStatus.valueOf(resultSet.getString(5))),
+                    resultSet.getDouble(6), resultSet.getDouble(7)));
+        }, invoiceIds.toArray());
+        return facts;
+    }
+
+    // Ce qu'une facture apporte à son cumul : sa ligne et ses montants
+    public record InvoiceFact(InvoiceDailySummary.Key key, double totalAmount, double reimbursableAmount) {
+    }
+
+    // Même apport, relevé pendant le flush par l'identifiant du contrat au lieu de celui de l'assureur
+    public record ContractFact(Long contractId, Long professionalId, LocalDate invoiceDate, InvoiceStatus status,
+            double totalAmount, double reimbursableAmount) {
+
+        // Null pour une facture sans contrat, professionnel ou date : elle n'entre dans aucun cumul
+        public static ContractFact of(Long contractId, Long professionalId, LocalDate invoiceDate,
+                InvoiceStatus status, Double totalAmount, Double reimbursableAmount) {
+            if (contractId == null || professionalId == null || invoiceDate == null || status == null) {
+                return null;
+            }
+            return new ContractFact(contractId, professionalId, invoiceDate, status,
+                    totalAmount != null ? totalAmount : 0, reimbursableAmount != null ? reimbursableAmount : 0);
+        }
+
+        // Null si le contrat n'a plus d'assureur (ou n'existe plus)
+        private InvoiceFact withInsurer(Map<Long, Long> insurers) {
+            Long insuranceId = insurers.get(contractId);
+            return insuranceId != null
+                    ? new InvoiceFact(new InvoiceDailySummary.Key(insuranceId, professionalId, invoiceDate, status),
+                            totalAmount, reimbursableAmount)
+                    : null;
+        }
+    }
+
+    // Écarts d'une session par contrat, dans l'ordre des écritures ; regroupés par ligne de cumul une fois
+    // l'assureur de chaque contrat connu
+    public static class ContractDeltas {
+
+        private final List<ContractFact> added = new ArrayList<>();
+        private final List<ContractFact> removed = new ArrayList<>();
+
+        public void add(ContractFact fact) {
+            if (fact != null) {
+                added.add(fact);
+            }
+        }
+
+        public void remove(ContractFact fact) {
+            if (fact != null) {
+                removed.add(fact);
+            }
+        }
+
+        // Facture modifiée : rien à faire si ni sa ligne ni ses montants n'ont changé
+        public void change(ContractFact before, ContractFact after) {
+            if (before != null && before.equals(after)) {
+                return;
+            }
+            remove(before);
+            add(after);
+        }
+
+        private Set<Long> contractIds() {
+            Set<Long> contractIds = new TreeSet<>();
+            added.forEach(fact -> contractIds.add(fact.contractId()));
+            removed.forEach(fact -> contractIds.add(fact.contractId()));
+            return contractIds;
+        }
+
+        private Deltas resolve(Map<Long, Long> insurers) {
+            Deltas deltas = new Deltas();
+            added.forEach(fact -> deltas.add(fact.withInsurer(insurers)));
+            removed.forEach(fact -> deltas.remove(fact.withInsurer(insurers)));
+            return deltas;
+        }
+    }
+
+    // Écarts d'une transaction, regroupés par ligne de cumul
+    public static class Deltas {
+
+        private final SortedMap<InvoiceDailySummary.Key, Delta> deltas = new TreeMap<>();
+
+        public void add(InvoiceFact fact) {
+            record(fact, 1);
+        }
+
+        public void remove(InvoiceFact fact) {
+            record(fact, -1);
+        }
+
+        // Facture modifiée : rien à faire si ni sa ligne ni ses montants n'ont changé
+        public void change(InvoiceFact before, InvoiceFact after) {
+            if (before != null && before.equals(after)) {
+                return;
+            }
+            remove(before);
+            add(after);
+        }
+
+        public boolean isEmpty() {
+            return deltas.values().stream().allMatch(Delta::isZero);
+        }
+
+        private void record(InvoiceFact fact, int sign) {
+            if (fact == null) {
+                return;
+            }
+            Delta delta = deltas.computeIfAbsent(fact.key(), key -> new Delta());
+            delta.count += sign;
+            delta.totalAmount += sign * fact.totalAmount();
+            delta.reimbursableAmount += sign * fact.reimbursableAmount();
+        }
+    }
+
+    private static final class Delta {
+
+        private long count;
+        private double totalAmount;
+        private double reimbursableAmount;
+
+        private boolean isZero() {
+            return count == 0 && totalAmount == 0 && reimbursableAmount == 0;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.armacare.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.armacare.config.MetricsConfig;
+import com.armacare.dao.InvoiceDailySummaryRepository;
+import com.armacare.dao.InvoiceRepository;
+import com.armacare.dto.InvoiceSummary;
+import com.armacare.dto.InvoiceTotals;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Transactional(readOnly = true)
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class InvoiceService {
+
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceDailySummaryRepository summaryRepository;
+
+    public InvoiceService(InvoiceRepository invoiceRepository, InvoiceDailySummaryRepository summaryRepository) {
+        this.invoiceRepository = invoiceRepository;
+        this.summaryRepository = summaryRepository;
+    }
+
+    // Factures d'un patient, la plus récente en premier
+    public List<InvoiceSummary> findByPatient(Long patientId) {
+        return invoiceRepository.findSummariesByPatientId(patientId);
+    }
+
+    // Factures émises par un professionnel, la plus récente en premier
+    public List<InvoiceSummary> findByProfessional(Long professionalId) {
+        return invoiceRepository.findSummariesByProfessionalId(professionalId);
+    }
+
+    // Relevés d'un assureur sur la période [from, to) : chaque regroupement est une seule requête d'agrégation,
+    // sur les cumuls quotidiens (invoice_daily_summary) plutôt que sur les factures elles-mêmes
+    public List<InvoiceTotals> sumByMonth(Long insuranceId, LocalDate from, LocalDate to) {
+        checkPeriod(from, to);
+        return summaryRepository.sumByMonth(insuranceId, from, to);
+    }
+
+    public List<InvoiceTotals> sumByProfessional(Long insuranceId, LocalDate from, LocalDate to) {
+        checkPeriod(from, to);
+        return summaryRepository.sumByProfessional(insuranceId, from, to);
+    }
+
+    public List<InvoiceTotals> sumByStatus(Long insuranceId, LocalDate from, LocalDate to) {
+        checkPeriod(from, to);
+        return summaryRepository.sumByStatus(insuranceId, from, to);
+    }
+
+    // Relevé détaillé : par mois, professionnel et statut
+    public List<InvoiceTotals> statement(Long insuranceId, LocalDate from, LocalDate to) {
+        checkPeriod(from, to);
+        return summaryRepository.sumByMonthProfessionalAndStatus(insuranceId, from, to);
+    }
+
+    private static void checkPeriod(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("La date de début doit précéder la date de fin (exclue)");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.armacare.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.armacare.dto.PatientEligibility;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Réponses d'éligibilité récentes par (patient, type de soin, date), positives comme négatives.
+// Une réponse négative (patient inconnu, sans contrat ou soin non couvert) expire plus vite qu'une réponse
+// positive, pour qu'un contrat tout juste enregistré soit vu sans attendre.
+@Component
+public class PatientEligibilityCache implements MeterBinder {
+
+    private record Key(String nationalId, String coverageType, LocalDate date) {
+    }
+
+    private final Cache<Key, Optional<PatientEligibility>> answers;
+
+    public PatientEligibilityCache(
+            @Value("${armacare.cache.eligibility.maximum-size:10000}") long maximumSize,
+            @Value("${armacare.cache.eligibility.ttl:PT1M}") Duration ttl,
+            @Value("${armacare.cache.eligibility.negative-ttl:PT15S}") Duration negativeTtl) {
+        this.answers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Key, Optional<PatientEligibility>>() {
+                    @Override
+                    public long expireAfterCreate(Key key, Optional<PatientEligibility> answer, long currentTime) {
+                        boolean eligible = answer.map(PatientEligibility::eligible).orElse(false);
+                        return (eligible ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, Optional<PatientEligibility> answer, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(key, answer, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, Optional<PatientEligibility> answer, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    // Optional vide : patient inconnu (réponse mise en cache elle aussi)
+    public Optional<PatientEligibility> get(String nationalId, String coverageType, LocalDate date,
+            Supplier<Optional<PatientEligibility>> loader) {
+        // Le type de soin est comparé sans tenir compte de la casse, comme dans la requête
+        Key key = new Key(nationalId, coverageType.toLowerCase(Locale.ROOT), date);
+        return answers.get(key, k -> loader.get());
+    }
+
+    // Oublie les réponses d'un patient ; dans une transaction, après le commit (comme ProfessionalLookupCache)
+    public void invalidate(String nationalId) {
+        if (nationalId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(nationalId);
+                }
+            });
+        } else {
+            evict(nationalId);
+        }
+    }
+
+    private void evict(String nationalId) {
+        answers.asMap().keySet().removeIf(key -> key.nationalId().equals(nationalId));
+    }
+
+    public void invalidateAll() {
+        answers.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, answers, "patients.eligibility");
+    }
+}
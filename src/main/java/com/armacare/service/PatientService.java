@@ -0,0 +1,120 @@
+package com.armacare.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.armacare.config.MetricsConfig;
+import com.armacare.dao.PatientRepository;
+import com.armacare.dto.PatientCoverage;
+import com.armacare.dto.PatientDto;
+import com.armacare.dto.PatientEligibility;
+import com.armacare.exception.PatientNotFoundException;
+import com.armacare.model.Patient;
+
+import io.micrometer.core.annotation.Timed;
+
+// Patients, identifiés dans l'API par leur numéro d'identification national, et vérification d'éligibilité
+// au guichet : une seule requête indexée par réponse, gardée brièvement en cache (PatientEligibilityCache).
+@Service
+@Transactional(readOnly = true)
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class PatientService {
+
+    private final PatientRepository patientRepository;
+    private final PatientEligibilityCache eligibilityCache;
+
+    public PatientService(PatientRepository patientRepository, PatientEligibilityCache eligibilityCache) {
+        this.patientRepository = patientRepository;
+        this.eligibilityCache = eligibilityCache;
+    }
+
+    public Patient findByNationalId(String nationalId) {
+        return patientRepository.findByNationalId(nationalId)
+                .orElseThrow(() -> new PatientNotFoundException(nationalId));
+    }
+
+    @Transactional
+    public Patient createPatient(PatientDto patientDto) {
+        Patient patient = new Patient();
+        updatePatientFromDto(patient, patientDto);
+        Patient savedPatient = patientRepository.save(patient);
+        // Une réponse « patient inconnu » peut être en cache
+        eligibilityCache.invalidate(savedPatient.getNationalId());
+        return savedPatient;
+    }
+
+    @Transactional
+    public Patient updatePatient(String nationalId, PatientDto patientDto) {
+        Patient patient = findByNationalId(nationalId);
+        updatePatientFromDto(patient, patientDto);
+        Patient savedPatient = patientRepository.save(patient);
+        eligibilityCache.invalidate(nationalId);
+        eligibilityCache.invalidate(savedPatient.getNationalId());
+        return savedPatient;
+    }
+
+    // Désactivation : le patient et ses contrats restent en base pour l'historique des factures
+    @Transactional
+    public Patient deactivatePatient(String nationalId) {
+        Patient patient = findByNationalId(nationalId);
+        patient.setActive(false);
+        Patient savedPatient = patientRepository.save(patient);
+        eligibilityCache.invalidate(nationalId);
+        return savedPatient;
+    }
+
+    // Pas de transaction physique pour une requête unique : une réponse en cache n'emprunte aucune connexion
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public PatientEligibility checkEligibility(String nationalId, String coverageType, LocalDate date) {
+        LocalDate day = date != null ? date : LocalDate.now();
+        return eligibilityCache.get(nationalId, coverageType, day, () -> resolveEligibility(nationalId, coverageType, day))
+                .orElseThrow(() -> new PatientNotFoundException(nationalId));
+    }
+
+    private Optional<PatientEligibility> resolveEligibility(String nationalId, String coverageType, LocalDate date) {
+        List<PatientCoverage> rows = patientRepository.findCoverage(nationalId, coverageType,
+                java.sql.Date.valueOf(date), Limit.of(1));
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        PatientCoverage coverage = rows.get(0);
+        if (!coverage.patientActive()) {
+            return Optional.of(PatientEligibility.notEligible(nationalId, coverageType, date, null,
+                    "Patient désactivé"));
+        }
+        if (coverage.contractId() == null) {
+            return Optional.of(PatientEligibility.notEligible(nationalId, coverageType, date, null,
+                    "Aucun contrat actif à cette date"));
+        }
+        if (coverage.coverageId() == null) {
+            return Optional.of(PatientEligibility.notEligible(nationalId, coverageType, date, coverage,
+                    "Type de soin non couvert par le contrat"));
+        }
+        return Optional.of(PatientEligibility.eligible(nationalId, coverageType, date, coverage));
+    }
+
+    private void updatePatientFromDto(Patient patient, PatientDto dto) {
+        patient.setFirstName(dto.getFirstName());
+        patient.setLastName(dto.getLastName());
+        patient.setDateOfBirth(dto.getDateOfBirth());
+        patient.setGender(dto.getGender());
+        patient.setNationalId(dto.getNationalId());
+        patient.setAddress(dto.getAddress());
+        patient.setCity(dto.getCity());
+        patient.setPostalCode(dto.getPostalCode());
+        if (dto.getCountry() != null && !dto.getCountry().isEmpty()) {
+            patient.setCountry(dto.getCountry());
+        }
+        patient.setPhone(dto.getPhone());
+        patient.setEmail(dto.getEmail());
+        patient.setBloodGroup(dto.getBloodGroup());
+        patient.setAllergies(dto.getAllergies());
+        patient.setMedicalConditions(dto.getMedicalConditions());
+    }
+}
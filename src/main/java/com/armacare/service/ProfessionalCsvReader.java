@@ -0,0 +1,178 @@
+package com.armacare.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import com.armacare.dto.ProfessionalDto;
+import com.armacare.exception.InvalidImportRowException;
+import com.armacare.exception.ProfessionalImportException;
+import com.armacare.model.Professional.AccountStatus;
+
+// Lecture en flux d'un fichier CSV de professionnels, une ligne de données à la fois.
+// La première ligne nomme les colonnes avec les propriétés de ProfessionalDto (firstName, lastName, ...) ;
+// le séparateur (',' ou ';') est déduit de cette ligne. Les champs peuvent être entre guillemets (RFC 4180).
+// Une ligne au mauvais nombre de colonnes ou à la valeur invalide lève InvalidImportRowException : la lecture
+// peut continuer à la ligne suivante. Un guillemet jamais fermé rend le reste du fichier illisible.
+class ProfessionalCsvReader implements Iterator<ProfessionalDto> {
+
+    private final BufferedReader reader;
+    private final char separator;
+    private final List<String> columnNames = new ArrayList<>();
+    private final List<BiConsumer<ProfessionalDto, String>> columns = new ArrayList<>();
+    private long lineNumber;
+    private List<String> nextRecord;
+    private boolean exhausted;
+
+    ProfessionalCsvReader(Reader source) {
+        this.reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        String header = readLine();
+        if (header == null) {
+            throw new ProfessionalImportException("Fichier CSV vide : la ligne d'en-tête est obligatoire");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        this.separator = header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+        for (String column : parseRecord(header)) {
+            columnNames.add(column.trim());
+            columns.add(setterFor(column.trim()));
+        }
+    }
+
+    // L'enregistrement suivant n'est lu qu'à la demande : une erreur de format n'affecte pas le précédent
+    @Override
+    public boolean hasNext() {
+        if (nextRecord == null && !exhausted) {
+            nextRecord = readRecord();
+            exhausted = nextRecord == null;
+        }
+        return nextRecord != null;
+    }
+
+    @Override
+    public ProfessionalDto next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<String> record = nextRecord;
+        nextRecord = null;
+        long recordLine = lineNumber;
+        if (record.size() != columns.size()) {
+            throw new InvalidImportRowException("Ligne " + recordLine + " : " + record.size()
+                    + " colonnes au lieu de " + columns.size());
+        }
+        ProfessionalDto dto = new ProfessionalDto();
+        for (int i = 0; i < record.size(); i++) {
+            String value = record.get(i).trim();
+            if (!value.isEmpty()) {
+                try {
+                    columns.get(i).accept(dto, value);
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidImportRowException("Ligne " + recordLine + " : valeur invalide pour "
+                            + columnNames.get(i) + " '" + value + "'", e);
+                }
+            }
+        }
+        return dto;
+    }
+
+    private static BiConsumer<ProfessionalDto, String> setterFor(String column) {
+        return switch (column) {
+            case "firstName" -> ProfessionalDto::setFirstName;
+            case "lastName" -> ProfessionalDto::setLastName;
+            case "speciality" -> ProfessionalDto::setSpeciality;
+            case "registrationNumber" -> ProfessionalDto::setRegistrationNumber;
+            case "phone" -> ProfessionalDto::setPhone;
+            case "email" -> ProfessionalDto::setEmail;
+            case "address" -> ProfessionalDto::setAddress;
+            case "city" -> ProfessionalDto::setCity;
+            case "country" -> ProfessionalDto::setCountry;
+            case "identityDocumentPath" -> ProfessionalDto::setIdentityDocumentPath;
+            case "licensePath" -> ProfessionalDto::setLicensePath;
+            case "professionalInsurancePath" -> ProfessionalDto::setProfessionalInsurancePath;
+            case "diplomaPath" -> ProfessionalDto::setDiplomaPath;
+            case "bankAccountNumberPath" -> ProfessionalDto::setBankAccountNumberPath;
+            case "accountStatus" -> (dto, value) -> dto.setAccountStatus(AccountStatus.valueOf(value));
+            case "statusChangeReason" -> ProfessionalDto::setStatusChangeReason;
+            default -> throw new ProfessionalImportException("Colonne CSV inconnue : " + column);
+        };
+    }
+
+    // Lit un enregistrement complet ; un champ entre guillemets peut s'étendre sur plusieurs lignes.
+    // Les lignes vides sont ignorées.
+    private List<String> readRecord() {
+        String line = readLine();
+        while (line != null && line.isBlank()) {
+            line = readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        StringBuilder record = new StringBuilder(line);
+        while (hasOpenQuote(record)) {
+            String continuation = readLine();
+            if (continuation == null) {
+                throw new ProfessionalImportException("Ligne " + lineNumber + " : guillemet non fermé");
+            }
+            record.append('\n').append(continuation);
+        }
+        return parseRecord(record);
+    }
+
+    private static boolean hasOpenQuote(CharSequence record) {
+        boolean open = false;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                open = !open;
+            }
+        }
+        return open;
+    }
+
+    private List<String> parseRecord(CharSequence record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private String readLine() {
+        try {
+            String line = reader.readLine();
+            if (line != null) {
+                lineNumber++;
+            }
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.armacare.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.armacare.dao.ProfessionalRepository;
+import com.armacare.dto.ImportRowError;
+import com.armacare.dto.ProfessionalDto;
+import com.armacare.dto.ProfessionalImportReport;
+import com.armacare.exception.InvalidImportRowException;
+import com.armacare.exception.ProfessionalImportException;
+import com.armacare.model.Professional;
+import com.armacare.model.ProfessionalStatusHistory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Import en masse de professionnels : les lignes sont lues en flux, validées en parallèle par lots,
+// puis persistées lot par lot, chacun dans sa propre transaction.
+// Un lot en échec est rejoué ligne par ligne pour isoler les lignes fautives sans perdre les autres.
+// Une ligne illisible est rejetée seule ; seul un fichier illisible au-delà d'une ligne (JSON mal formé,
+// guillemet CSV non fermé) arrête la lecture, en gardant les lignes précédentes.
+@Service
+public class ProfessionalImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfessionalImportService.class);
+
+    // Fréquence des flush()/clear() dans un lot : aligné sur hibernate.jdbc.batch_size
+    private static final int FLUSH_INTERVAL = 50;
+
+    // Nombre maximal d'erreurs détaillées dans le rapport (les suivantes sont seulement comptées)
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ProfessionalService professionalService;
+    private final ProfessionalRepository professionalRepository;
+    private final ProfessionalLookupCache lookupCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public ProfessionalImportService(ProfessionalService professionalService,
+            ProfessionalRepository professionalRepository,
+            ProfessionalLookupCache lookupCache,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${armacare.import.chunk-size:500}") int chunkSize) {
+        this.professionalService = professionalService;
+        this.professionalRepository = professionalRepository;
+        this.lookupCache = lookupCache;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    // Tableau JSON de ProfessionalDto, lu élément par élément sans charger le tableau entier
+    public ProfessionalImportReport importJson(InputStream json) throws IOException {
+        try (MappingIterator<ProfessionalDto> rows = objectMapper.readerFor(ProfessionalDto.class)
+                .readValues(json)) {
+            return importRows(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    try {
+                        return rows.hasNextValue();
+                    } catch (IOException e) {
+                        throw unreadableJson(e);
+                    }
+                }
+
+                // Une valeur qui ne correspond pas à ProfessionalDto n'affecte que son élément :
+                // l'itérateur se resynchronise sur l'élément suivant
+                @Override
+                public ProfessionalDto next() {
+                    try {
+                        return rows.nextValue();
+                    } catch (DatabindException e) {
+                        throw new InvalidImportRowException(invalidJsonValue(e), e);
+                    } catch (IOException e) {
+                        throw unreadableJson(e);
+                    }
+                }
+            });
+        }
+    }
+
+    // Message du tokenizer, sans l'extrait du fichier que Jackson y ajoute
+    private static ProfessionalImportException unreadableJson(IOException e) {
+        String reason = e instanceof JsonProcessingException processing
+                ? processing.getOriginalMessage()
+                : "lecture interrompue";
+        return new ProfessionalImportException("JSON invalide : " + reason, e);
+    }
+
+    private static String invalidJsonValue(DatabindException e) {
+        String field = e instanceof JsonMappingException mapping
+                ? mapping.getPath().stream()
+                        .map(JsonMappingException.Reference::getFieldName)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.joining("."))
+                : "";
+        return field.isEmpty() ? "Élément JSON invalide" : "Valeur invalide pour " + field;
+    }
+
+    // Fichier CSV dont l'en-tête reprend les propriétés de ProfessionalDto
+    public ProfessionalImportReport importCsv(Reader csv) {
+        return importRows(new ProfessionalCsvReader(csv));
+    }
+
+    ProfessionalImportReport importRows(Iterator<ProfessionalDto> rows) {
+        long start = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        long rowNumber = 0;
+        try {
+            while (rows.hasNext()) {
+                ProfessionalDto dto;
+                try {
+                    dto = rows.next();
+                } catch (InvalidImportRowException e) {
+                    rowNumber++;
+                    progress.reject(new ImportRow(rowNumber, null), List.of(e.getMessage()));
+                    continue;
+                }
+                rowNumber++;
+                chunk.add(new ImportRow(rowNumber, dto));
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+        } catch (ProfessionalImportException e) {
+            // Fichier illisible à partir de cette ligne : les lignes précédentes sont conservées
+            progress.reject(new ImportRow(rowNumber + 1, null), List.of(e.getMessage()));
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, progress);
+        }
+        if (progress.imported > 0) {
+            lookupCache.invalidateAll();
+        }
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        return new ProfessionalImportReport(progress.imported + progress.failed, progress.imported,
+                progress.failed, progress.errors, progress.failed > progress.errors.size(), durationMillis);
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportProgress progress) {
+        // La validation Bean Validation est sans état : elle peut se faire en parallèle
+        List<List<String>> violations = chunk.parallelStream()
+                .map(row -> validator.validate(row.dto()).stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.toList()))
+                .collect(Collectors.toList());
+
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportRow row = chunk.get(i);
+            if (!violations.get(i).isEmpty()) {
+                progress.reject(row, violations.get(i));
+            } else if (!progress.registrationNumbers.add(row.dto().getRegistrationNumber())) {
+                progress.reject(row, List.of("Numéro d'enregistrement en double dans le fichier"));
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Une seule requête par lot pour écarter les numéros déjà enregistrés
+        Set<String> existing = new HashSet<>(professionalRepository.findExistingRegistrationNumbers(
+                candidates.stream().map(row -> row.dto().getRegistrationNumber()).toList()));
+        List<ImportRow> toPersist = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (existing.contains(row.dto().getRegistrationNumber())) {
+                progress.reject(row, List.of("Numéro d'enregistrement déjà utilisé"));
+            } else {
+                toPersist.add(row);
+            }
+        }
+        if (toPersist.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(toPersist));
+            progress.imported += toPersist.size();
+        } catch (RuntimeException e) {
+            // Conflit inattendu (insertion concurrente, contrainte en base) : on rejoue ligne par ligne
+            for (ImportRow row : toPersist) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(row)));
+                    progress.imported++;
+                } catch (RuntimeException rowFailure) {
+                    // Le détail (SQL, contrainte) reste dans les journaux du serveur
+                    log.warn("Import : enregistrement impossible pour la ligne {}", row.number(), rowFailure);
+                    progress.reject(row, List.of("Enregistrement impossible : conflit avec une donnée existante"
+                            + " ou erreur de la base de données"));
+                }
+            }
+        }
+    }
+
+    // Le contexte de persistance est vidé régulièrement pour que la mémoire ne dépende pas de la taille du lot
+    private void persist(List<ImportRow> rows) {
+        int pending = 0;
+        for (ImportRow row : rows) {
+            Professional professional = professionalService.newProfessionalFromDto(row.dto());
+            entityManager.persist(professional);
+            // Premier statut du compte dans l'historique, inséré par lots avec les professionnels
+            entityManager.persist(ProfessionalStatusHistory.transition(professional, null));
+            if (++pending == FLUSH_INTERVAL) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private record ImportRow(long number, ProfessionalDto dto) {
+    }
+
+    private static final class ImportProgress {
+        private final Set<String> registrationNumbers = new HashSet<>();
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        private void reject(ImportRow row, List<String> messages) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                String registrationNumber = row.dto() != null ? row.dto().getRegistrationNumber() : null;
+                errors.add(new ImportRowError(row.number(), registrationNumber, messages));
+            }
+        }
+    }
+}
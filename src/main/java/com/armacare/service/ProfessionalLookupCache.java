@@ -0,0 +1,130 @@
+package com.armacare.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.armacare.dto.ProfessionalView;
+import com.armacare.model.Professional;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Cache en lecture seule des professionnels par clé naturelle (email, téléphone, numéro d'enregistrement).
+// Borné en taille et en durée de vie ; seules les recherches fructueuses sont mises en cache.
+// Le cache garde des vues immuables (ProfessionalView), jamais les entités gérées d'une session.
+// Chaque invalidation avance une génération : une lecture commencée avant (qui a pu lire l'ancienne
+// version, par exemple avant le commit) n'installe pas son résultat.
+@Component
+public class ProfessionalLookupCache implements MeterBinder {
+
+    private final Cache<String, ProfessionalView> byEmail;
+    private final Cache<String, ProfessionalView> byPhone;
+    private final Cache<String, ProfessionalView> byRegistrationNumber;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProfessionalLookupCache(
+            @Value("${armacare.cache.professionals.maximum-size:10000}") long maximumSize,
+            @Value("${armacare.cache.professionals.ttl:PT10M}") Duration ttl) {
+        this.byEmail = newCache(maximumSize, ttl);
+        this.byPhone = newCache(maximumSize, ttl);
+        this.byRegistrationNumber = newCache(maximumSize, ttl);
+    }
+
+    private static Cache<String, ProfessionalView> newCache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<ProfessionalView> findByEmail(String email,
+            Function<String, Optional<ProfessionalView>> loader) {
+        return lookup(byEmail, email, loader);
+    }
+
+    public Optional<ProfessionalView> findByPhone(String phone,
+            Function<String, Optional<ProfessionalView>> loader) {
+        return lookup(byPhone, phone, loader);
+    }
+
+    public Optional<ProfessionalView> findByRegistrationNumber(String registrationNumber,
+            Function<String, Optional<ProfessionalView>> loader) {
+        return lookup(byRegistrationNumber, registrationNumber, loader);
+    }
+
+    private Optional<ProfessionalView> lookup(Cache<String, ProfessionalView> cache, String key,
+            Function<String, Optional<ProfessionalView>> loader) {
+        if (key == null) {
+            return loader.apply(null);
+        }
+        ProfessionalView cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long loadedAt = generation.get();
+        Optional<ProfessionalView> loaded = loader.apply(key);
+        // Installé sous le verrou de la clé, que l'invalidation prend aussi : pas d'entrelacement possible
+        loaded.ifPresent(view -> cache.asMap().compute(key,
+                (k, current) -> generation.get() == loadedAt ? view : current));
+        return loaded;
+    }
+
+    // Invalide les clés naturelles d'un professionnel, tout de suite puis, dans une transaction, à nouveau
+    // après le commit : une lecture concurrente de l'ancienne version ne reste pas en cache.
+    public void invalidate(Professional professional) {
+        invalidate(professional.getEmail(), professional.getPhone(), professional.getRegistrationNumber());
+    }
+
+    public void invalidate(String email, String phone, String registrationNumber) {
+        evict(email, phone, registrationNumber);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(email, phone, registrationNumber);
+                }
+            });
+        }
+    }
+
+    private void evict(String email, String phone, String registrationNumber) {
+        evict(byEmail, email);
+        evict(byPhone, phone);
+        evict(byRegistrationNumber, registrationNumber);
+    }
+
+    private void evict(Cache<String, ProfessionalView> cache, String key) {
+        if (key != null) {
+            cache.asMap().compute(key, (k, current) -> {
+                generation.incrementAndGet();
+                return null;
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        byEmail.invalidateAll();
+        byPhone.invalidateAll();
+        byRegistrationNumber.invalidateAll();
+    }
+
+    // Expose les compteurs hit/miss/eviction de chaque cache (cache.gets, cache.evictions, ...)
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byEmail, "professionals.byEmail");
+        CaffeineCacheMetrics.monitor(registry, byPhone, "professionals.byPhone");
+        CaffeineCacheMetrics.monitor(registry, byRegistrationNumber, "professionals.byRegistrationNumber");
+    }
+}
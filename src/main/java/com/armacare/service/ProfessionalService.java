@@ -1,23 +1,57 @@
 package com.armacare.service;
 
 import com.armacare.dao.ProfessionalRepository;
+import com.armacare.dao.ProfessionalStatusHistoryRepository;
+import com.armacare.dao.ProfessionalSpecifications;
 import com.armacare.model.Professional;
 import com.armacare.model.Professional.AccountStatus;
+import com.armacare.model.ProfessionalStatusHistory;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.armacare.exception.ProfessionalNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.armacare.dto.CursorPage;
 import com.armacare.dto.ProfessionalDto;
+import com.armacare.dto.ProfessionalSearchCriteria;
+import com.armacare.dto.ProfessionalView;
+import com.armacare.dto.StatusChange;
+import com.armacare.config.MetricsConfig;
+import com.armacare.service.ProfessionalVerificationService.VerificationRequested;
 
+import io.micrometer.core.annotation.Timed;
+
+// Lectures en transaction en lecture seule : Hibernate passe la session en lecture seule (pas de copie
+// des entités pour la détection des modifications) et en FlushMode.MANUAL. Le drapeau readOnly est aussi
+// celui qui permettra d'orienter ces transactions vers un réplica. Les écritures redéclarent @Transactional.
 @Service
+@Transactional(readOnly = true)
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ProfessionalService {
 
+    // Taille maximale d'une page, quelle que soit la taille demandée par le client
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final ProfessionalRepository professionalRepository;
+    private final ProfessionalStatusHistoryRepository statusHistoryRepository;
+    private final ProfessionalLookupCache lookupCache;
+    private final ApplicationEventPublisher eventPublisher;
     
-    public ProfessionalService(ProfessionalRepository professionalRepository) {
+    public ProfessionalService(ProfessionalRepository professionalRepository,
+            ProfessionalStatusHistoryRepository statusHistoryRepository,
+            ProfessionalLookupCache lookupCache, ApplicationEventPublisher eventPublisher) {
         this.professionalRepository = professionalRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.lookupCache = lookupCache;
+        this.eventPublisher = eventPublisher;
     }
     
     public Professional findById(Long id) {
@@ -25,11 +59,63 @@ public class ProfessionalService {
                 .orElseThrow(() -> new ProfessionalNotFoundException(id));
     }
     
-    public List<Professional> findAll() {
-        return professionalRepository.findAll();
+    // Page suivante après le curseur (null pour la première page)
+    public CursorPage<ProfessionalView> findPage(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long lastId = CursorPage.decodeCursor(cursor);
+        List<ProfessionalView> rows = professionalRepository.findViewPage(lastId, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, ProfessionalView::id);
+    }
+
+    // Recherche multicritère : une seule requête SQL combinant les filtres fournis, paginée par curseur
+    public CursorPage<ProfessionalView> search(ProfessionalSearchCriteria criteria, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long lastId = CursorPage.decodeCursor(cursor);
+        Specification<Professional> specification = Specification
+                .where(ProfessionalSpecifications.hasSpeciality(criteria.getSpeciality()))
+                .and(ProfessionalSpecifications.inCity(criteria.getCity()))
+                .and(ProfessionalSpecifications.hasAccountStatus(criteria.getStatus()))
+                .and(ProfessionalSpecifications.lastNameStartsWith(criteria.getName()))
+                .and(ProfessionalSpecifications.idGreaterThan(lastId));
+        List<ProfessionalView> rows = professionalRepository.findViews(specification, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, ProfessionalView::id);
+    }
+
+    // Chronologie des statuts du compte, du plus récent au plus ancien, paginée par curseur.
+    // L'existence du professionnel n'est vérifiée que si la première page est vide.
+    public CursorPage<StatusChange> findStatusHistory(Long professionalId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long lastId = CursorPage.decodeCursor(cursor);
+        List<StatusChange> rows = lastId == 0
+                ? statusHistoryRepository.findTimeline(professionalId, Limit.of(pageSize + 1))
+                : statusHistoryRepository.findTimelineAfter(professionalId, lastId, Limit.of(pageSize + 1));
+        if (rows.isEmpty() && lastId == 0 && !professionalRepository.existsById(professionalId)) {
+            throw new ProfessionalNotFoundException(professionalId);
+        }
+        return CursorPage.of(rows, pageSize, StatusChange::id);
+    }
+
+    // Transmet chaque professionnel au consommateur au fil de la lecture : les projections ne sont pas
+    // gérées par le contexte de persistance, la mémoire reste constante quelle que soit la taille de la table
+    public void streamAll(Consumer<ProfessionalView> consumer) {
+        try (Stream<ProfessionalView> professionals = professionalRepository.streamAllViews()) {
+            professionals.forEach(consumer);
+        }
     }
 
+    @Transactional
     public Professional createProfessional(ProfessionalDto professionalDto) {
+        Professional professional = newProfessionalFromDto(professionalDto);
+        Professional savedProfessional = professionalRepository.save(professional);
+        recordStatusChange(savedProfessional, null);
+        lookupCache.invalidate(savedProfessional);
+        requestVerification(savedProfessional);
+        return savedProfessional;
+    }
+
+    // Construit un nouveau professionnel (non persisté) avec les valeurs par défaut d'une inscription.
+    // Partagé avec l'import en masse pour que les deux chemins créent des comptes identiques.
+    Professional newProfessionalFromDto(ProfessionalDto professionalDto) {
         if (professionalDto.getAccountStatus() == null) {
             professionalDto.setAccountStatus(AccountStatus.PENDING_VERIFICATION);
         }
@@ -41,9 +127,10 @@ public class ProfessionalService {
         }
         Professional professional = new Professional();
         updateProfessionalFromDto(professional, professionalDto);
-        return professionalRepository.save(professional);
+        return professional;
     }
     
+    @Transactional
     public Professional updateProfessional(Long id, ProfessionalDto professionalDto) {
         if (professionalDto.getAccountStatus() == null) {
             professionalDto.setAccountStatus(AccountStatus.PENDING_VERIFICATION);
@@ -55,11 +142,31 @@ public class ProfessionalService {
             professionalDto.setStatusChangeReason("En attente de vérification des documents");
         }
         Professional professional = findById(id);
+        // Les anciennes clés naturelles doivent aussi sortir du cache si elles changent
+        String previousEmail = professional.getEmail();
+        String previousPhone = professional.getPhone();
+        String previousRegistrationNumber = professional.getRegistrationNumber();
+        AccountStatus previousStatus = professional.getAccountStatus();
         updateProfessionalFromDto(professional, professionalDto);
-        return professionalRepository.save(professional);
+        Professional savedProfessional = professionalRepository.save(professional);
+        if (savedProfessional.getAccountStatus() != previousStatus) {
+            recordStatusChange(savedProfessional, previousStatus);
+        }
+        lookupCache.invalidate(previousEmail, previousPhone, previousRegistrationNumber);
+        lookupCache.invalidate(savedProfessional);
+        requestVerification(savedProfessional);
+        return savedProfessional;
+    }
+
+    // Vérification des documents en arrière-plan, déposée après la validation de la transaction
+    private void requestVerification(Professional professional) {
+        if (professional.getAccountStatus() == AccountStatus.PENDING_VERIFICATION) {
+            eventPublisher.publishEvent(new VerificationRequested(professional.getId()));
+        }
     }
     
-    private void updateProfessionalFromDto(Professional professional, ProfessionalDto dto) {
+    // Visible dans le paquet pour les mesures de performance (module benchmarks)
+    void updateProfessionalFromDto(Professional professional, ProfessionalDto dto) {
         professional.setFirstName(dto.getFirstName());
         professional.setLastName(dto.getLastName());
         professional.setSpeciality(dto.getSpeciality());
@@ -83,51 +190,80 @@ public class ProfessionalService {
         }
     }
 
-    public Optional<Professional> findByEmail(String email) {
-        return professionalRepository.findByEmail(email);
+    // Recherches par clé naturelle, appelées à chaque soumission de facture : servies par le cache.
+    // Pas de transaction physique : une réponse en cache n'emprunte aucune connexion, seul le chargement
+    // d'une clé absente exécute sa requête
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Optional<ProfessionalView> findByEmail(String email) {
+        return lookupCache.findByEmail(email,
+                key -> professionalRepository.findByEmail(key).map(ProfessionalView::from));
     }
 
-    public Optional<Professional> findByPhone(String phone) {
-        return professionalRepository.findByPhone(phone);
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Optional<ProfessionalView> findByPhone(String phone) {
+        return lookupCache.findByPhone(phone,
+                key -> professionalRepository.findByPhone(key).map(ProfessionalView::from));
     }
 
-    public Optional<Professional> findByRegistrationNumber(String registrationNumber) {
-        return professionalRepository.findByRegistrationNumber(registrationNumber);
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Optional<ProfessionalView> findByRegistrationNumber(String registrationNumber) {
+        return lookupCache.findByRegistrationNumber(registrationNumber,
+                key -> professionalRepository.findByRegistrationNumber(key).map(ProfessionalView::from));
     }
     
-    public List<Professional> findBySpeciality(String speciality) {
-        return professionalRepository.findBySpeciality(speciality);
+    public List<ProfessionalView> findBySpeciality(String speciality) {
+        return professionalRepository.findViewsBySpeciality(speciality);
     }
     
-    public List<Professional> findByCity(String city) {
-        return professionalRepository.findByCity(city);
+    public List<ProfessionalView> findByCity(String city) {
+        return professionalRepository.findViewsByCity(city);
     }
     
-    public List<Professional> findByAccountStatus(AccountStatus status) {
-        return professionalRepository.findByAccountStatus(status);
+    public List<ProfessionalView> findByAccountStatus(AccountStatus status) {
+        return professionalRepository.findViewsByAccountStatus(status);
     }
     
+    @Transactional
     public void deleteProfessional(Long id) {
         Professional professional = findById(id);
+        AccountStatus previousStatus = professional.getAccountStatus();
         // Désactiver le professionnel au lieu de le supprimer complètement
         professional.setAccountStatus(AccountStatus.INACTIVE);
         professional.setStatusChangeReason("Suppression du compte");
         professional.setStatusChangeDate(LocalDateTime.now());
         professionalRepository.save(professional);
+        recordStatusChange(professional, previousStatus);
+        lookupCache.invalidate(professional);
     }
     
+    @Transactional
     public Professional activateAccount(Long id) {
         Professional professional = findById(id);
+        AccountStatus previousStatus = professional.getAccountStatus();
         updateAccountStatus(professional, AccountStatus.ACTIVE, "Compte activé");
-        return professionalRepository.save(professional);
+        Professional savedProfessional = professionalRepository.save(professional);
+        recordStatusChange(savedProfessional, previousStatus);
+        lookupCache.invalidate(savedProfessional);
+        return savedProfessional;
     }
     
+    @Transactional
     public Professional suspendAccount(Long id, String reason) {
         Professional professional = findById(id);
+        AccountStatus previousStatus = professional.getAccountStatus();
         updateAccountStatus(professional, AccountStatus.SUSPENDED, reason);
-        return professionalRepository.save(professional);
+        Professional savedProfessional = professionalRepository.save(professional);
+        recordStatusChange(savedProfessional, previousStatus);
+        lookupCache.invalidate(savedProfessional);
+        return savedProfessional;
     }
     
+    // Ligne d'historique du nouveau statut : un INSERT de plus au flush de la même transaction,
+    // la ligne du professionnel reste inchangée
+    private void recordStatusChange(Professional professional, AccountStatus previousStatus) {
+        statusHistoryRepository.save(ProfessionalStatusHistory.transition(professional, previousStatus));
+    }
+
     private void updateAccountStatus(Professional professional, AccountStatus status, String reason) {
         professional.setAccountStatus(status);
         professional.setStatusChangeReason(reason);
@@ -0,0 +1,274 @@
+package com.armacare.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.armacare.dao.ProfessionalRepository;
+import com.armacare.dao.ProfessionalStatusHistoryRepository;
+import com.armacare.model.Professional;
+import com.armacare.model.Professional.AccountStatus;
+import com.armacare.model.Professional.DocumentType;
+import com.armacare.model.ProfessionalStatusHistory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// Vérification en arrière-plan des documents des professionnels en attente (PENDING_VERIFICATION).
+// Une demande est déposée après la validation de la transaction qui crée le professionnel ou enregistre
+// l'un de ses documents : la requête HTTP n'attend pas la lecture des fichiers. Les demandes passent par
+// une file bornée traitée par un pool de taille fixe ; file pleine, le fil qui dépose la demande la traite
+// lui-même (contre-pression). Un même professionnel n'est en file qu'une fois.
+// Tous les documents sont requis : présents dans le stockage, lisibles, non vides, sous la taille maximale
+// et d'un type accepté (PDF, PNG, JPEG). Le compte est alors activé ; sinon il reste en attente et le motif
+// liste les documents à reprendre. Chaque étape est mesurée (armacare.verification.stage).
+// La file est en mémoire : les comptes en attente sont repris périodiquement (après un redémarrage,
+// ou pour ceux créés par l'import en masse, qui ne déposent pas de demande).
+@Service
+public class ProfessionalVerificationService {
+
+    public static final String VERIFIED_REASON = "Documents vérifiés";
+
+    static final String STAGE_TIMER = "armacare.verification.stage";
+    static final String OUTCOME_COUNTER = "armacare.verification.outcomes";
+
+    private static final Logger log = LoggerFactory.getLogger(ProfessionalVerificationService.class);
+
+    private static final Set<String> ACCEPTED_TYPES = Set.of(
+            MediaType.APPLICATION_PDF_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_JPEG_VALUE);
+
+    // Demande de vérification, publiée dans la transaction qui modifie le professionnel
+    public record VerificationRequested(Long professionalId) {
+    }
+
+    public enum Outcome {
+        VERIFIED, // Documents conformes, compte activé
+        INCOMPLETE, // Documents manquants ou non conformes, compte laissé en attente
+        SKIPPED, // Professionnel inconnu, plus en attente, ou documents remplacés pendant la vérification
+        FAILED // Erreur inattendue, reprise au prochain passage
+    }
+
+    private final ProfessionalRepository professionalRepository;
+    private final ProfessionalStatusHistoryRepository statusHistoryRepository;
+    private final DocumentStorageService storage;
+    private final ProfessionalLookupCache lookupCache;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final long maxDocumentSize;
+    private final ThreadPoolExecutor workers;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+
+    public ProfessionalVerificationService(ProfessionalRepository professionalRepository,
+            ProfessionalStatusHistoryRepository statusHistoryRepository,
+            DocumentStorageService storage,
+            ProfessionalLookupCache lookupCache,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${armacare.verification.workers:2}") int workerCount,
+            @Value("${armacare.verification.queue-capacity:1000}") int queueCapacity,
+            @Value("${armacare.verification.max-document-size:20MB}") DataSize maxDocumentSize) {
+        this.professionalRepository = professionalRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.storage = storage;
+        this.lookupCache = lookupCache;
+        // Les demandes déposées après validation (AFTER_COMMIT) s'exécutent encore dans la synchronisation
+        // de la transaction d'origine : les lectures et écritures ouvrent leur propre transaction
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate.setReadOnly(true);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxDocumentSize = maxDocumentSize.toBytes();
+        this.meterRegistry = meterRegistry;
+        int poolSize = Math.max(1, workerCount);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ArrayBlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, queue,
+                runnable -> {
+                    Thread thread = new Thread(runnable, "verification-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        Gauge.builder("armacare.verification.queue.size", queue, ArrayBlockingQueue::size)
+                .description("Vérifications de documents en attente d'un fil de traitement")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVerificationRequested(VerificationRequested event) {
+        request(event.professionalId());
+    }
+
+    // Reprise des comptes en attente ("-" pour désactiver la planification)
+    @Scheduled(cron = "${armacare.verification.sweep-cron:0 */30 * * * *}")
+    public void sweep() {
+        List<Long> pending = readTemplate.execute(
+                status -> professionalRepository.findIdsByAccountStatus(AccountStatus.PENDING_VERIFICATION));
+        int requested = 0;
+        for (Long professionalId : pending) {
+            if (request(professionalId)) {
+                requested++;
+            }
+        }
+        log.info("Reprise des vérifications de documents : {} professionnel(s) en attente, {} demande(s) déposée(s)",
+                pending.size(), requested);
+    }
+
+    // Dépose une demande ; false si le professionnel est déjà en file
+    public boolean request(Long professionalId) {
+        if (!queued.add(professionalId)) {
+            return false;
+        }
+        long enqueuedAt = System.nanoTime();
+        workers.execute(() -> {
+            // Retiré avant la vérification : un document envoyé pendant celle-ci redépose une demande
+            queued.remove(professionalId);
+            stageTimer("queue").record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            try {
+                verify(professionalId);
+            } catch (RuntimeException e) {
+                outcomeCounter(Outcome.FAILED).increment();
+                log.error("Vérification des documents du professionnel {} impossible", professionalId, e);
+            }
+        });
+        return true;
+    }
+
+    // Vérification immédiate, dans le fil appelant
+    public Outcome verify(Long professionalId) {
+        Optional<Map<DocumentType, String>> documents = stageTimer("load").record(() -> readTemplate.execute(
+                status -> professionalRepository.findById(professionalId)
+                        .filter(professional -> professional.getAccountStatus() == AccountStatus.PENDING_VERIFICATION)
+                        .map(ProfessionalVerificationService::documentPaths)));
+        if (documents.isEmpty()) {
+            return count(Outcome.SKIPPED);
+        }
+        List<String> problems = stageTimer("documents").record(() -> checkDocuments(documents.get()));
+        Outcome outcome = stageTimer("status").record(
+                () -> writeTemplate.execute(status -> recordResult(professionalId, documents.get(), problems)));
+        return count(outcome);
+    }
+
+    private List<String> checkDocuments(Map<DocumentType, String> documents) {
+        List<String> problems = new ArrayList<>();
+        documents.forEach((type, path) -> {
+            String problem = checkDocument(path);
+            if (problem != null) {
+                problems.add(type + " " + problem);
+            }
+        });
+        return problems;
+    }
+
+    // Motif du refus d'un document, null s'il est conforme
+    private String checkDocument(String path) {
+        if (path == null) {
+            return "manquant";
+        }
+        Optional<Path> file = storage.find(path);
+        if (file.isEmpty()) {
+            return "introuvable";
+        }
+        if (!Files.isReadable(file.get())) {
+            return "illisible";
+        }
+        try {
+            long size = Files.size(file.get());
+            if (size == 0) {
+                return "vide";
+            }
+            if (size > maxDocumentSize) {
+                return "trop volumineux (" + size + " octets)";
+            }
+            String contentType = DocumentStorageService.detectContentType(file.get());
+            return ACCEPTED_TYPES.contains(contentType) ? null : "de type non accepté (" + contentType + ")";
+        } catch (IOException e) {
+            return "illisible";
+        }
+    }
+
+    // Le résultat n'est appliqué que si le compte est toujours en attente avec les documents vérifiés
+    private Outcome recordResult(Long professionalId, Map<DocumentType, String> verified, List<String> problems) {
+        Professional professional = professionalRepository.findById(professionalId).orElse(null);
+        if (professional == null || professional.getAccountStatus() != AccountStatus.PENDING_VERIFICATION
+                || !documentPaths(professional).equals(verified)) {
+            return Outcome.SKIPPED;
+        }
+        AccountStatus status = problems.isEmpty() ? AccountStatus.ACTIVE : AccountStatus.PENDING_VERIFICATION;
+        String reason = problems.isEmpty() ? VERIFIED_REASON : "Documents à reprendre : " + String.join(", ", problems);
+        if (status != professional.getAccountStatus() || !Objects.equals(reason, professional.getStatusChangeReason())) {
+            professional.setAccountStatus(status);
+            professional.setStatusChangeReason(reason);
+            professional.setStatusChangeDate(LocalDateTime.now());
+            if (status != AccountStatus.PENDING_VERIFICATION) {
+                statusHistoryRepository.save(
+                        ProfessionalStatusHistory.transition(professional, AccountStatus.PENDING_VERIFICATION));
+            }
+            lookupCache.invalidate(professional);
+        }
+        return problems.isEmpty() ? Outcome.VERIFIED : Outcome.INCOMPLETE;
+    }
+
+    private static Map<DocumentType, String> documentPaths(Professional professional) {
+        Map<DocumentType, String> paths = new EnumMap<>(DocumentType.class);
+        for (DocumentType type : DocumentType.values()) {
+            paths.put(type, professional.getDocumentPath(type));
+        }
+        return paths;
+    }
+
+    private Outcome count(Outcome outcome) {
+        outcomeCounter(outcome).increment();
+        return outcome;
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Durée des étapes de la vérification des documents")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    private Counter outcomeCounter(Outcome outcome) {
+        return Counter.builder(OUTCOME_COUNTER)
+                .description("Vérifications de documents par résultat")
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
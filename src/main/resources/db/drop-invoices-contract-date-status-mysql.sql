@@ -0,0 +1,7 @@
+-- Suppression de l'index idx_invoices_contract_date_status, devenu inutile depuis que les rapports par assureur
+-- lisent les cumuls quotidiens (invoice_daily_summary). Hibernate (ddl-auto=update) ne supprime pas d'index.
+-- La clé étrangère vers insurance_contracts garde un index sur contract_id : MySQL refuse de supprimer
+-- le seul index qui la couvre.
+
+CREATE INDEX idx_invoices_contract ON invoices (contract_id);
+DROP INDEX idx_invoices_contract_date_status ON invoices;
@@ -0,0 +1,29 @@
+-- Initialisation des tables de séquence avant le premier démarrage avec les identifiants
+-- GenerationType.SEQUENCE (les tables *_seq émulent les séquences sous MySQL).
+-- À exécuter une fois sur une base existante : chaque séquence repart après le plus grand id
+-- déjà attribué par AUTO_INCREMENT, sinon les premières insertions entreraient en collision.
+-- Hibernate (ddl-auto=update) ne touche pas aux tables *_seq déjà présentes.
+
+CREATE TABLE IF NOT EXISTS professionals_seq (next_val BIGINT);
+INSERT INTO professionals_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM professionals WHERE NOT EXISTS (SELECT 1 FROM professionals_seq);
+
+CREATE TABLE IF NOT EXISTS patients_seq (next_val BIGINT);
+INSERT INTO patients_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM patients WHERE NOT EXISTS (SELECT 1 FROM patients_seq);
+
+CREATE TABLE IF NOT EXISTS insurances_seq (next_val BIGINT);
+INSERT INTO insurances_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM insurances WHERE NOT EXISTS (SELECT 1 FROM insurances_seq);
+
+CREATE TABLE IF NOT EXISTS insurance_contracts_seq (next_val BIGINT);
+INSERT INTO insurance_contracts_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM insurance_contracts WHERE NOT EXISTS (SELECT 1 FROM insurance_contracts_seq);
+
+CREATE TABLE IF NOT EXISTS coverages_seq (next_val BIGINT);
+INSERT INTO coverages_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM coverages WHERE NOT EXISTS (SELECT 1 FROM coverages_seq);
+
+CREATE TABLE IF NOT EXISTS invoices_seq (next_val BIGINT);
+INSERT INTO invoices_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM invoices WHERE NOT EXISTS (SELECT 1 FROM invoices_seq);
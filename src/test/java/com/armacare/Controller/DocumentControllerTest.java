@@ -0,0 +1,199 @@
+package com.armacare.Controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.armacare.controller.DocumentController;
+import com.armacare.dto.StoredDocument;
+import com.armacare.exception.InvoiceNotFoundException;
+import com.armacare.exception.ProfessionalNotFoundException;
+import com.armacare.model.Insurance;
+import com.armacare.model.Professional;
+import com.armacare.service.DocumentService;
+import com.armacare.service.DocumentStorageService.Upload;
+
+@WebMvcTest(DocumentController.class)
+public class DocumentControllerTest {
+
+    private static final String SHA256 = "ab".repeat(32);
+    private static final StoredDocument STORED = new StoredDocument("ab/ab/" + SHA256, SHA256, 7, false);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DocumentService documentService;
+
+    @TempDir
+    private Path storage;
+
+    private static MockMultipartFile pdf(String content) {
+        return new MockMultipartFile("file", "diplome.pdf", "application/pdf", content.getBytes());
+    }
+
+    @Test
+    void shouldAttachProfessionalDocument() throws Exception {
+        when(documentService.attachProfessionalDocument(eq(1L), eq(Professional.DocumentType.DIPLOMA),
+                any(Upload.class))).thenReturn(STORED);
+
+        mockMvc.perform(multipart("/api/professionals/1/documents/DIPLOMA").file(pdf("diplôme")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.path").value("ab/ab/" + SHA256))
+                .andExpect(jsonPath("$.sha256").value(SHA256))
+                .andExpect(jsonPath("$.deduplicated").value(false));
+    }
+
+    @Test
+    void shouldAttachInsuranceDocument() throws Exception {
+        when(documentService.attachInsuranceDocument(eq(3L), eq(Insurance.DocumentType.ARMA_CONTRACT),
+                any(Upload.class))).thenReturn(STORED);
+
+        mockMvc.perform(multipart("/api/insurances/3/documents/ARMA_CONTRACT").file(pdf("contrat")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(7));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownEntity() throws Exception {
+        when(documentService.attachProfessionalDocument(eq(99L), any(), any(Upload.class)))
+                .thenThrow(new ProfessionalNotFoundException(99L));
+        when(documentService.attachInvoiceDocument(eq(98L), any(Upload.class)))
+                .thenThrow(new InvoiceNotFoundException(98L));
+
+        mockMvc.perform(multipart("/api/professionals/99/documents/LICENSE").file(pdf("licence")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(multipart("/api/invoices/98/document").file(pdf("facture")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRejectEmptyFileAndUnknownType() throws Exception {
+        mockMvc.perform(multipart("/api/invoices/1/document").file(pdf("")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(multipart("/api/professionals/1/documents/PHOTO").file(pdf("photo")))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(documentService);
+    }
+
+    // Fichier nommé par son empreinte, comme dans le stockage par contenu
+    private Path stored(byte[] content) throws IOException {
+        return Files.write(storage.resolve(SHA256), content);
+    }
+
+    @Test
+    void shouldDownloadWholeDocumentWithEtag() throws Exception {
+        Path file = stored("%PDF-1.7 facture".getBytes(StandardCharsets.US_ASCII));
+        when(documentService.findInvoiceDocument(1L)).thenReturn(Optional.of(file));
+
+        mockMvc.perform(get("/api/invoices/1/document"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + SHA256 + "\""))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().longValue("Content-Length", 16))
+                .andExpect(content().contentType("application/pdf"))
+                .andExpect(content().string("%PDF-1.7 facture"));
+    }
+
+    @Test
+    void shouldServeSingleRange() throws Exception {
+        Path file = stored("0123456789".getBytes(StandardCharsets.US_ASCII));
+        when(documentService.findInsuranceDocument(3L, Insurance.DocumentType.ARMA_CONTRACT))
+                .thenReturn(Optional.of(file));
+
+        mockMvc.perform(get("/api/insurances/3/documents/ARMA_CONTRACT").header("Range", "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(header().longValue("Content-Length", 4))
+                .andExpect(content().string("2345"));
+        // Plage de fin
+        mockMvc.perform(get("/api/insurances/3/documents/ARMA_CONTRACT").header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+        // If-Range périmé : document entier
+        mockMvc.perform(get("/api/insurances/3/documents/ARMA_CONTRACT").header("Range", "bytes=2-5")
+                        .header("If-Range", "\"autre\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void shouldRejectUnsatisfiableRange() throws Exception {
+        Path file = stored("0123456789".getBytes(StandardCharsets.US_ASCII));
+        when(documentService.findInvoiceDocument(1L)).thenReturn(Optional.of(file));
+
+        mockMvc.perform(get("/api/invoices/1/document").header("Range", "bytes=10-20"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    @Test
+    void shouldIgnoreMalformedRange() throws Exception {
+        Path file = stored("0123456789".getBytes(StandardCharsets.US_ASCII));
+        when(documentService.findInvoiceDocument(1L)).thenReturn(Optional.of(file));
+
+        mockMvc.perform(get("/api/invoices/1/document").header("Range", "octets=1-2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Range"))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForKnownEtag() throws Exception {
+        Path file = stored("0123456789".getBytes(StandardCharsets.US_ASCII));
+        when(documentService.findProfessionalDocument(1L, Professional.DocumentType.DIPLOMA))
+                .thenReturn(Optional.of(file));
+
+        mockMvc.perform(get("/api/professionals/1/documents/DIPLOMA")
+                        .header("If-None-Match", "\"" + SHA256 + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldDelegateLargeDocumentToSendfile() throws Exception {
+        Path file = stored(new byte[64 * 1024]);
+        when(documentService.findInvoiceDocument(1L)).thenReturn(Optional.of(file));
+
+        mockMvc.perform(get("/api/invoices/1/document").header("Range", "bytes=1024-")
+                        .requestAttr("org.apache.tomcat.sendfile.support", true))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().longValue("Content-Length", 63 * 1024))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename",
+                        file.toRealPath().toString()))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 1024L))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 64L * 1024))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldReturnNotFoundForMissingDocument() throws Exception {
+        when(documentService.findInvoiceDocument(1L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/invoices/1/document"))
+                .andExpect(status().isNotFound());
+    }
+}
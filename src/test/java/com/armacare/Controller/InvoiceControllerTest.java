@@ -0,0 +1,140 @@
+package com.armacare.Controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.armacare.controller.InvoiceController;
+import com.armacare.dto.AdjudicationResult;
+import com.armacare.dto.BatchRunReport;
+import com.armacare.dto.InvoiceSummary;
+import com.armacare.dto.SummaryRebuildReport;
+import com.armacare.exception.BatchAlreadyRunningException;
+import com.armacare.exception.InvoiceNotFoundException;
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.armacare.service.ClaimAdjudicationService;
+import com.armacare.service.InvoiceAdjudicationBatchJob;
+import com.armacare.service.InvoiceDailySummaryRebuildJob;
+import com.armacare.service.InvoiceService;
+
+@WebMvcTest(InvoiceController.class)
+public class InvoiceControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private InvoiceService invoiceService;
+
+    @MockBean
+    private ClaimAdjudicationService claimAdjudicationService;
+
+    @MockBean
+    private InvoiceAdjudicationBatchJob adjudicationBatchJob;
+
+    @MockBean
+    private InvoiceDailySummaryRebuildJob summaryRebuildJob;
+
+    @Test
+    void shouldAdjudicateInvoice() throws Exception {
+        when(claimAdjudicationService.adjudicate(1L)).thenReturn(new AdjudicationResult(1L, 11L, "dentaire",
+                30000, 20000, InvoiceStatus.PARTIELLEMENT_REMBOURSEE, null));
+
+        mockMvc.perform(post("/api/invoices/1/adjudicate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.invoiceId").value(1))
+                .andExpect(jsonPath("$.contractId").value(11))
+                .andExpect(jsonPath("$.reimbursableAmount").value(20000.0))
+                .andExpect(jsonPath("$.patientShare").value(10000.0))
+                .andExpect(jsonPath("$.status").value("PARTIELLEMENT_REMBOURSEE"));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownInvoice() throws Exception {
+        when(claimAdjudicationService.adjudicate(2L)).thenThrow(new InvoiceNotFoundException(2L));
+
+        mockMvc.perform(post("/api/invoices/2/adjudicate"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnConflictForPaidInvoice() throws Exception {
+        when(claimAdjudicationService.adjudicate(3L))
+                .thenThrow(new IllegalStateException("La facture 3 est déjà payée"));
+
+        mockMvc.perform(post("/api/invoices/3/adjudicate"))
+                .andExpect(status().isConflict())
+                .andExpect(content().string(containsString("déjà payée")));
+    }
+
+    @Test
+    void shouldRunBatchAdjudication() throws Exception {
+        when(adjudicationBatchJob.run()).thenReturn(new BatchRunReport(0, 3, 1, 1, 1, 0, 0, 12));
+
+        mockMvc.perform(post("/api/invoices/adjudication-runs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.claimsRead").value(3))
+                .andExpect(jsonPath("$.rejected").value(1));
+    }
+
+    @Test
+    void shouldReturnConflictWhenBatchAlreadyRunning() throws Exception {
+        when(adjudicationBatchJob.run()).thenThrow(new BatchAlreadyRunningException("invoice-adjudication"));
+
+        mockMvc.perform(post("/api/invoices/adjudication-runs"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldRebuildDailySummaryForPeriod() throws Exception {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 3, 1);
+        when(summaryRebuildJob.rebuild(from, to)).thenReturn(new SummaryRebuildReport(from, to, 2, 40, 12));
+
+        mockMvc.perform(post("/api/invoices/daily-summary-rebuilds")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-03-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.months").value(2))
+                .andExpect(jsonPath("$.summaryRows").value(40));
+    }
+
+    @Test
+    void shouldRejectInvalidRebuildPeriod() throws Exception {
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        when(summaryRebuildJob.rebuild(day, day))
+                .thenThrow(new IllegalArgumentException("La date de début doit précéder la date de fin (exclue)"));
+
+        mockMvc.perform(post("/api/invoices/daily-summary-rebuilds")
+                        .param("from", "2024-03-01")
+                        .param("to", "2024-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldListInvoiceSummariesOfPatient() throws Exception {
+        when(invoiceService.findByPatient(5L)).thenReturn(List.of(new InvoiceSummary(1L, LocalDate.of(2025, 3, 1),
+                30000.0, 20000.0, InvoiceStatus.PARTIELLEMENT_REMBOURSEE, "dentaire",
+                2L, "Saliou", "Ndiaye", 5L, "Awa", "Diallo", 11L, "CTR-001", "Assurance Test")));
+
+        mockMvc.perform(get("/api/invoices/by-patient").param("patientId", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].professionalLastName").value("Ndiaye"))
+                .andExpect(jsonPath("$[0].insuranceName").value("Assurance Test"))
+                .andExpect(jsonPath("$[0].patientShare").value(10000.0));
+    }
+}
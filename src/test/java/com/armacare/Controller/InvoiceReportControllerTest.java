@@ -0,0 +1,74 @@
+package com.armacare.Controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.armacare.controller.InvoiceReportController;
+import com.armacare.dto.InvoiceTotals;
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.armacare.service.InvoiceService;
+
+@WebMvcTest(InvoiceReportController.class)
+public class InvoiceReportControllerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 5, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 7, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private InvoiceService invoiceService;
+
+    @Test
+    void shouldReturnMonthlyTotalsWithoutUngroupedDimensions() throws Exception {
+        when(invoiceService.sumByMonth(4L, FROM, TO)).thenReturn(List.of(
+                new InvoiceTotals(2024, 5, 2L, 30000.0, 8000.0)));
+
+        mockMvc.perform(get("/api/insurances/4/invoice-reports/monthly")
+                        .param("from", "2024-05-01")
+                        .param("to", "2024-07-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].month").value(5))
+                .andExpect(jsonPath("$[0].invoiceCount").value(2))
+                .andExpect(jsonPath("$[0].patientShare").value(22000.0))
+                .andExpect(jsonPath("$[0].professionalId").doesNotExist())
+                .andExpect(jsonPath("$[0].status").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnStatementLines() throws Exception {
+        when(invoiceService.statement(4L, FROM, TO)).thenReturn(List.of(
+                new InvoiceTotals(2024, 6, 1L, "Saliou", "Diop", InvoiceStatus.REMBOURSEE, 2L, 35000.0, 19000.0)));
+
+        mockMvc.perform(get("/api/insurances/4/invoice-reports/statement")
+                        .param("from", "2024-05-01")
+                        .param("to", "2024-07-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].professionalLastName").value("Diop"))
+                .andExpect(jsonPath("$[0].status").value("REMBOURSEE"))
+                .andExpect(jsonPath("$[0].reimbursableAmount").value(19000.0));
+    }
+
+    @Test
+    void shouldRejectEmptyPeriod() throws Exception {
+        when(invoiceService.sumByStatus(4L, TO, FROM))
+                .thenThrow(new IllegalArgumentException("La date de début doit précéder la date de fin (exclue)"));
+
+        mockMvc.perform(get("/api/insurances/4/invoice-reports/by-status")
+                        .param("from", "2024-07-01")
+                        .param("to", "2024-05-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
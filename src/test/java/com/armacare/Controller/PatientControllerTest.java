@@ -0,0 +1,96 @@
+package com.armacare.Controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.armacare.controller.PatientController;
+import com.armacare.dto.PatientCoverage;
+import com.armacare.dto.PatientDto;
+import com.armacare.dto.PatientEligibility;
+import com.armacare.exception.PatientNotFoundException;
+import com.armacare.model.Patient;
+import com.armacare.service.PatientService;
+
+@WebMvcTest(PatientController.class)
+public class PatientControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PatientService patientService;
+
+    @Test
+    void shouldReturnPatientByNationalId() throws Exception {
+        Patient patient = new Patient("Awa", "Ndiaye", LocalDate.of(1990, 1, 1), "F", "CNI-1",
+                "Rue 1", "Dakar", "10000", "771234567", "awa@example.com");
+        when(patientService.findByNationalId("CNI-1")).thenReturn(patient);
+
+        mockMvc.perform(get("/api/patients/CNI-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nationalId").value("CNI-1"))
+                .andExpect(jsonPath("$.lastName").value("Ndiaye"))
+                .andExpect(jsonPath("$.insuranceContracts").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownPatient() throws Exception {
+        when(patientService.findByNationalId("CNI-X")).thenThrow(new PatientNotFoundException("CNI-X"));
+
+        mockMvc.perform(get("/api/patients/CNI-X"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldCheckEligibilityForToday() throws Exception {
+        PatientCoverage coverage = new PatientCoverage(1L, true, 11L, "C-1", "Assurance Test", 0.0, 21L, 80, null);
+        when(patientService.checkEligibility(eq("CNI-1"), eq("dentaire"), isNull()))
+                .thenReturn(PatientEligibility.eligible("CNI-1", "dentaire", LocalDate.now(), coverage));
+
+        mockMvc.perform(get("/api/patients/CNI-1/eligibility").param("coverageType", "dentaire"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.eligible").value(true))
+                .andExpect(jsonPath("$.contractNumber").value("C-1"))
+                .andExpect(jsonPath("$.coverageRate").value(80));
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenCheckingEligibilityOfUnknownPatient() throws Exception {
+        when(patientService.checkEligibility(eq("CNI-X"), eq("dentaire"), eq(LocalDate.of(2024, 6, 15))))
+                .thenThrow(new PatientNotFoundException("CNI-X"));
+
+        mockMvc.perform(get("/api/patients/CNI-X/eligibility")
+                        .param("coverageType", "dentaire")
+                        .param("date", "2024-06-15"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldCreatePatient() throws Exception {
+        Patient patient = new Patient("Moussa", "Sow", LocalDate.of(1985, 5, 12), "M", "CNI-2",
+                "Rue 2", "Thiès", "21000", "781112233", "moussa@example.com");
+        when(patientService.createPatient(any(PatientDto.class))).thenReturn(patient);
+
+        mockMvc.perform(post("/api/patients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Moussa\",\"lastName\":\"Sow\",\"nationalId\":\"CNI-2\","
+                                + "\"phone\":\"781112233\",\"gender\":\"M\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.nationalId").value("CNI-2"));
+    }
+}
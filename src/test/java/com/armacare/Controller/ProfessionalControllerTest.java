@@ -2,33 +2,55 @@ package com.armacare.Controller;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.hamcrest.Matchers.containsString;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.armacare.controller.ProfessionalController;
+import com.armacare.dto.CursorPage;
+import com.armacare.dto.ImportRowError;
 import com.armacare.dto.ProfessionalDto;
+import com.armacare.dto.ProfessionalImportReport;
+import com.armacare.dto.ProfessionalSearchCriteria;
+import com.armacare.dto.ProfessionalView;
+import com.armacare.dto.StatusChange;
+import com.armacare.exception.InvalidCursorException;
+import com.armacare.exception.ProfessionalImportException;
+import com.armacare.exception.ProfessionalNotFoundException;
 import com.armacare.model.Professional;
 import com.armacare.model.Professional.AccountStatus;
+import com.armacare.service.ProfessionalImportService;
 import com.armacare.service.ProfessionalService;
+import com.armacare.service.ProfessionalVerificationService;
 
 @WebMvcTest(ProfessionalController.class)
 public class ProfessionalControllerTest {
@@ -39,6 +61,12 @@ public class ProfessionalControllerTest {
     @MockBean
     private ProfessionalService professionalService;
 
+    @MockBean
+    private ProfessionalImportService professionalImportService;
+
+    @MockBean
+    private ProfessionalVerificationService verificationService;
+
     @Test
     void shouldGetAllProfessionals() throws Exception {
         Professional professional1 = new Professional(
@@ -78,46 +106,106 @@ public class ProfessionalControllerTest {
                 "path/to/diploma2",
                 "path/to/bank/account/number2");
 
-        when(professionalService.findAll()).thenReturn(List.of(professional1, professional2));
+        professional1.setId(1L);
+        professional2.setId(2L);
+
+        when(professionalService.findPage(null, 50))
+                .thenReturn(new CursorPage<>(List.of(ProfessionalView.from(professional1), ProfessionalView.from(professional2)), CursorPage.encodeCursor(2L)));
 
         mockMvc.perform(get("/api/professionals"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].firstName").value("Saliou"))
-                .andExpect(jsonPath("$[0].lastName").value("Diop"))
-                .andExpect(jsonPath("$[0].speciality").value("Medecin Chirurgien"))
-                .andExpect(jsonPath("$[0].registrationNumber").value("123456789"))
-                .andExpect(jsonPath("$[0].email").value("saliou.diop@example.com"))
-                .andExpect(jsonPath("$[0].phone").value("+221772345678"))
-                .andExpect(jsonPath("$[0].address").value("123 Keur Massar"))
-                .andExpect(jsonPath("$[0].city").value("Dakar"))
-                .andExpect(jsonPath("$[0].country").value("Sénégal"))
-                .andExpect(jsonPath("$[0].accountStatus").value("ACTIVE"))
-                .andExpect(jsonPath("$[0].statusChangeReason").value("Documents validés"))
-                .andExpect(jsonPath("$[0].statusChangeDate").value("2023-01-01T16:00:00"))
-                .andExpect(jsonPath("$[0].identityDocumentPath").value("path/to/identity/document1"))
-                .andExpect(jsonPath("$[0].diplomaPath").value("path/to/diploma1"))
-                .andExpect(jsonPath("$[0].licensePath").value("path/to/license1"))
-                .andExpect(jsonPath("$[0].professionalInsurancePath").value("path/to/professional/insurance1"))
-                .andExpect(jsonPath("$[0].bankAccountNumberPath").value("path/to/bank/account/number1"))
-                .andExpect(jsonPath("$[1].firstName").value("Fatima"))
-                .andExpect(jsonPath("$[1].lastName").value("Diop"))
-                .andExpect(jsonPath("$[1].speciality").value("Medecin Gynécologue"))
-                .andExpect(jsonPath("$[1].registrationNumber").value("7773456789"))
-                .andExpect(jsonPath("$[1].email").value("fatima.diop@example.com"))
-                .andExpect(jsonPath("$[1].phone").value("762345679"))
-                .andExpect(jsonPath("$[1].address").value("12 Thiaroye"))
-                .andExpect(jsonPath("$[1].city").value("Dakar"))
-                .andExpect(jsonPath("$[1].country").value("Sénégal"))
-                .andExpect(jsonPath("$[1].accountStatus").value("PENDING_VERIFICATION"))
-                .andExpect(jsonPath("$[1].statusChangeReason").value("En attente de vérification des documents"))
-                .andExpect(jsonPath("$[1].statusChangeDate").value("2023-02-01T16:01:00"))
-                .andExpect(jsonPath("$[1].identityDocumentPath").value("path/to/identity/document2"))
-                .andExpect(jsonPath("$[1].diplomaPath").value("path/to/diploma2"))
-                .andExpect(jsonPath("$[1].licensePath").value("path/to/license2"))
-                .andExpect(jsonPath("$[1].professionalInsurancePath").value("path/to/professional/insurance2"))
-                .andExpect(jsonPath("$[1].bankAccountNumberPath").value("path/to/bank/account/number2"));
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").value(CursorPage.encodeCursor(2L)))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.content[0].firstName").value("Saliou"))
+                .andExpect(jsonPath("$.content[0].lastName").value("Diop"))
+                .andExpect(jsonPath("$.content[0].speciality").value("Medecin Chirurgien"))
+                .andExpect(jsonPath("$.content[0].registrationNumber").value("123456789"))
+                .andExpect(jsonPath("$.content[0].email").value("saliou.diop@example.com"))
+                .andExpect(jsonPath("$.content[0].phone").value("+221772345678"))
+                .andExpect(jsonPath("$.content[0].address").value("123 Keur Massar"))
+                .andExpect(jsonPath("$.content[0].city").value("Dakar"))
+                .andExpect(jsonPath("$.content[0].country").value("Sénégal"))
+                .andExpect(jsonPath("$.content[0].accountStatus").value("ACTIVE"))
+                .andExpect(jsonPath("$.content[0].statusChangeReason").value("Documents validés"))
+                .andExpect(jsonPath("$.content[0].statusChangeDate").value("2023-01-01T16:00:00"))
+                .andExpect(jsonPath("$.content[0].identityDocumentPath").value("path/to/identity/document1"))
+                .andExpect(jsonPath("$.content[0].diplomaPath").value("path/to/diploma1"))
+                .andExpect(jsonPath("$.content[0].licensePath").value("path/to/license1"))
+                .andExpect(jsonPath("$.content[0].professionalInsurancePath").value("path/to/professional/insurance1"))
+                .andExpect(jsonPath("$.content[0].bankAccountNumberPath").value("path/to/bank/account/number1"))
+                .andExpect(jsonPath("$.content[1].firstName").value("Fatima"))
+                .andExpect(jsonPath("$.content[1].lastName").value("Diop"))
+                .andExpect(jsonPath("$.content[1].speciality").value("Medecin Gynécologue"))
+                .andExpect(jsonPath("$.content[1].registrationNumber").value("7773456789"))
+                .andExpect(jsonPath("$.content[1].email").value("fatima.diop@example.com"))
+                .andExpect(jsonPath("$.content[1].phone").value("762345679"))
+                .andExpect(jsonPath("$.content[1].address").value("12 Thiaroye"))
+                .andExpect(jsonPath("$.content[1].city").value("Dakar"))
+                .andExpect(jsonPath("$.content[1].country").value("Sénégal"))
+                .andExpect(jsonPath("$.content[1].accountStatus").value("PENDING_VERIFICATION"))
+                .andExpect(jsonPath("$.content[1].statusChangeReason").value("En attente de vérification des documents"))
+                .andExpect(jsonPath("$.content[1].statusChangeDate").value("2023-02-01T16:01:00"))
+                .andExpect(jsonPath("$.content[1].identityDocumentPath").value("path/to/identity/document2"))
+                .andExpect(jsonPath("$.content[1].diplomaPath").value("path/to/diploma2"))
+                .andExpect(jsonPath("$.content[1].licensePath").value("path/to/license2"))
+                .andExpect(jsonPath("$.content[1].professionalInsurancePath").value("path/to/professional/insurance2"))
+                .andExpect(jsonPath("$.content[1].bankAccountNumberPath").value("path/to/bank/account/number2"));
+
+    }
+
+    @Test
+    void shouldGetNextPageOfProfessionals() throws Exception {
+        Professional professional = new Professional();
+        professional.setId(3L);
+        professional.setFirstName("Saidou");
+        String cursor = CursorPage.encodeCursor(2L);
+
+        when(professionalService.findPage(cursor, 2)).thenReturn(new CursorPage<>(List.of(ProfessionalView.from(professional)), null));
+
+        mockMvc.perform(get("/api/professionals").param("cursor", cursor).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].firstName").value("Saidou"))
+                .andExpect(jsonPath("$.last").value(true));
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() throws Exception {
+        when(professionalService.findPage("pas-un-curseur", 50)).thenThrow(new InvalidCursorException("pas-un-curseur"));
+
+        mockMvc.perform(get("/api/professionals").param("cursor", "pas-un-curseur"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Curseur de pagination invalide")));
+    }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamProfessionalsAsNdjson() throws Exception {
+        Professional professional1 = new Professional();
+        professional1.setId(1L);
+        professional1.setFirstName("Saliou");
+        Professional professional2 = new Professional();
+        professional2.setId(2L);
+        professional2.setFirstName("Fatima");
+
+        doAnswer(invocation -> {
+            Consumer<ProfessionalView> consumer = invocation.getArgument(0);
+            consumer.accept(ProfessionalView.from(professional1));
+            consumer.accept(ProfessionalView.from(professional2));
+            return null;
+        }).when(professionalService).streamAll(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/professionals").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"firstName\":\"Saliou\"")))
+                .andExpect(content().string(containsString("}\n{")))
+                .andExpect(content().string(containsString("\"firstName\":\"Fatima\"")));
     }
 
     @Test
@@ -186,7 +274,7 @@ public class ProfessionalControllerTest {
                 "path/to/diploma1",
                 "path/to/bank/account/number1");
 
-        when(professionalService.findByPhone("+221772345678")).thenReturn(Optional.of(professional));
+        when(professionalService.findByPhone("+221772345678")).thenReturn(Optional.of(ProfessionalView.from(professional)));
 
         mockMvc.perform(get("/api/professionals/by-phone?phone=+221772345678"))
                 .andExpect(status().isOk())
@@ -230,7 +318,7 @@ public class ProfessionalControllerTest {
                 "path/to/diploma1",
                 "path/to/bank/account/number1");
 
-        when(professionalService.findByEmail("saliou.diop@example.com")).thenReturn(Optional.of(professional));
+        when(professionalService.findByEmail("saliou.diop@example.com")).thenReturn(Optional.of(ProfessionalView.from(professional)));
 
         mockMvc.perform(get("/api/professionals/by-email?email=saliou.diop@example.com"))
                 .andExpect(status().isOk())
@@ -274,7 +362,7 @@ public class ProfessionalControllerTest {
                 "path/to/diploma1",
                 "path/to/bank/account/number1");
 
-        when(professionalService.findByRegistrationNumber("123456789")).thenReturn(Optional.of(professional));
+        when(professionalService.findByRegistrationNumber("123456789")).thenReturn(Optional.of(ProfessionalView.from(professional)));
 
         mockMvc.perform(get("/api/professionals/by-registration-number?registrationNumber=123456789"))
                 .andExpect(status().isOk())
@@ -297,6 +385,34 @@ public class ProfessionalControllerTest {
                 .andExpect(jsonPath("$.bankAccountNumberPath").value("path/to/bank/account/number1"));
     }
 
+    @Test
+    void shouldSearchProfessionalsWithCombinedCriteria() throws Exception {
+        Professional professional = new Professional();
+        professional.setId(2L);
+        professional.setFirstName("Fatima");
+        professional.setLastName("Diop");
+        professional.setCity("Dakar");
+        professional.setAccountStatus(AccountStatus.PENDING_VERIFICATION);
+
+        when(professionalService.search(argThat((ProfessionalSearchCriteria criteria) ->
+                "Dakar".equals(criteria.getCity())
+                        && criteria.getStatus() == AccountStatus.PENDING_VERIFICATION
+                        && "Di".equals(criteria.getName())
+                        && criteria.getSpeciality() == null),
+                isNull(), eq(20)))
+            .thenReturn(new CursorPage<>(List.of(ProfessionalView.from(professional)), null));
+
+        mockMvc.perform(get("/api/professionals/search")
+                .param("city", "Dakar")
+                .param("status", "PENDING_VERIFICATION")
+                .param("name", "Di")
+                .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].firstName").value("Fatima"))
+                .andExpect(jsonPath("$.last").value(true));
+    }
+
     @Test
     void shouldGetProfessionalsBySpeciality() throws Exception {
         Professional professional1 = new Professional(
@@ -336,7 +452,7 @@ public class ProfessionalControllerTest {
                 "path/to/diploma2",
                 "path/to/bank/account/number2");
 
-        when(professionalService.findBySpeciality("Medecin Chirurgien")).thenReturn(List.of(professional1, professional2));
+        when(professionalService.findBySpeciality("Medecin Chirurgien")).thenReturn(List.of(ProfessionalView.from(professional1), ProfessionalView.from(professional2)));
 
         mockMvc.perform(get("/api/professionals/by-speciality?speciality=Medecin Chirurgien"))
                 .andExpect(status().isOk())
@@ -416,7 +532,7 @@ public class ProfessionalControllerTest {
                 "path/to/diploma2",
                 "path/to/bank/account/number2");
 
-        when(professionalService.findByCity("Dakar")).thenReturn(List.of(professional1, professional2));
+        when(professionalService.findByCity("Dakar")).thenReturn(List.of(ProfessionalView.from(professional1), ProfessionalView.from(professional2)));
 
         mockMvc.perform(get("/api/professionals/by-city?city=Dakar"))
                 .andExpect(status().isOk())
@@ -496,7 +612,7 @@ public class ProfessionalControllerTest {
                 "path/to/diploma2",
                 "path/to/bank/account/number2");
 
-        when(professionalService.findByAccountStatus(AccountStatus.PENDING_VERIFICATION)).thenReturn(List.of(professional1, professional2));
+        when(professionalService.findByAccountStatus(AccountStatus.PENDING_VERIFICATION)).thenReturn(List.of(ProfessionalView.from(professional1), ProfessionalView.from(professional2)));
 
         mockMvc.perform(get("/api/professionals/by-status?status=PENDING_VERIFICATION"))
                 .andExpect(status().isOk())
@@ -859,6 +975,40 @@ public class ProfessionalControllerTest {
                 .andExpect(jsonPath("$.statusChangeDate").isNotEmpty());
     }
 
+    @Test
+    void shouldReturnStatusHistoryPage() throws Exception {
+        StatusChange activated = new StatusChange(12L, AccountStatus.PENDING_VERIFICATION, AccountStatus.ACTIVE,
+                "Documents vérifiés", LocalDateTime.of(2024, 3, 1, 9, 0));
+        when(professionalService.findStatusHistory(eq(2L), isNull(), eq(1)))
+                .thenReturn(new CursorPage<>(List.of(activated), "MTI"));
+        when(professionalService.findStatusHistory(eq(99L), isNull(), eq(50)))
+                .thenThrow(new ProfessionalNotFoundException(99L));
+
+        mockMvc.perform(get("/api/professionals/2/status-history").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].previousStatus").value("PENDING_VERIFICATION"))
+                .andExpect(jsonPath("$.content[0].status").value("ACTIVE"))
+                .andExpect(jsonPath("$.content[0].reason").value("Documents vérifiés"))
+                .andExpect(jsonPath("$.nextCursor").value("MTI"));
+        mockMvc.perform(get("/api/professionals/99/status-history"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRequestDocumentVerification() throws Exception {
+        when(professionalService.findById(2L)).thenReturn(new Professional());
+        when(professionalService.findById(99L)).thenThrow(new ProfessionalNotFoundException(99L));
+
+        mockMvc.perform(post("/api/professionals/2/verification"))
+                .andExpect(status().isAccepted());
+        verify(verificationService).request(2L);
+
+        mockMvc.perform(post("/api/professionals/99/verification"))
+                .andExpect(status().isNotFound());
+        verifyNoMoreInteractions(verificationService);
+    }
+
     @Test
     void shouldHandleExceptions() throws Exception {
         RuntimeException exception = new RuntimeException("Une erreur est survenue");
@@ -868,4 +1018,47 @@ public class ProfessionalControllerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(content().string(containsString("Une erreur est survenue")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldImportProfessionalsFromJson() throws Exception {
+        ProfessionalImportReport report = new ProfessionalImportReport(2, 1, 1,
+                List.of(new ImportRowError(2, "R-2", List.of("Le prénom du professionnel est obligatoire"))),
+                false, 40);
+        when(professionalImportService.importJson(any())).thenReturn(report);
+
+        mockMvc.perform(post("/api/professionals/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(2))
+                .andExpect(jsonPath("$.importedRows").value(1))
+                .andExpect(jsonPath("$.failedRows").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].registrationNumber").value("R-2"))
+                .andExpect(jsonPath("$.rowsPerSecond").value(50.0));
+    }
+
+    @Test
+    void shouldImportProfessionalsFromCsvUpload() throws Exception {
+        ProfessionalImportReport report = new ProfessionalImportReport(1, 1, 0, List.of(), false, 5);
+        when(professionalImportService.importCsv(any())).thenReturn(report);
+        MockMultipartFile file = new MockMultipartFile("file", "professionnels.csv", "text/csv",
+                "firstName;lastName\nAwa;Ndiaye\n".getBytes());
+
+        mockMvc.perform(multipart("/api/professionals/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows").value(1));
+    }
+
+    @Test
+    void shouldRejectUnreadableImport() throws Exception {
+        when(professionalImportService.importCsv(any()))
+                .thenThrow(new ProfessionalImportException("Colonne CSV inconnue : prenom"));
+
+        mockMvc.perform(post("/api/professionals/import")
+                .contentType("text/csv")
+                .content("prenom\nAwa\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Colonne CSV inconnue")));
+    }
+}
@@ -0,0 +1,58 @@
+package com.armacare.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.armacare.dto.CursorPage;
+import com.armacare.dto.ProfessionalView;
+import com.armacare.service.ProfessionalService;
+
+// Application complète avec aiguillage activé ; le « réplica » pointe sur la même base H2 que la principale
+@SpringBootTest(properties = {
+        "armacare.datasource.routing.enabled=true",
+        "armacare.datasource.routing.lag-query=select 0",
+        "armacare.datasource.routing.replicas[0].name=replica-1",
+        "armacare.datasource.routing.replicas[0].url=jdbc:h2:mem:arma_care_test_db;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+public class DataSourceRoutingConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private ProfessionalService professionalService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldRouteReadOnlyServiceCallsToReplica() throws Exception {
+        // La source exposée est enveloppée par le proxy de mesure des instructions SQL
+        assertThat(dataSource.isWrapperFor(LazyConnectionDataSourceProxy.class)).isTrue();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Object lookupKey = readOnly.execute(status -> replicaRoutingDataSource.determineCurrentLookupKey());
+        Object writeKey = new TransactionTemplate(transactionManager)
+                .execute(status -> replicaRoutingDataSource.determineCurrentLookupKey());
+
+        assertThat(lookupKey).isEqualTo("replica-1");
+        assertThat(writeKey).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        CursorPage<ProfessionalView> page = professionalService.findPage(null, 10);
+        assertThat(page.getContent()).isNotEmpty();
+    }
+}
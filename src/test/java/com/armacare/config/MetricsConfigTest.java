@@ -0,0 +1,48 @@
+package com.armacare.config;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Les métriques ne sont pas exportées par défaut dans les tests : @AutoConfigureObservability les réactive
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldExposeServiceRepositoryHibernateAndPoolMetricsToPrometheus() throws Exception {
+        mockMvc.perform(get("/api/professionals/1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("armacare_service_seconds_count{application=\"arma-care\","
+                                + "class=\"com.armacare.service.ProfessionalService\",exception=\"none\","
+                                + "method=\"findById\"}"),
+                        containsString("spring_data_repository_invocations_seconds_count"),
+                        containsString("repository=\"ProfessionalRepository\""),
+                        containsString("http_server_requests_seconds_bucket"),
+                        containsString("hibernate_query_executions_total"),
+                        containsString("hibernate_entities_loads_total"),
+                        containsString("hibernate_sessions_open_total"),
+                        containsString("hibernate_second_level_cache_requests"),
+                        containsString("armacare_hibernate_cache_hit_ratio{application=\"arma-care\",region=\"insurances\"}"),
+                        containsString("hikaricp_connections_active"))));
+    }
+}
@@ -0,0 +1,88 @@
+package com.armacare.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.armacare.dao.ProfessionalRepository;
+import com.armacare.dto.StoredDocument;
+import com.armacare.model.Professional;
+import com.armacare.service.DocumentStorageService;
+
+import jakarta.servlet.MultipartConfigElement;
+
+// Envoi réel à travers Tomcat : la partie écrite par le conteneur est renommée dans le stockage
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class MultipartConfigTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MultipartConfigElement multipartConfig;
+
+    @Autowired
+    private DocumentStorageService storage;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    private String previousDiplomaPath;
+
+    @BeforeEach
+    void setUp() {
+        previousDiplomaPath = professionalRepository.findById(1L).orElseThrow().getDiplomaPath();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Professional professional = professionalRepository.findById(1L).orElseThrow();
+        professional.setDiplomaPath(previousDiplomaPath);
+        professionalRepository.save(professional);
+    }
+
+    @Test
+    void shouldSpoolPartsIntoStorageIncomingDirectory() throws Exception {
+        assertThat(multipartConfig.getLocation()).isEqualTo(storage.incomingDirectory().toString());
+        assertThat(multipartConfig.getFileSizeThreshold()).isZero();
+
+        MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+        form.add("file", new ByteArrayResource("%PDF-1.7 diplôme envoyé".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return "diplome.pdf";
+            }
+        });
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        ResponseEntity<StoredDocument> response = restTemplate.postForEntity(
+                "/api/professionals/1/documents/DIPLOMA", new HttpEntity<>(form, headers), StoredDocument.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(Files.readString(storage.resolve(response.getBody().path())))
+                .isEqualTo("%PDF-1.7 diplôme envoyé");
+        try (Stream<?> leftovers = Files.list(storage.incomingDirectory())) {
+            assertThat(leftovers).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.armacare.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.armacare.config.ReplicaRoutingDataSource.Selection;
+import com.zaxxer.hikari.HikariDataSource;
+
+// Trois bases H2 distinctes jouent la base principale et deux réplicas ;
+// chacune contient son propre nom pour savoir où une requête a été exécutée
+public class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "select seconds from replica_lag";
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ReplicaRoutingDataSource routingDataSource;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    private HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(2);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists node (name varchar(20))");
+        jdbc.execute("delete from node");
+        jdbc.update("insert into node values (?)", name);
+        jdbc.execute("create table if not exists replica_lag (seconds int)");
+        jdbc.execute("delete from replica_lag");
+        jdbc.execute("insert into replica_lag values (0)");
+        pools.add(dataSource);
+        return dataSource;
+    }
+
+    private void setUp(Selection selection) {
+        Map<String, javax.sql.DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", database("replica-1"));
+        replicas.put("replica-2", database("replica-2"));
+        routingDataSource = new ReplicaRoutingDataSource(database("primary"), replicas, selection);
+        lagMonitor = new ReplicaLagMonitor(routingDataSource.getReplicas(), LAG_QUERY, Duration.ofSeconds(5));
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> node());
+    }
+
+    private void setLag(String replica, int seconds) {
+        HikariDataSource dataSource = pools.stream()
+                .filter(pool -> pool.getPoolName().equals(replica))
+                .findFirst()
+                .orElseThrow();
+        new JdbcTemplate(dataSource).update("update replica_lag set seconds = ?", seconds);
+    }
+
+    @Test
+    void shouldSendWritesAndNonTransactionalCallsToPrimary() {
+        setUp(Selection.ROUND_ROBIN);
+
+        assertThat(node()).isEqualTo("primary");
+        String node = readWrite.execute(status -> node());
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldAlternateReplicasForReadOnlyTransactions() {
+        setUp(Selection.ROUND_ROBIN);
+
+        List<String> nodes = List.of(readOnlyNode(), readOnlyNode(), readOnlyNode(), readOnlyNode());
+
+        assertThat(nodes).containsExactly("replica-1", "replica-2", "replica-1", "replica-2");
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicasLag() {
+        setUp(Selection.ROUND_ROBIN);
+
+        setLag("replica-1", 30);
+        lagMonitor.checkReplicas();
+        assertThat(List.of(readOnlyNode(), readOnlyNode())).containsOnly("replica-2");
+
+        setLag("replica-2", 30);
+        lagMonitor.checkReplicas();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        setLag("replica-1", 0);
+        lagMonitor.checkReplicas();
+        assertThat(readOnlyNode()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void shouldExcludeReplicaWhoseLagCannotBeRead() {
+        setUp(Selection.ROUND_ROBIN);
+        new JdbcTemplate(pools.get(0)).execute("delete from replica_lag");
+
+        lagMonitor.checkReplicas();
+
+        assertThat(List.of(readOnlyNode(), readOnlyNode())).containsOnly("replica-2");
+    }
+
+    @Test
+    void shouldPreferLeastLoadedReplica() throws Exception {
+        setUp(Selection.LEAST_LOADED);
+
+        // Une connexion empruntée au premier réplica : il devient le plus chargé
+        try (Connection borrowed = pools.get(0).getConnection()) {
+            assertThat(List.of(readOnlyNode(), readOnlyNode(), readOnlyNode())).containsOnly("replica-2");
+        }
+        assertThat(List.of(readOnlyNode(), readOnlyNode())).contains("replica-1");
+    }
+}
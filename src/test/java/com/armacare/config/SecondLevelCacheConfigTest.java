@@ -0,0 +1,122 @@
+package com.armacare.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.armacare.dao.InsuranceContractRepository;
+import com.armacare.dao.InsuranceRepository;
+import com.armacare.dao.PatientRepository;
+import com.armacare.model.Coverage;
+import com.armacare.model.Insurance;
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Patient;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SecondLevelCacheConfigTest {
+
+    @Autowired
+    private InsuranceRepository insuranceRepository;
+
+    @Autowired
+    private InsuranceContractRepository contractRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private TransactionTemplate readOnly;
+    private Insurance insurance;
+    private InsuranceContract contract;
+
+    @BeforeEach
+    void setUp() {
+        Patient patient = patientRepository.save(new Patient("Moussa", "Sarr", LocalDate.of(1985, 3, 2), "M",
+                "CNI-L2", "Rue 2", "Thiès", "21000", "772223344", "moussa.l2@example.com"));
+        insurance = insuranceRepository.save(new Insurance("Assurance Cache", "Santé",
+                "cache@assurance.sn", "782223344"));
+        contract = new InsuranceContract("C-L2", "Premium", java.sql.Date.valueOf("2024-01-01"),
+                null, 0.0, patient, insurance);
+        contract.addCoverage(new Coverage("dentaire", 80, null));
+        contract.addCoverage(new Coverage("optique", 60, 50000.0));
+        contract = contractRepository.save(contract);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        contractRepository.deleteAll();
+        insuranceRepository.deleteAll();
+        patientRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeInsuranceFromSecondLevelCacheAcrossTransactions() {
+        readOnly.executeWithoutResult(status -> insuranceRepository.findById(insurance.getId()).orElseThrow());
+        readOnly.executeWithoutResult(status -> insuranceRepository.findById(insurance.getId()).orElseThrow());
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.INSURANCES);
+        assertThat(region.getHitCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(SecondLevelCacheConfig.hitRatio(statistics, SecondLevelCacheConfig.INSURANCES)).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldCacheContractCoveragesCollection() {
+        Integer first = readOnly.execute(status -> contractRepository.findById(contract.getId())
+                .orElseThrow().getCoverages().size());
+        long queriesAfterFirstLoad = statistics.getPrepareStatementCount();
+        Integer second = readOnly.execute(status -> contractRepository.findById(contract.getId())
+                .orElseThrow().getCoverages().size());
+
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(2);
+        assertThat(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.CONTRACT_COVERAGES).getHitCount())
+                .isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.COVERAGES).getHitCount())
+                .isEqualTo(2);
+        // Seul le contrat (non mis en cache) est relu
+        assertThat(statistics.getPrepareStatementCount() - queriesAfterFirstLoad).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCacheInsurerLookupsUntilInsurancesChange() {
+        readOnly.executeWithoutResult(status -> insuranceRepository.findByEmail("cache@assurance.sn").orElseThrow());
+        readOnly.executeWithoutResult(status -> insuranceRepository.findByEmail("cache@assurance.sn").orElseThrow());
+
+        CacheRegionStatistics queries = statistics.getQueryRegionStatistics(SecondLevelCacheConfig.INSURANCE_QUERIES);
+        assertThat(queries.getHitCount()).isEqualTo(1);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+
+        insurance.setCity("Dakar");
+        insuranceRepository.save(insurance);
+        readOnly.executeWithoutResult(status -> insuranceRepository.findByEmail("cache@assurance.sn").orElseThrow());
+
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,132 @@
+package com.armacare.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.armacare.exception.StatementBudgetExceededException;
+
+import jakarta.servlet.http.HttpServlet;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class SqlStatementMonitoringTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SqlStatementFilter sqlStatementFilter;
+
+    @Test
+    void shouldWrapDataSourceWithStatementProxy() {
+        assertThat(dataSource).isInstanceOf(ProxyDataSource.class);
+    }
+
+    @Test
+    void shouldRecordStatementsPerEndpointWithinBudget() throws Exception {
+        // Le profil de test fait échouer la requête si le budget @StatementBudget(1) est dépassé
+        mockMvc.perform(get("/api/professionals").param("size", "20"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/professionals/by-city").param("city", "Dakar"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "armacare_http_sql_statements_count{application=\"arma-care\",method=\"GET\","
+                                + "uri=\"/api/professionals/by-city\"}")))
+                .andExpect(content().string(containsString("armacare_http_sql_time_seconds_count")));
+    }
+
+    @Test
+    void shouldFailRequestExceedingItsStatementBudget() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/budget");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new BudgetedHandler(), BudgetedHandler.class.getMethod("handle")));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(jakarta.servlet.http.HttpServletRequest req,
+                    jakarta.servlet.http.HttpServletResponse res) {
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM professionals", Long.class);
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM professionals", Long.class);
+            }
+        });
+
+        assertThatThrownBy(() -> sqlStatementFilter.doFilter(request, new MockHttpServletResponse(), chain))
+                .isInstanceOf(StatementBudgetExceededException.class)
+                .hasMessageContaining("a exécuté 2 instructions SQL pour un budget de 1");
+        assertThat(SqlStatementStats.current()).isNull();
+    }
+
+    @Test
+    void shouldReportBudgetExceededAfterResponseWasSent() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/budget");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new BudgetedHandler(), BudgetedHandler.class.getMethod("handle")));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(jakarta.servlet.http.HttpServletRequest req,
+                    jakarta.servlet.http.HttpServletResponse res) throws IOException {
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM professionals", Long.class);
+                res.getWriter().write("[]");
+                res.flushBuffer();
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM professionals", Long.class);
+            }
+        });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Le client a déjà reçu son 200 : pas d'exception, le dépassement est relevé pour le test
+        sqlStatementFilter.doFilter(request, response, chain);
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(sqlStatementFilter.drainViolations())
+                .singleElement(InstanceOfAssertFactories.STRING)
+                .contains("a exécuté 2 instructions SQL pour un budget de 1");
+        assertThat(sqlStatementFilter.drainViolations()).isEmpty();
+    }
+
+    @Test
+    void shouldRedactLiteralsFromLoggedSql() {
+        assertThat(SqlStatementListener.redact(
+                "select p1_0.id from professionals p1_0 where p1_0.email='a.diop@example.sn' and p1_0.id>42 limit ?"))
+                .isEqualTo("select p1_0.id from professionals p1_0 where p1_0.email='?' and p1_0.id>? limit ?");
+    }
+
+    static class BudgetedHandler {
+
+        @StatementBudget(1)
+        public void handle() {
+        }
+    }
+}
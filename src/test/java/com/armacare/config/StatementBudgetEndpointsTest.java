@@ -0,0 +1,215 @@
+package com.armacare.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.armacare.dao.InsuranceContractRepository;
+import com.armacare.dao.InsuranceRepository;
+import com.armacare.dao.InvoiceDailySummaryRepository;
+import com.armacare.dao.InvoiceRepository;
+import com.armacare.dao.PatientRepository;
+import com.armacare.dao.ProfessionalRepository;
+import com.armacare.model.Coverage;
+import com.armacare.model.Insurance;
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Invoice;
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.armacare.model.Patient;
+import com.armacare.model.Professional;
+import com.armacare.service.ProfessionalService;
+
+// Chaque point d'accès annoté @StatementBudget est appelé sur des données réelles : le profil de test
+// fait échouer l'appel qui dépasse son budget (SqlStatementFilter, StatementBudgetTestExecutionListener).
+// Un nouveau point d'accès budgété sans appel ici fait échouer shouldCoverEveryBudgetedEndpoint.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class StatementBudgetEndpointsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 15);
+
+    // Appel d'un point d'accès : modèle d'URI (variables tirées des données du test) et paramètres
+    record BudgetedCall(String pattern, Map<String, String> params) {
+
+        @Override
+        public String toString() {
+            return pattern + " " + params;
+        }
+    }
+
+    private static final Map<String, String> PERIOD = Map.of("from", "2024-06-01", "to", "2024-07-01");
+
+    static Stream<BudgetedCall> budgetedCalls() {
+        return Stream.of(
+                new BudgetedCall("/api/professionals", Map.of("size", "20")),
+                new BudgetedCall("/api/professionals/{id}", Map.of()),
+                new BudgetedCall("/api/professionals/by-email", Map.of("email", "saliou.diop@example.com")),
+                new BudgetedCall("/api/professionals/by-phone", Map.of("phone", "+221772345678")),
+                new BudgetedCall("/api/professionals/by-registration-number",
+                        Map.of("registrationNumber", "123456789")),
+                new BudgetedCall("/api/professionals/search", Map.of("city", "Dakar", "size", "20")),
+                new BudgetedCall("/api/professionals/by-speciality", Map.of("speciality", "Medecin Chirurgien")),
+                new BudgetedCall("/api/professionals/by-city", Map.of("city", "Dakar")),
+                new BudgetedCall("/api/professionals/by-status", Map.of("status", "ACTIVE")),
+                new BudgetedCall("/api/professionals/{id}/status-history", Map.of("size", "1")),
+                new BudgetedCall("/api/patients/{nationalId}", Map.of()),
+                new BudgetedCall("/api/patients/{nationalId}/eligibility",
+                        Map.of("coverageType", "dentaire", "date", DAY.toString())),
+                new BudgetedCall("/api/invoices/by-patient", Map.of("patientId", "{patientId}")),
+                new BudgetedCall("/api/invoices/by-professional", Map.of("professionalId", "{id}")),
+                new BudgetedCall("/api/insurances/{insuranceId}/invoice-reports/monthly", PERIOD),
+                new BudgetedCall("/api/insurances/{insuranceId}/invoice-reports/by-professional", PERIOD),
+                new BudgetedCall("/api/insurances/{insuranceId}/invoice-reports/by-status", PERIOD),
+                new BudgetedCall("/api/insurances/{insuranceId}/invoice-reports/statement", PERIOD));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private ProfessionalService professionalService;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private InsuranceRepository insuranceRepository;
+
+    @Autowired
+    private InsuranceContractRepository contractRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private InvoiceDailySummaryRepository summaryRepository;
+
+    private final Map<String, Object> uriVariables = new HashMap<>();
+    private Professional professional;
+
+    @BeforeEach
+    void setUp() {
+        professional = professionalRepository.save(new Professional("Awa", "Sarr", "Dentiste", "B-1",
+                "+221770001001", "awa.sarr@example.com", "Rue 5", "Dakar", "Sénégal",
+                "PENDING_VERIFICATION", "En attente de vérification des documents", "2024-01-01T10:00:00",
+                null, null, null, null, null));
+        // Deux changements de statut : l'historique a plus d'une page de taille 1
+        professionalService.activateAccount(professional.getId());
+        professionalService.suspendAccount(professional.getId(), "Contrôle");
+
+        Patient patient = patientRepository.save(new Patient("Moussa", "Faye", LocalDate.of(1985, 3, 2), "M",
+                "CNI-BUDGET", "Rue 3", "Dakar", "10000", "772225566", "moussa.budget@example.com"));
+        Insurance insurance = insuranceRepository.save(new Insurance("Assurance Budget", "Santé",
+                "budget@assurance.sn", "782225566"));
+        InsuranceContract contract = new InsuranceContract("C-BUDGET", "Standard",
+                java.sql.Date.valueOf("2024-01-01"), null, 0.0, patient, insurance);
+        contract.addCoverage(new Coverage("dentaire", 80, null));
+        contract = contractRepository.save(contract);
+        for (InvoiceStatus invoiceStatus : List.of(InvoiceStatus.EN_ATTENTE, InvoiceStatus.PAYEE)) {
+            Invoice invoice = new Invoice(DAY, 100.0, 0.0, invoiceStatus, professional, patient, contract);
+            invoice.setCoverageType("dentaire");
+            invoiceRepository.save(invoice);
+        }
+
+        uriVariables.put("id", professional.getId());
+        uriVariables.put("patientId", patient.getId());
+        uriVariables.put("nationalId", patient.getNationalId());
+        uriVariables.put("insuranceId", insurance.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        invoiceRepository.deleteAll();
+        contractRepository.deleteAll();
+        insuranceRepository.deleteAll();
+        patientRepository.deleteAll();
+        summaryRepository.deleteAll();
+        professionalRepository.deleteById(professional.getId());
+    }
+
+    private MockHttpServletRequestBuilder request(BudgetedCall call) {
+        MockHttpServletRequestBuilder request = get(
+                UriComponentsBuilder.fromPath(call.pattern()).buildAndExpand(uriVariables).toUriString());
+        call.params().forEach((name, value) -> request.param(name, resolve(value)));
+        return request;
+    }
+
+    // Paramètre "{patientId}" : identifiant des données du test
+    private String resolve(String value) {
+        return value.startsWith("{") ? String.valueOf(uriVariables.get(value.substring(1, value.length() - 1)))
+                : value;
+    }
+
+    @ParameterizedTest
+    @MethodSource("budgetedCalls")
+    void shouldStayWithinStatementBudget(BudgetedCall call) throws Exception {
+        mockMvc.perform(request(call)).andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldStayWithinBudgetForEmptyStatusHistory() throws Exception {
+        // Première page vide : l'existence du professionnel est vérifiée (deuxième instruction)
+        Professional withoutHistory = professionalRepository.save(new Professional("Ibou", "Gueye", "Dentiste",
+                "B-2", "+221770001002", "ibou.gueye@example.com", "Rue 6", "Dakar", "Sénégal",
+                "ACTIVE", "Compte activé", "2024-01-01T10:00:00", null, null, null, null, null));
+        try {
+            mockMvc.perform(get("/api/professionals/{id}/status-history", withoutHistory.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content").isEmpty());
+            mockMvc.perform(get("/api/professionals/{id}/status-history", 999_999L))
+                    .andExpect(status().isNotFound());
+        } finally {
+            professionalRepository.deleteById(withoutHistory.getId());
+        }
+    }
+
+    @Test
+    void shouldCoverEveryBudgetedEndpoint() {
+        Set<String> budgeted = handlerMapping.getHandlerMethods().entrySet().stream()
+                .filter(entry -> hasBudget(entry.getValue()))
+                .flatMap(entry -> entry.getKey().getPatternValues().stream())
+                .collect(Collectors.toSet());
+
+        assertThat(budgetedCalls().map(BudgetedCall::pattern).collect(Collectors.toSet()))
+                .isEqualTo(budgeted);
+    }
+
+    private static boolean hasBudget(HandlerMethod handler) {
+        return AnnotatedElementUtils.hasAnnotation(handler.getMethod(), StatementBudget.class)
+                || AnnotatedElementUtils.hasAnnotation(handler.getBeanType(), StatementBudget.class);
+    }
+}
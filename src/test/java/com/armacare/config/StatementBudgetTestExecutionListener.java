@@ -0,0 +1,34 @@
+package com.armacare.config;
+
+import java.util.List;
+
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+// Fait échouer le test dont une requête a dépassé son budget d'instructions SQL après l'envoi de la réponse :
+// le filtre ne peut plus transformer ce 200 en erreur, il le signale ici (SqlStatementFilter.drainViolations)
+public class StatementBudgetTestExecutionListener extends AbstractTestExecutionListener {
+
+    @Override
+    public void beforeTestMethod(TestContext testContext) {
+        // Dépassements d'un test précédent déjà signalés, ou d'une requête hors test
+        drainViolations(testContext);
+    }
+
+    @Override
+    public void afterTestMethod(TestContext testContext) {
+        List<String> violations = drainViolations(testContext);
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Budget d'instructions SQL dépassé : " + String.join(" ; ", violations));
+        }
+    }
+
+    private static List<String> drainViolations(TestContext testContext) {
+        if (!testContext.hasApplicationContext()) {
+            return List.of();
+        }
+        SqlStatementFilter filter = testContext.getApplicationContext()
+                .getBeanProvider(SqlStatementFilter.class).getIfAvailable();
+        return filter != null ? filter.drainViolations() : List.of();
+    }
+}
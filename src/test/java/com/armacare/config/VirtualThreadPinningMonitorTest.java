@@ -0,0 +1,40 @@
+package com.armacare.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+
+// Mode fils virtuels demandé : effectif sur Java 21 (profil java21), sans effet sur Java 17
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+public class VirtualThreadPinningMonitorTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void shouldRunScheduledJobsOnVirtualThreadsAndMonitorPinning() {
+        assertThat(taskScheduler).isInstanceOf(SimpleAsyncTaskScheduler.class);
+        assertThat(context.getBean(VirtualThreadPinningMonitor.class).isRunning()).isTrue();
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void shouldKeepPlatformThreadsBeforeJava21() {
+        assertThat(taskScheduler).isInstanceOf(ThreadPoolTaskScheduler.class);
+        assertThat(context.getBeanNamesForType(VirtualThreadPinningMonitor.class)).isEmpty();
+    }
+}
@@ -0,0 +1,79 @@
+package com.armacare.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.armacare.model.Insurance;
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Patient;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class InsuranceContractRepositoryTest {
+
+    @Autowired
+    private InsuranceContractRepository contractRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        patient = new Patient("Cheikh", "Faye", LocalDate.of(1970, 2, 3), "M", "CNI-CUR",
+                "Rue 4", "Saint-Louis", "32000", "773334455", "cheikh.faye@example.com");
+        entityManager.persist(patient);
+        Insurance insurance = new Insurance("Assurance Test", "Santé", "courant@assurance.sn", "783334455");
+        entityManager.persist(insurance);
+
+        // Le premier contrat actif de la collection n'est pas le bon : résilié, futur ou remplacé
+        contract("C-2019", "2019-01-01", null, false, insurance);
+        contract("C-2021", "2021-01-01", null, true, insurance);
+        contract("C-2023", "2023-01-01", "2099-12-31", true, insurance);
+        contract("C-2098", "2098-01-01", null, true, insurance);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void contract(String number, String startDate, String endDate, boolean active, Insurance insurance) {
+        InsuranceContract contract = new InsuranceContract(number, "Standard", java.sql.Date.valueOf(startDate),
+                endDate != null ? java.sql.Date.valueOf(endDate) : null, 0.0, patient, insurance);
+        contract.setActive(active);
+        entityManager.persist(contract);
+    }
+
+    @Test
+    void shouldResolveMostRecentEffectiveContractInOneQuery() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        InsuranceContract current = contractRepository.findCurrentContract(patient.getId(), LocalDate.of(2024, 6, 15))
+                .orElseThrow();
+
+        assertEquals("C-2023", current.getContractNumber());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void shouldIgnoreContractsNotYetStartedOrInactive() {
+        assertEquals("C-2021", contractRepository.findCurrentContract(patient.getId(), LocalDate.of(2022, 6, 15))
+                .orElseThrow().getContractNumber());
+        assertTrue(contractRepository.findCurrentContract(patient.getId(), LocalDate.of(2020, 6, 15)).isEmpty());
+    }
+}
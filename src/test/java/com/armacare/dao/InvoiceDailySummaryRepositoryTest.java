@@ -0,0 +1,95 @@
+package com.armacare.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.armacare.dto.InvoiceTotals;
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.armacare.model.InvoiceDailySummary;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class InvoiceDailySummaryRepositoryTest {
+
+    private static final long INSURER = 10L;
+    private static final long OTHER_INSURER = 20L;
+
+    @Autowired
+    private InvoiceDailySummaryRepository summaryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void summary(long insuranceId, long professionalId, LocalDate date, InvoiceStatus status,
+            long count, double total, double reimbursable) {
+        entityManager.persist(new InvoiceDailySummary(
+                new InvoiceDailySummary.Key(insuranceId, professionalId, date, status), count, total, reimbursable));
+    }
+
+    @Test
+    void shouldAggregateInsurerSummariesInOneStatementPerGrouping() {
+        summary(INSURER, 1L, LocalDate.of(2024, 5, 3), InvoiceStatus.REMBOURSEE, 1, 10000, 8000);
+        summary(INSURER, 2L, LocalDate.of(2024, 5, 20), InvoiceStatus.REJETEE, 1, 20000, 0);
+        summary(INSURER, 1L, LocalDate.of(2024, 6, 2), InvoiceStatus.REMBOURSEE, 1, 30000, 15000);
+        summary(INSURER, 1L, LocalDate.of(2024, 6, 9), InvoiceStatus.REMBOURSEE, 1, 5000, 4000);
+        // Ligne vidée (factures passées à un autre statut), hors période et autre assureur : exclues
+        summary(INSURER, 2L, LocalDate.of(2024, 6, 9), InvoiceStatus.EN_ATTENTE, 0, 0, 0);
+        summary(INSURER, 1L, LocalDate.of(2024, 7, 1), InvoiceStatus.REMBOURSEE, 1, 99000, 99000);
+        summary(OTHER_INSURER, 1L, LocalDate.of(2024, 6, 5), InvoiceStatus.REMBOURSEE, 1, 77000, 77000);
+        entityManager.flush();
+        entityManager.clear();
+        LocalDate from = LocalDate.of(2024, 5, 1);
+        LocalDate to = LocalDate.of(2024, 7, 1);
+
+        List<InvoiceTotals> monthly = summaryRepository.sumByMonth(INSURER, from, to);
+        assertEquals(2, monthly.size());
+        assertEquals(5, monthly.get(0).month());
+        assertEquals(2L, monthly.get(0).invoiceCount());
+        assertEquals(30000.0, monthly.get(0).totalAmount());
+        assertEquals(22000.0, monthly.get(0).getPatientShare());
+        assertEquals(35000.0, monthly.get(1).totalAmount());
+        assertEquals(19000.0, monthly.get(1).reimbursableAmount());
+
+        List<InvoiceTotals> byProfessional = summaryRepository.sumByProfessional(INSURER, from, to);
+        assertEquals(2, byProfessional.size());
+        assertEquals(1L, byProfessional.get(0).professionalId());
+        assertEquals(3L, byProfessional.get(0).invoiceCount());
+        assertEquals(27000.0, byProfessional.get(0).reimbursableAmount());
+
+        List<InvoiceTotals> byStatus = summaryRepository.sumByStatus(INSURER, from, to);
+        assertEquals(2, byStatus.size());
+        assertEquals(InvoiceStatus.REJETEE, byStatus.get(0).status());
+        assertEquals(20000.0, byStatus.get(0).getPatientShare());
+
+        statistics.clear();
+        List<InvoiceTotals> statement = summaryRepository.sumByMonthProfessionalAndStatus(INSURER, from, to);
+        assertEquals(3, statement.size());
+        InvoiceTotals june = statement.get(2);
+        assertEquals(6, june.month());
+        assertEquals(1L, june.professionalId());
+        assertEquals(InvoiceStatus.REMBOURSEE, june.status());
+        assertEquals(2L, june.invoiceCount());
+        assertEquals(35000.0, june.totalAmount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
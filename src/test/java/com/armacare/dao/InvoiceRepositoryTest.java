@@ -0,0 +1,108 @@
+package com.armacare.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.armacare.dto.InvoiceSummary;
+import com.armacare.model.Insurance;
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Invoice;
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.armacare.model.Patient;
+import com.armacare.model.Professional;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class InvoiceRepositoryTest {
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Professional professional;
+    private int created;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        professional = entityManager.find(Professional.class, 1L);
+    }
+
+    // Chaque facture a son propre patient, son contrat et son assureur
+    private void createInvoices(int count, InvoiceStatus status) {
+        for (int n = 0; n < count; n++) {
+            int i = created++;
+            Patient patient = new Patient("Awa", "Ndiaye" + i, LocalDate.of(1990, 1, 1), "F", "CNI-" + i,
+                    "Rue " + i, "Dakar", "10000", "771234567", "awa" + i + "@example.com");
+            entityManager.persist(patient);
+            Insurance insurance = new Insurance("Assureur " + i, "Santé", "assureur" + i + "@example.com",
+                    "781234567");
+            entityManager.persist(insurance);
+            InsuranceContract contract = new InsuranceContract("C-" + i, "Standard",
+                    java.sql.Date.valueOf("2024-01-01"), patient, insurance);
+            entityManager.persist(contract);
+            Invoice invoice = new Invoice(LocalDate.of(2024, 6, 1).plusDays(n), 10000.0, 0.0, status,
+                    professional, patient, contract);
+            entityManager.persist(invoice);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long statementsToList(Runnable listing) {
+        statistics.clear();
+        listing.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void shouldNotLoadAssociationsWhenReadingSingleInvoice() {
+        createInvoices(1, InvoiceStatus.EN_ATTENTE);
+        Long id = invoiceRepository.findAll().get(0).getId();
+        entityManager.clear();
+
+        Invoice invoice = invoiceRepository.findById(id).orElseThrow();
+
+        assertFalse(Hibernate.isInitialized(invoice.getProfessional()));
+        assertFalse(Hibernate.isInitialized(invoice.getPatient()));
+        assertFalse(Hibernate.isInitialized(invoice.getContract()));
+        // toString n'affiche que les identifiants des associations, sans les charger
+        assertTrue(invoice.toString().contains("professionnel=1, patient=" + invoice.getPatient().getId()));
+        assertFalse(Hibernate.isInitialized(invoice.getProfessional()));
+        assertFalse(Hibernate.isInitialized(invoice.getPatient()));
+        assertFalse(Hibernate.isInitialized(invoice.getContract()));
+    }
+
+    @Test
+    void shouldListInvoiceSummariesWithoutLoadingEntities() {
+        createInvoices(10, InvoiceStatus.REMBOURSEE);
+
+        long statements = statementsToList(() -> {
+            List<InvoiceSummary> summaries = invoiceRepository.findSummariesByProfessionalId(1L);
+            assertEquals(10, summaries.size());
+            assertEquals(LocalDate.of(2024, 6, 10), summaries.get(0).invoiceDate());
+            assertEquals("Assureur 9", summaries.get(0).insuranceName());
+        });
+
+        assertEquals(1, statements);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
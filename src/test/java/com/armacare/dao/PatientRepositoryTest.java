@@ -0,0 +1,118 @@
+package com.armacare.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.armacare.dto.PatientCoverage;
+import com.armacare.model.Coverage;
+import com.armacare.model.Insurance;
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Patient;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class PatientRepositoryTest {
+
+    private static final int PATIENT_COUNT = 200;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void shouldBatchInsertsInsteadOfOneRoundTripPerRow() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < PATIENT_COUNT; i++) {
+            patients.add(new Patient("Awa", "Ndiaye" + i, LocalDate.of(1990, 1, 1), "F", "CNI-" + i,
+                    "Rue " + i, "Dakar", "10000", "+221770000000", "awa" + i + "@example.com"));
+        }
+        patientRepository.saveAll(patients);
+        entityManager.flush();
+
+        // 200 lignes : 4 réservations de plages d'identifiants (séquence par 50) + 4 lots d'INSERT,
+        // là où GenerationType.IDENTITY imposait 200 allers-retours
+        assertEquals(PATIENT_COUNT, statistics.getEntityInsertCount());
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 10, "Trop d'instructions JDBC préparées: " + statements);
+    }
+
+    @Test
+    void shouldAllocateDistinctIdsFromSequence() {
+        Patient first = patientRepository.save(new Patient("Moussa", "Sow", LocalDate.of(1985, 5, 12), "M",
+                "CNI-A", "Rue 1", "Dakar", "10000", "771112233", "moussa.sow@example.com"));
+        Patient second = patientRepository.save(new Patient("Khady", "Fall", LocalDate.of(1992, 3, 4), "F",
+                "CNI-B", "Rue 2", "Thiès", "21000", "781112233", "khady.fall@example.com"));
+        entityManager.flush();
+
+        assertTrue(first.getId() != null && second.getId() != null);
+        assertEquals(first.getId() + 1, second.getId());
+    }
+
+    @Test
+    void shouldResolveEligibilityInOneQuery() {
+        Patient patient = patientRepository.save(new Patient("Aminata", "Ba", LocalDate.of(1978, 7, 9), "F",
+                "CNI-E", "Rue 3", "Dakar", "10000", "771239876", "aminata.ba@example.com"));
+        Insurance insurance = new Insurance("Assurance Test", "Santé", "eligibilite@assurance.sn", "781239876");
+        entityManager.persist(insurance);
+        // Ancien contrat résilié, puis contrat en cours qui couvre le dentaire mais pas l'optique
+        InsuranceContract expired = new InsuranceContract("C-OLD", "Basique", java.sql.Date.valueOf("2020-01-01"),
+                null, 0.0, patient, insurance);
+        expired.setActive(false);
+        expired.addCoverage(new Coverage("optique", 50, null));
+        InsuranceContract current = new InsuranceContract("C-NEW", "Premium", java.sql.Date.valueOf("2023-01-01"),
+                null, 2000.0, patient, insurance);
+        current.addCoverage(new Coverage("Dentaire", 80, 150000.0));
+        entityManager.persist(expired);
+        entityManager.persist(current);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<PatientCoverage> covered = patientRepository.findCoverage("CNI-E", "dentaire",
+                java.sql.Date.valueOf("2024-06-15"), Limit.of(1));
+        assertEquals(1, covered.size());
+        assertEquals("C-NEW", covered.get(0).contractNumber());
+        assertEquals(80, covered.get(0).coverageRate());
+        assertEquals("Assurance Test", covered.get(0).insuranceName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        PatientCoverage notCovered = patientRepository.findCoverage("CNI-E", "optique",
+                java.sql.Date.valueOf("2024-06-15"), Limit.of(1)).get(0);
+        assertEquals("C-NEW", notCovered.contractNumber());
+        assertNull(notCovered.coverageId());
+
+        PatientCoverage beforeAnyContract = patientRepository.findCoverage("CNI-E", "dentaire",
+                java.sql.Date.valueOf("2019-06-15"), Limit.of(1)).get(0);
+        assertNull(beforeAnyContract.contractId());
+
+        assertTrue(patientRepository.findCoverage("CNI-INCONNU", "dentaire",
+                java.sql.Date.valueOf("2024-06-15"), Limit.of(1)).isEmpty());
+    }
+}
@@ -5,6 +5,8 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -13,7 +15,9 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
+import com.armacare.dto.ProfessionalView;
 import com.armacare.model.Professional;
 import com.armacare.model.Professional.AccountStatus;
 
@@ -222,4 +226,68 @@ public class ProfessionalRepositoryTest {
         Optional<Professional> deletedProfessional = professionalRepository.findById(1L);
         assertFalse(deletedProfessional.isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGetNextPageAfterLastId() {
+        List<ProfessionalView> firstPage = professionalRepository.findViewPage(0L, Limit.of(2));
+        assertEquals(2, firstPage.size());
+        assertEquals("Saliou", firstPage.get(0).firstName());
+        assertEquals("Fatima", firstPage.get(1).firstName());
+
+        List<ProfessionalView> secondPage = professionalRepository.findViewPage(firstPage.get(1).id(), Limit.of(2));
+        assertEquals(1, secondPage.size());
+        assertEquals("Saidou", secondPage.get(0).firstName());
+    }
+
+    @Test
+    void shouldStreamAllProfessionalsOrderedById() {
+        try (Stream<ProfessionalView> professionals = professionalRepository.streamAllViews()) {
+            List<String> firstNames = professionals.map(ProfessionalView::firstName).toList();
+            assertEquals(List.of("Saliou", "Fatima", "Saidou"), firstNames);
+        }
+    }
+
+    @Test
+    void shouldSearchWithCombinedCriteria() {
+        Specification<Professional> specification = Specification
+                .where(ProfessionalSpecifications.inCity("Dakar"))
+                .and(ProfessionalSpecifications.hasAccountStatus(AccountStatus.PENDING_VERIFICATION))
+                .and(ProfessionalSpecifications.lastNameStartsWith("Di"));
+
+        List<ProfessionalView> professionals = professionalRepository.findViews(specification, Limit.unlimited());
+
+        assertEquals(1, professionals.size());
+        assertEquals("fatima.diop@example.com", professionals.get(0).email());
+    }
+
+    @Test
+    void shouldIgnoreMissingCriteriaAndSeekAfterLastId() {
+        Specification<Professional> specification = Specification
+                .where(ProfessionalSpecifications.hasSpeciality(null))
+                .and(ProfessionalSpecifications.inCity(" "))
+                .and(ProfessionalSpecifications.hasAccountStatus(AccountStatus.PENDING_VERIFICATION))
+                .and(ProfessionalSpecifications.idGreaterThan(2L));
+
+        List<ProfessionalView> professionals = professionalRepository.findViews(specification, Limit.of(10));
+
+        assertEquals(1, professionals.size());
+        assertEquals("Saidou", professionals.get(0).firstName());
+    }
+
+    @Test
+    void shouldProjectEveryColumnIntoView() {
+        List<ProfessionalView> professionals = professionalRepository.findViewsBySpeciality("Medecin Chirurgien");
+
+        assertEquals(1, professionals.size());
+        assertEquals(ProfessionalView.from(professionalRepository.findById(1L).orElseThrow()), professionals.get(0));
+        assertEquals(2, professionalRepository.findViewsByCity("Dakar").size());
+        assertEquals(2, professionalRepository.findViewsByAccountStatus(AccountStatus.PENDING_VERIFICATION).size());
+    }
+
+    @Test
+    void shouldTreatLikeWildcardsInNamePrefixLiterally() {
+        List<Professional> professionals = professionalRepository.findAll(ProfessionalSpecifications.lastNameStartsWith("%"));
+
+        assertEquals(0, professionals.size());
+    }
+}
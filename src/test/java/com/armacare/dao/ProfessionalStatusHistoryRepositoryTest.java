@@ -0,0 +1,85 @@
+package com.armacare.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.armacare.dto.StatusChange;
+import com.armacare.model.Professional.AccountStatus;
+import com.armacare.model.ProfessionalStatusHistory;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class ProfessionalStatusHistoryRepositoryTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Autowired
+    private ProfessionalStatusHistoryRepository historyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private Long change(long professionalId, AccountStatus previous, AccountStatus status, LocalDateTime changedAt) {
+        ProfessionalStatusHistory history = new ProfessionalStatusHistory(professionalId, previous, status,
+                "motif " + status, changedAt);
+        entityManager.persist(history);
+        return history.getId();
+    }
+
+    @Test
+    void shouldPageTimelineFromMostRecentChange() {
+        Long created = change(2L, null, AccountStatus.PENDING_VERIFICATION, T0);
+        Long activated = change(2L, AccountStatus.PENDING_VERIFICATION, AccountStatus.ACTIVE, T0.plusDays(1));
+        // Deux changements à la même date : départagés par l'id
+        Long suspended = change(2L, AccountStatus.ACTIVE, AccountStatus.SUSPENDED, T0.plusDays(2));
+        Long reactivated = change(2L, AccountStatus.SUSPENDED, AccountStatus.ACTIVE, T0.plusDays(2));
+        change(3L, null, AccountStatus.PENDING_VERIFICATION, T0.plusDays(3));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<StatusChange> first = historyRepository.findTimeline(2L, Limit.of(3));
+        List<StatusChange> second = historyRepository.findTimelineAfter(2L, first.get(2).id(), Limit.of(3));
+
+        assertThat(first).extracting(StatusChange::id).containsExactly(reactivated, suspended, activated);
+        assertThat(first.get(0).previousStatus()).isEqualTo(AccountStatus.SUSPENDED);
+        assertThat(first.get(0).reason()).isEqualTo("motif ACTIVE");
+        assertThat(second).extracting(StatusChange::id).containsExactly(created);
+        assertThat(second.get(0).previousStatus()).isNull();
+        // Une instruction par page, sans entité chargée
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void shouldResumeAfterCursorWithinSameTimestamp() {
+        Long suspended = change(2L, AccountStatus.ACTIVE, AccountStatus.SUSPENDED, T0);
+        Long reactivated = change(2L, AccountStatus.SUSPENDED, AccountStatus.ACTIVE, T0);
+        entityManager.flush();
+
+        assertThat(historyRepository.findTimelineAfter(2L, reactivated, Limit.of(10)))
+                .extracting(StatusChange::id).containsExactly(suspended);
+        assertThat(historyRepository.findTimelineAfter(2L, suspended, Limit.of(10))).isEmpty();
+    }
+}
@@ -0,0 +1,212 @@
+package com.armacare.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.armacare.load.LoadTestDataSeeder.SeededData;
+import com.armacare.load.LoadTestReport.EndpointStats;
+
+import jakarta.persistence.EntityManager;
+
+// Test de charge : l'application complète sur une base H2 dédiée, remplie selon les volumes demandés,
+// sollicitée par des utilisateurs simulés suivant un mélange de requêtes proche de la production.
+// Exclu de la construction normale ; lancement : mvn -B test -Pload-test [-Darmacare.load.users=32 ...]
+// Le rapport est écrit dans target/load-test/. Chaque utilisateur enchaîne ses requêtes sans pause
+// (modèle fermé) : les latences sont celles vues par un client qui attend chaque réponse.
+// Avec -Pjava21, le serveur traite les requêtes sur des fils virtuels : le rapport est écrit dans
+// target/load-test/virtual au lieu de target/load-test/platform, pour comparer les deux modes.
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:arma_care_load_db;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+public class ArmaCareLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ArmaCareLoadTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${armacare.load.professionals:2000}")
+    private int professionals;
+
+    @Value("${armacare.load.patients:5000}")
+    private int patients;
+
+    @Value("${armacare.load.invoices:20000}")
+    private int invoices;
+
+    @Value("${armacare.load.users:16}")
+    private int users;
+
+    @Value("${armacare.load.warmup:PT10S}")
+    private Duration warmup;
+
+    @Value("${armacare.load.duration:PT30S}")
+    private Duration duration;
+
+    @Value("${armacare.load.seed:42}")
+    private long seed;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int tomcatThreads;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // Point d'accès, poids dans le mélange et construction d'une requête à partir d'un tirage aléatoire
+    private record Scenario(String name, int weight, Function<Random, HttpRequest> request) {
+    }
+
+    private List<Scenario> scenarios(SeededData data) {
+        return List.of(
+                new Scenario("GET professionals page", 10, random -> get("/api/professionals?size=50")),
+                new Scenario("GET professionals search", 15, random -> get("/api/professionals/search?city="
+                        + URLEncoder.encode(pick(random, LoadTestDataSeeder.CITIES), StandardCharsets.UTF_8)
+                        + "&status=ACTIVE&size=20")),
+                new Scenario("GET professional by id", 20, random -> get("/api/professionals/"
+                        + data.professionalIds()[random.nextInt(data.professionalIds().length)])),
+                new Scenario("GET by registration number", 15, random ->
+                        get("/api/professionals/by-registration-number?registrationNumber="
+                                + data.registrationNumbers()[random.nextInt(data.registrationNumbers().length)])),
+                new Scenario("GET invoices by patient", 30, random -> get("/api/invoices/by-patient?patientId="
+                        + data.patientIds()[random.nextInt(data.patientIds().length)])),
+                new Scenario("POST adjudicate invoice", 10, random -> HttpRequest.newBuilder(uri(
+                                "/api/invoices/" + data.invoiceIds()[random.nextInt(data.invoiceIds().length)]
+                                        + "/adjudicate"))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .timeout(Duration.ofSeconds(30))
+                        .build()));
+    }
+
+    @Test
+    void shouldSustainProductionMix() throws Exception {
+        long seedStart = System.nanoTime();
+        SeededData data = new LoadTestDataSeeder(entityManager, transactionManager, seed)
+                .seed(professionals, patients, invoices);
+        log.info("Jeu de données chargé en {} ms : {} professionnels, {} patients, {} factures",
+                (System.nanoTime() - seedStart) / 1_000_000, professionals, patients, invoices);
+
+        List<Scenario> scenarios = scenarios(data);
+        LoadTestReport report = new LoadTestReport();
+        scenarios.forEach(scenario -> report.endpoint(scenario.name()));
+
+        run(scenarios, report, warmup);
+        report.reset();
+        run(scenarios, report, duration);
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("professionals", professionals);
+        parameters.put("patients", patients);
+        parameters.put("invoices", invoices);
+        parameters.put("users", users);
+        parameters.put("warmupSeconds", warmup.toSeconds());
+        parameters.put("seed", seed);
+        String threads = virtualThreads && Runtime.version().feature() >= 21 ? "virtual" : "platform";
+        parameters.put("threads", threads);
+        parameters.put("tomcatMaxThreads", threads.equals("virtual") ? null : tomcatThreads);
+        report.write(Path.of("target", "load-test", threads), duration, parameters);
+        log.info("Test de charge ({} utilisateurs, {} s, fils {}) :\n{}", users, duration.toSeconds(), threads,
+                report.toText(duration));
+
+        assertThat(report.getEndpoints()).allMatch(stats -> stats.getRequests() > 0);
+        assertThat(report.serverErrors()).isZero();
+    }
+
+    private void run(List<Scenario> scenarios, LoadTestReport report, Duration phase) throws Exception {
+        int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        long deadline = System.nanoTime() + phase.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        try {
+            List<Future<?>> virtualUsers = new ArrayList<>(users);
+            for (int user = 0; user < users; user++) {
+                // Une graine par utilisateur : la même séquence de requêtes d'une exécution à l'autre
+                Random random = new Random(seed + user);
+                virtualUsers.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Scenario scenario = pickScenario(scenarios, totalWeight, random);
+                        EndpointStats stats = report.endpoint(scenario.name());
+                        HttpRequest request = scenario.request().apply(random);
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request,
+                                    HttpResponse.BodyHandlers.discarding());
+                            stats.record(System.nanoTime() - start, response.statusCode());
+                        } catch (IOException e) {
+                            stats.recordFailure();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> virtualUser : virtualUsers) {
+                virtualUser.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Scenario pickScenario(List<Scenario> scenarios, int totalWeight, Random random) {
+        int draw = random.nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            draw -= scenario.weight();
+            if (draw < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private static String pick(Random random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().timeout(Duration.ofSeconds(30)).build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,154 @@
+package com.armacare.load;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.armacare.model.Coverage;
+import com.armacare.model.Insurance;
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Invoice;
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.armacare.model.Patient;
+import com.armacare.model.Professional;
+import com.armacare.model.Professional.AccountStatus;
+
+import jakarta.persistence.EntityManager;
+
+// Jeu de données du test de charge, généré de façon déterministe (graine fixe) et enregistré par lots :
+// professionnels, assureurs, patients avec un contrat chacun, puis factures en attente
+class LoadTestDataSeeder {
+
+    static final List<String> SPECIALITIES = List.of("Medecin généraliste", "Pédiatre", "Dentiste",
+            "Cardiologue", "Gynécologue", "Ophtalmologue", "Pharmacien", "Infirmier");
+    static final List<String> CITIES = List.of("Dakar", "Thiès", "Saint-Louis", "Kaolack", "Ziguinchor",
+            "Touba", "Mbour");
+    // Le dernier type n'est couvert par aucun contrat : une part des liquidations aboutit à un rejet
+    static final List<String> COVERAGE_TYPES = List.of("consultation", "pharmacie", "dentaire",
+            "hospitalisation", "optique");
+
+    private static final int FLUSH_INTERVAL = 50;
+    private static final int INSURANCES = 20;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random;
+
+    LoadTestDataSeeder(EntityManager entityManager, PlatformTransactionManager transactionManager, long seed) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.random = new Random(seed);
+    }
+
+    SeededData seed(int professionalCount, int patientCount, int invoiceCount) {
+        long[] professionalIds = new long[professionalCount];
+        String[] registrationNumbers = new String[professionalCount];
+        long[] patientIds = new long[patientCount];
+        long[] invoiceIds = new long[invoiceCount];
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < professionalCount; i++) {
+                Professional professional = professional(i);
+                entityManager.persist(professional);
+                professionalIds[i] = professional.getId();
+                registrationNumbers[i] = professional.getRegistrationNumber();
+                flushPeriodically(i);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Insurance[] insurances = new Insurance[INSURANCES];
+            for (int i = 0; i < INSURANCES; i++) {
+                insurances[i] = new Insurance("Assureur " + i, "Santé", "assureur" + i + "@charge.example.com",
+                        "78" + String.format("%07d", 9_000_000 + i));
+                entityManager.persist(insurances[i]);
+            }
+            for (int i = 0; i < patientCount; i++) {
+                Patient patient = new Patient("Patient" + i, "Nom" + i, LocalDate.of(1960 + i % 50, 1 + i % 12, 1),
+                        i % 2 == 0 ? "F" : "M", "LOAD-CNI-" + i, i + " rue de la Charge",
+                        CITIES.get(i % CITIES.size()), "10000", "77" + String.format("%07d", i % 10_000_000),
+                        "patient" + i + "@charge.example.com");
+                entityManager.persist(patient);
+                InsuranceContract contract = new InsuranceContract("LOAD-C-" + i, "Standard",
+                        java.sql.Date.valueOf("2020-01-01"), null, 2000.0, patient,
+                        entityManager.getReference(Insurance.class, insurances[i % INSURANCES].getId()));
+                contract.addCoverage(new Coverage("consultation", 80, 50000.0));
+                contract.addCoverage(new Coverage("pharmacie", 70, 100000.0));
+                contract.addCoverage(new Coverage("dentaire", 50, 75000.0));
+                contract.addCoverage(new Coverage("hospitalisation", 90, 1000000.0));
+                entityManager.persist(contract);
+                patientIds[i] = patient.getId();
+                if ((i + 1) % FLUSH_INTERVAL == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    for (int j = 0; j < INSURANCES; j++) {
+                        insurances[j] = entityManager.getReference(Insurance.class, insurances[j].getId());
+                    }
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+
+        // Les factures référencent patients et contrats par identifiant : un contrat par patient
+        long[] contractIds = entityManager.createQuery(
+                "select c.id from InsuranceContract c where c.contractNumber like 'LOAD-C-%' order by c.patient.id",
+                Long.class).getResultList().stream().mapToLong(Long::longValue).toArray();
+        int chunk = 5_000;
+        for (int start = 0; start < invoiceCount; start += chunk) {
+            int from = start;
+            int to = Math.min(invoiceCount, start + chunk);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = from; i < to; i++) {
+                    int patient = random.nextInt(patientCount);
+                    Invoice invoice = new Invoice(LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365)),
+                            (double) (5_000 + random.nextInt(195_000)), 0.0, InvoiceStatus.EN_ATTENTE,
+                            entityManager.getReference(Professional.class,
+                                    professionalIds[random.nextInt(professionalCount)]),
+                            entityManager.getReference(Patient.class, patientIds[patient]),
+                            entityManager.getReference(InsuranceContract.class, contractIds[patient]));
+                    invoice.setCoverageType(COVERAGE_TYPES.get(random.nextInt(COVERAGE_TYPES.size())));
+                    entityManager.persist(invoice);
+                    invoiceIds[i] = invoice.getId();
+                    flushPeriodically(i);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return new SeededData(professionalIds, registrationNumbers, patientIds, invoiceIds);
+    }
+
+    private Professional professional(int i) {
+        Professional professional = new Professional();
+        professional.setFirstName("Prénom" + i);
+        professional.setLastName("Nom" + i);
+        professional.setSpeciality(SPECIALITIES.get(random.nextInt(SPECIALITIES.size())));
+        professional.setRegistrationNumber("LOAD-" + i);
+        professional.setPhone("76" + String.format("%07d", i % 10_000_000));
+        professional.setEmail("pro" + i + "@charge.example.com");
+        professional.setAddress(i + " avenue de la Charge");
+        professional.setCity(CITIES.get(random.nextInt(CITIES.size())));
+        professional.setCountry("Sénégal");
+        professional.setAccountStatus(random.nextInt(10) == 0 ? AccountStatus.PENDING_VERIFICATION : AccountStatus.ACTIVE);
+        professional.setStatusChangeDate(LocalDateTime.of(2025, 1, 1, 12, 0));
+        professional.setStatusChangeReason("Jeu de données du test de charge");
+        return professional;
+    }
+
+    private void flushPeriodically(int i) {
+        if ((i + 1) % FLUSH_INTERVAL == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    record SeededData(long[] professionalIds, String[] registrationNumbers, long[] patientIds, long[] invoiceIds) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.armacare.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Latences (HdrHistogram, en microsecondes) et compteurs par point d'accès, puis rapport texte et JSON
+class LoadTestReport {
+
+    // Jusqu'à une minute par requête, trois chiffres significatifs
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+
+    EndpointStats endpoint(String name) {
+        return endpoints.computeIfAbsent(name, EndpointStats::new);
+    }
+
+    // Fin de la chauffe : seules les mesures de la phase suivante figurent dans le rapport
+    void reset() {
+        endpoints.values().forEach(EndpointStats::reset);
+    }
+
+    List<EndpointStats> getEndpoints() {
+        return new ArrayList<>(endpoints.values());
+    }
+
+    long serverErrors() {
+        return endpoints.values().stream().mapToLong(stats -> stats.serverErrors.sum() + stats.failures.sum()).sum();
+    }
+
+    String toText(Duration duration) {
+        StringBuilder text = new StringBuilder(String.format(
+                "%-28s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Point d'accès", "Requêtes", "Erreurs", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        for (EndpointStats stats : endpoints.values()) {
+            text.append(row(stats.name, stats.latencies, stats.errors(), duration));
+            total.add(stats.latencies);
+            totalErrors += stats.errors();
+        }
+        text.append(row("TOTAL", total, totalErrors, duration));
+        return text.toString();
+    }
+
+    private static String row(String name, Histogram latencies, long errors, Duration duration) {
+        return String.format("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, latencies.getTotalCount(), errors, throughput(latencies.getTotalCount(), duration),
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    void write(Path directory, Duration duration, Map<String, Object> parameters) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("load-test-report.txt"), toText(duration));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (EndpointStats stats : endpoints.values()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", stats.name);
+            row.put("requests", stats.latencies.getTotalCount());
+            row.put("clientErrors", stats.clientErrors.sum());
+            row.put("serverErrors", stats.serverErrors.sum());
+            row.put("failures", stats.failures.sum());
+            row.put("throughputPerSecond", throughput(stats.latencies.getTotalCount(), duration));
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (double percentile : new double[] {50, 75, 90, 95, 99, 99.9, 99.99}) {
+                percentiles.put("p" + percentile, millis(stats.latencies.getValueAtPercentile(percentile)));
+            }
+            percentiles.put("max", millis(stats.latencies.getMaxValue()));
+            row.put("latencyMillis", percentiles);
+            rows.add(row);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("parameters", parameters);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("endpoints", rows);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("load-test-report.json").toFile(), report);
+    }
+
+    private static double throughput(long count, Duration duration) {
+        return count / (duration.toMillis() / 1000.0);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    static final class EndpointStats {
+
+        private final String name;
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        // Requêtes sans réponse HTTP (délai dépassé, connexion refusée)
+        private final LongAdder failures = new LongAdder();
+
+        private EndpointStats(String name) {
+            this.name = name;
+        }
+
+        void record(long latencyNanos, int status) {
+            latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+            if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            }
+        }
+
+        void recordFailure() {
+            failures.increment();
+        }
+
+        long errors() {
+            return clientErrors.sum() + serverErrors.sum() + failures.sum();
+        }
+
+        String getName() {
+            return name;
+        }
+
+        long getRequests() {
+            return latencies.getTotalCount();
+        }
+
+        private void reset() {
+            latencies.reset();
+            clientErrors.reset();
+            serverErrors.reset();
+            failures.reset();
+        }
+    }
+}
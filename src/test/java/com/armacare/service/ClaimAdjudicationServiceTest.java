@@ -0,0 +1,198 @@
+package com.armacare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.armacare.dao.CoverageRepository;
+import com.armacare.dao.InsuranceContractRepository;
+import com.armacare.dao.InvoiceRepository;
+import com.armacare.dto.AdjudicationResult;
+import com.armacare.exception.InvoiceNotFoundException;
+import com.armacare.model.Coverage;
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Invoice;
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.armacare.model.Patient;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ClaimAdjudicationServiceTest {
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private InsuranceContractRepository contractRepository;
+
+    @Mock
+    private CoverageRepository coverageRepository;
+
+    private ClaimAdjudicationService adjudicationService;
+
+    private Patient patient;
+    private InsuranceContract contract;
+
+    @BeforeEach
+    void setUp() {
+        adjudicationService = new ClaimAdjudicationService(invoiceRepository, contractRepository,
+                coverageRepository, 100, Duration.ofMinutes(5));
+        patient = new Patient();
+        patient.setId(7L);
+        contract = new InsuranceContract("C-001", "Standard", java.sql.Date.valueOf("2024-01-01"),
+                null, 5000.0, patient, null);
+        contract.setId(11L);
+        when(coverageRepository.findByContractId(11L)).thenReturn(List.of(
+                new Coverage("dentaire", 80, 40000.0),
+                new Coverage("Hospitalisation", 100, null),
+                new Coverage("optique", 50, 20000.0)));
+    }
+
+    private Invoice invoice(String coverageType, double totalAmount) {
+        Invoice invoice = new Invoice(LocalDate.parse("2024-06-15"), totalAmount, 0.0,
+                InvoiceStatus.EN_ATTENTE, null, patient, contract);
+        invoice.setId(1L);
+        invoice.setCoverageType(coverageType);
+        return invoice;
+    }
+
+    @Test
+    void shouldApplyDeductibleAndRate() {
+        Invoice invoice = invoice("DENTAIRE", 30000);
+
+        AdjudicationResult result = adjudicationService.adjudicate(invoice);
+
+        // (30000 - 5000) x 80 %
+        assertThat(result.getReimbursableAmount()).isEqualTo(20000.0);
+        assertThat(result.getStatus()).isEqualTo(InvoiceStatus.PARTIELLEMENT_REMBOURSEE);
+        assertThat(invoice.getReimbursableAmount()).isEqualTo(20000.0);
+        assertThat(invoice.getStatus()).isEqualTo(InvoiceStatus.PARTIELLEMENT_REMBOURSEE);
+        assertThat(invoice.getPatientShare()).isEqualTo(10000.0);
+    }
+
+    @Test
+    void shouldCapAtCoverageCeiling() {
+        AdjudicationResult result = adjudicationService.adjudicate(invoice("optique", 100000));
+
+        assertThat(result.getReimbursableAmount()).isEqualTo(20000.0);
+        assertThat(result.getStatus()).isEqualTo(InvoiceStatus.PARTIELLEMENT_REMBOURSEE);
+    }
+
+    @Test
+    void shouldFullyReimburseWithoutDeductible() {
+        contract.setDeductible(null);
+
+        AdjudicationResult result = adjudicationService.adjudicate(invoice("hospitalisation", 250000));
+
+        assertThat(result.getReimbursableAmount()).isEqualTo(250000.0);
+        assertThat(result.getStatus()).isEqualTo(InvoiceStatus.REMBOURSEE);
+    }
+
+    @Test
+    void shouldRejectUncoveredCareOrAmountBelowDeductible() {
+        AdjudicationResult uncovered = adjudicationService.adjudicate(invoice("kinésithérapie", 30000));
+        AdjudicationResult belowDeductible = adjudicationService.adjudicate(invoice("dentaire", 4000));
+
+        assertThat(uncovered.getStatus()).isEqualTo(InvoiceStatus.REJETEE);
+        assertThat(uncovered.getReimbursableAmount()).isZero();
+        assertThat(belowDeductible.getStatus()).isEqualTo(InvoiceStatus.REJETEE);
+    }
+
+    @Test
+    void shouldLeaveInvoiceWithoutCoverageTypePending() {
+        Invoice invoice = invoice(null, 30000);
+
+        AdjudicationResult result = adjudicationService.adjudicate(invoice);
+
+        assertThat(result.getStatus()).isEqualTo(InvoiceStatus.EN_ATTENTE);
+        assertThat(result.getReason()).isEqualTo(ClaimAdjudicationService.MISSING_COVERAGE_TYPE);
+        assertThat(invoice.getStatus()).isEqualTo(InvoiceStatus.EN_ATTENTE);
+        assertThat(invoice.getReimbursableAmount()).isZero();
+    }
+
+    @Test
+    void shouldResolvePatientContractWhenInvoiceContractIsNotEffective() {
+        InsuranceContract expired = new InsuranceContract("C-000", "Basique", java.sql.Date.valueOf("2020-01-01"),
+                java.sql.Date.valueOf("2023-12-31"), 0.0, patient, null);
+        expired.setId(10L);
+        Invoice invoice = invoice("dentaire", 30000);
+        invoice.setContract(expired);
+        when(contractRepository.findCurrentContract(eq(7L), any())).thenReturn(Optional.of(contract));
+
+        AdjudicationResult result = adjudicationService.adjudicate(invoice);
+
+        assertThat(result.getContractId()).isEqualTo(11L);
+        assertThat(invoice.getContract()).isSameAs(contract);
+    }
+
+    @Test
+    void shouldRejectWhenPatientHasNoEffectiveContract() {
+        contract.setActive(false);
+        when(contractRepository.findCurrentContract(eq(7L), any())).thenReturn(Optional.empty());
+
+        AdjudicationResult result = adjudicationService.adjudicate(invoice("dentaire", 30000));
+
+        assertThat(result.getStatus()).isEqualTo(InvoiceStatus.REJETEE);
+        assertThat(result.getContractId()).isNull();
+    }
+
+    @Test
+    void shouldCompileContractRulesOnce() {
+        adjudicationService.adjudicate(invoice("dentaire", 30000));
+        adjudicationService.adjudicate(invoice("optique", 30000));
+
+        verify(coverageRepository, times(1)).findByContractId(11L);
+
+        adjudicationService.evictRules(11L);
+        adjudicationService.adjudicate(invoice("optique", 30000));
+
+        verify(coverageRepository, times(2)).findByContractId(11L);
+    }
+
+    @Test
+    void shouldCompileRulesPerDeductible() {
+        CoverageRuleTable withDeductible = adjudicationService.rulesFor(11L, 5000.0);
+        CoverageRuleTable withoutDeductible = adjudicationService.rulesFor(11L, 0.0);
+
+        assertThat(withDeductible.reimbursableAmount("dentaire", 30000)).isEqualTo(20000.0);
+        assertThat(withoutDeductible.reimbursableAmount("dentaire", 30000)).isEqualTo(24000.0);
+    }
+
+    @Test
+    void shouldRefusePaidInvoiceAndUnknownInvoice() {
+        Invoice paid = invoice("dentaire", 30000);
+        paid.setStatus(InvoiceStatus.PAYEE);
+        when(invoiceRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class, () -> adjudicationService.adjudicate(paid));
+        assertThrows(InvoiceNotFoundException.class, () -> adjudicationService.adjudicate(2L));
+    }
+
+    @Test
+    void shouldKeepMostFavourableRuleForDuplicateCoverageType() {
+        CoverageRuleTable rules = CoverageRuleTable.compile(List.of(
+                new Coverage("optique", 50, 20000.0),
+                new Coverage("Optique", 70, 10000.0),
+                new Coverage("dentaire", 80, null)), 0.0);
+
+        assertThat(rules.size()).isEqualTo(2);
+        assertThat(rules.reimbursableAmount("OPTIQUE", 10000)).isEqualTo(7000.0);
+        assertThat(rules.reimbursableAmount("dentaire", 12345.67)).isEqualTo(9876.54);
+        assertThat(rules.indexOf(null)).isEqualTo(CoverageRuleTable.NOT_COVERED);
+    }
+}
@@ -0,0 +1,81 @@
+package com.armacare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.armacare.dao.CoverageRepository;
+import com.armacare.dao.InsuranceContractRepository;
+import com.armacare.dao.InsuranceRepository;
+import com.armacare.dao.PatientRepository;
+import com.armacare.model.Coverage;
+import com.armacare.model.Insurance;
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Patient;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class CoverageRulesEvictionListenerTest {
+
+    @Autowired
+    private ClaimAdjudicationService adjudicationService;
+
+    @Autowired
+    private InsuranceContractRepository contractRepository;
+
+    @Autowired
+    private CoverageRepository coverageRepository;
+
+    @Autowired
+    private InsuranceRepository insuranceRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private InsuranceContract contract;
+
+    @BeforeEach
+    void setUp() {
+        Patient patient = patientRepository.save(new Patient("Moussa", "Diop", LocalDate.of(1985, 3, 2), "M",
+                "CNI-RULES", "Rue 2", "Dakar", "10000", "771234568", "moussa.rules@example.com"));
+        Insurance insurance = insuranceRepository.save(new Insurance("Assurance Règles", "Santé",
+                "regles@assurance.sn", "781234568"));
+        contract = new InsuranceContract("C-RULES", "Standard", java.sql.Date.valueOf("2024-01-01"),
+                null, 0.0, patient, insurance);
+        contract.addCoverage(new Coverage("dentaire", 80, null));
+        contract = contractRepository.save(contract);
+    }
+
+    @AfterEach
+    void tearDown() {
+        contractRepository.deleteById(contract.getId());
+        insuranceRepository.deleteById(contract.getInsurance().getId());
+        patientRepository.deleteById(contract.getPatient().getId());
+    }
+
+    @Test
+    void shouldRecompileRulesOnceCoverageIsCommitted() {
+        assertThat(adjudicationService.rulesFor(contract.getId(), 0.0).indexOf("optique"))
+                .isEqualTo(CoverageRuleTable.NOT_COVERED);
+
+        Coverage optique = new Coverage("optique", 50, null);
+        optique.setContract(contract);
+        coverageRepository.save(optique);
+
+        assertThat(adjudicationService.rulesFor(contract.getId(), 0.0).reimbursableAmount("optique", 10000))
+                .isEqualTo(5000.0);
+
+        optique.setCoverageRate(70);
+        coverageRepository.save(optique);
+
+        assertThat(adjudicationService.rulesFor(contract.getId(), 0.0).reimbursableAmount("optique", 10000))
+                .isEqualTo(7000.0);
+    }
+}
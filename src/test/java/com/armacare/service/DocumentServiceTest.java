@@ -0,0 +1,91 @@
+package com.armacare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.armacare.dao.InsuranceRepository;
+import com.armacare.dao.ProfessionalRepository;
+import com.armacare.dto.StoredDocument;
+import com.armacare.exception.ProfessionalNotFoundException;
+import com.armacare.model.Insurance;
+import com.armacare.model.Professional;
+import com.armacare.service.DocumentStorageService.Upload;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class DocumentServiceTest {
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentStorageService storage;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private InsuranceRepository insuranceRepository;
+
+    private String previousDiplomaPath;
+
+    @AfterEach
+    void tearDown() {
+        Professional professional = professionalRepository.findById(1L).orElseThrow();
+        professional.setDiplomaPath(previousDiplomaPath);
+        professionalRepository.save(professional);
+        insuranceRepository.deleteAll();
+    }
+
+    private static Upload upload(String content) {
+        return Upload.of(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void shouldStoreDocumentThenRecordItsPath() throws Exception {
+        previousDiplomaPath = professionalRepository.findById(1L).orElseThrow().getDiplomaPath();
+
+        StoredDocument document = documentService.attachProfessionalDocument(1L, Professional.DocumentType.DIPLOMA,
+                upload("diplôme de médecine"));
+
+        assertThat(professionalRepository.findById(1L).orElseThrow().getDiplomaPath()).isEqualTo(document.path());
+        assertThat(Files.readString(storage.resolve(document.path()))).isEqualTo("diplôme de médecine");
+    }
+
+    @Test
+    void shouldShareStoredFileBetweenIdenticalDocuments() {
+        Insurance insurance = insuranceRepository.save(new Insurance("Assurance Documents", "Santé",
+                "documents@assurance.sn", "783334455"));
+
+        StoredDocument license = documentService.attachInsuranceDocument(insurance.getId(),
+                Insurance.DocumentType.LICENSE, upload("agrément"));
+        StoredDocument registration = documentService.attachInsuranceDocument(insurance.getId(),
+                Insurance.DocumentType.REGISTRATION, upload("agrément"));
+
+        assertThat(registration.path()).isEqualTo(license.path());
+        assertThat(registration.deduplicated()).isTrue();
+        Insurance saved = insuranceRepository.findById(insurance.getId()).orElseThrow();
+        assertThat(saved.getLicensePath()).isEqualTo(license.path());
+        assertThat(saved.getRegistrationDocumentPath()).isEqualTo(license.path());
+    }
+
+    @Test
+    void shouldNotStoreDocumentForUnknownProfessional() {
+        AtomicBoolean received = new AtomicBoolean();
+
+        assertThrows(ProfessionalNotFoundException.class, () -> documentService.attachProfessionalDocument(
+                999L, Professional.DocumentType.LICENSE, target -> received.set(true)));
+        assertThat(received).isFalse();
+    }
+}
@@ -0,0 +1,117 @@
+package com.armacare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.armacare.dto.StoredDocument;
+import com.armacare.service.DocumentStorageService.Upload;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class DocumentStorageServiceTest {
+
+    @TempDir
+    private Path root;
+
+    private DocumentStorageService storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new DocumentStorageService(root);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldStoreDocumentUnderItsSha256() throws Exception {
+        StoredDocument document = storage.store(stream("diplôme"));
+
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest("diplôme".getBytes(StandardCharsets.UTF_8)));
+        assertThat(document.sha256()).isEqualTo(expected);
+        assertThat(document.path()).isEqualTo(expected.substring(0, 2) + "/" + expected.substring(2, 4) + "/" + expected);
+        assertThat(document.size()).isEqualTo("diplôme".getBytes(StandardCharsets.UTF_8).length);
+        assertThat(document.deduplicated()).isFalse();
+        assertThat(Files.readString(storage.resolve(document.path()))).isEqualTo("diplôme");
+    }
+
+    @Test
+    void shouldMoveReceivedFileInsteadOfCopyingIt() throws IOException {
+        Path received = Files.writeString(root.resolve("part.tmp"), "diplôme reçu");
+
+        StoredDocument document = storage.store(target -> Files.move(received, target,
+                StandardCopyOption.REPLACE_EXISTING));
+        StoredDocument duplicate = storage.store(Upload.of(stream("diplôme reçu")));
+
+        assertThat(Files.readString(storage.resolve(document.path()))).isEqualTo("diplôme reçu");
+        assertThat(document.size()).isEqualTo("diplôme reçu".getBytes(StandardCharsets.UTF_8).length);
+        assertThat(duplicate.path()).isEqualTo(document.path());
+        assertThat(duplicate.deduplicated()).isTrue();
+        assertThat(received).doesNotExist();
+        try (var leftovers = Files.list(storage.incomingDirectory())) {
+            assertThat(leftovers).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldStoreIdenticalDocumentsOnce() throws IOException {
+        StoredDocument first = storage.store(stream("licence"));
+        StoredDocument second = storage.store(stream("licence"));
+        StoredDocument other = storage.store(stream("RIB"));
+
+        assertThat(second.path()).isEqualTo(first.path());
+        assertThat(second.deduplicated()).isTrue();
+        assertThat(other.path()).isNotEqualTo(first.path());
+        // Aucun fichier temporaire ne reste après l'envoi
+        try (var incoming = Files.list(root.resolve("incoming"))) {
+            assertThat(incoming).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldCopyLargeDocumentsInChunks() throws Exception {
+        byte[] content = new byte[3 * 1024 * 1024 + 17];
+        new Random(7).nextBytes(content);
+
+        StoredDocument document = storage.store(new ByteArrayInputStream(content));
+
+        assertThat(document.size()).isEqualTo(content.length);
+        assertThat(Files.readAllBytes(storage.resolve(document.path()))).isEqualTo(content);
+    }
+
+    @Test
+    void shouldRejectKeysOutsideTheStore() {
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve("../../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve(null));
+    }
+
+    @Test
+    void shouldFindOnlyStoredDocuments() {
+        StoredDocument stored = storage.store(stream("contrat ARMA"));
+
+        assertThat(storage.find(stored.path())).contains(root.resolve(stored.path()));
+        // Chemin enregistré avant le stockage par contenu, ou clé sans fichier
+        assertThat(storage.find("documents/contrat.pdf")).isEmpty();
+        assertThat(storage.find("00/00/" + "0".repeat(64))).isEmpty();
+        assertThat(storage.find(null)).isEmpty();
+    }
+}
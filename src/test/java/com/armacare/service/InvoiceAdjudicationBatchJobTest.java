@@ -0,0 +1,213 @@
+package com.armacare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.armacare.dao.BatchCheckpointRepository;
+import com.armacare.dao.InsuranceContractRepository;
+import com.armacare.dao.InsuranceRepository;
+import com.armacare.dao.InvoiceDailySummaryRepository;
+import com.armacare.dao.InvoiceRepository;
+import com.armacare.dao.PatientRepository;
+import com.armacare.dao.ProfessionalRepository;
+import com.armacare.dto.BatchRunReport;
+import com.armacare.dto.InvoiceClaim;
+import com.armacare.model.BatchCheckpoint;
+import com.armacare.model.Coverage;
+import com.armacare.model.Insurance;
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Invoice;
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.armacare.model.InvoiceDailySummary;
+import com.armacare.model.Patient;
+import com.armacare.model.Professional;
+
+// Pages de 2 factures et 2 travailleurs : plusieurs pages et plusieurs points de reprise
+@SpringBootTest(properties = {
+        "armacare.batch.adjudication.chunk-size=2",
+        "armacare.batch.adjudication.workers=2"
+})
+@ActiveProfiles("test")
+public class InvoiceAdjudicationBatchJobTest {
+
+    @Autowired
+    private InvoiceAdjudicationBatchJob batchJob;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private InsuranceContractRepository contractRepository;
+
+    @Autowired
+    private InsuranceRepository insuranceRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private BatchCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private InvoiceDailySummaryRepository summaryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private ClaimAdjudicationService adjudicationService;
+
+    private final List<Invoice> invoices = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Professional professional = professionalRepository.findById(1L).orElseThrow();
+        Patient patient = patientRepository.save(new Patient("Awa", "Ndiaye", LocalDate.of(1990, 1, 1), "F",
+                "CNI-BATCH", "Rue 1", "Dakar", "10000", "771234567", "awa.batch@example.com"));
+        Insurance insurance = insuranceRepository.save(new Insurance("Assurance Test", "Santé",
+                "batch@assurance.sn", "781234567"));
+        InsuranceContract contract = new InsuranceContract("C-BATCH", "Standard",
+                java.sql.Date.valueOf("2024-01-01"), null, 0.0, patient, insurance);
+        contract.addCoverage(new Coverage("dentaire", 80, null));
+        contract.addCoverage(new Coverage("hospitalisation", 100, null));
+        contract = contractRepository.save(contract);
+
+        invoices.add(invoice(professional, patient, contract, "dentaire", InvoiceStatus.EN_ATTENTE));
+        invoices.add(invoice(professional, patient, contract, "hospitalisation", InvoiceStatus.EN_ATTENTE));
+        invoices.add(invoice(professional, patient, contract, "kinésithérapie", InvoiceStatus.EN_ATTENTE));
+        invoices.add(invoice(professional, patient, contract, "dentaire", InvoiceStatus.PAYEE));
+        invoices.add(invoice(professional, patient, contract, "hospitalisation", InvoiceStatus.EN_ATTENTE));
+    }
+
+    private Invoice invoice(Professional professional, Patient patient, InsuranceContract contract,
+            String coverageType, InvoiceStatus status) {
+        Invoice invoice = new Invoice(LocalDate.parse("2024-06-15"), 10000.0, 0.0, status,
+                professional, patient, contract);
+        invoice.setCoverageType(coverageType);
+        return invoiceRepository.save(invoice);
+    }
+
+    @AfterEach
+    void tearDown() {
+        invoiceRepository.deleteAll();
+        contractRepository.deleteAll();
+        insuranceRepository.deleteAll();
+        patientRepository.deleteAll();
+        checkpointRepository.deleteAll();
+        summaryRepository.deleteAll();
+        invoices.clear();
+    }
+
+    private long summaryCount(InvoiceStatus status) {
+        Invoice invoice = invoices.get(0);
+        return summaryRepository.findById(new InvoiceDailySummary.Key(invoice.getContract().getInsurance().getId(),
+                invoice.getProfessional().getId(), invoice.getInvoiceDate(), status))
+                .map(InvoiceDailySummary::getInvoiceCount)
+                .orElse(0L);
+    }
+
+    private InvoiceStatus statusOf(int index) {
+        return invoiceRepository.findById(invoices.get(index).getId()).orElseThrow().getStatus();
+    }
+
+    @Test
+    void shouldAdjudicateAllPendingInvoices() {
+        BatchRunReport report = batchJob.run();
+
+        assertThat(report.getClaimsRead()).isEqualTo(4);
+        assertThat(report.getReimbursed()).isEqualTo(2);
+        assertThat(report.getPartiallyReimbursed()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(1);
+        assertThat(report.getFailed()).isZero();
+        assertThat(statusOf(0)).isEqualTo(InvoiceStatus.PARTIELLEMENT_REMBOURSEE);
+        assertThat(invoiceRepository.findById(invoices.get(0).getId()).orElseThrow().getReimbursableAmount())
+                .isEqualTo(8000.0);
+        assertThat(statusOf(1)).isEqualTo(InvoiceStatus.REMBOURSEE);
+        assertThat(statusOf(2)).isEqualTo(InvoiceStatus.REJETEE);
+        assertThat(statusOf(3)).isEqualTo(InvoiceStatus.PAYEE);
+        assertThat(statusOf(4)).isEqualTo(InvoiceStatus.REMBOURSEE);
+        // Cumul quotidien suivi dans la transaction de chaque page
+        assertThat(summaryCount(InvoiceStatus.EN_ATTENTE)).isZero();
+        assertThat(summaryCount(InvoiceStatus.REMBOURSEE)).isEqualTo(2);
+        assertThat(summaryCount(InvoiceStatus.PARTIELLEMENT_REMBOURSEE)).isEqualTo(1);
+        assertThat(summaryCount(InvoiceStatus.REJETEE)).isEqualTo(1);
+        assertThat(summaryCount(InvoiceStatus.PAYEE)).isEqualTo(1);
+        // Exécution complète : le point de reprise est remis à zéro
+        assertThat(checkpointRepository.findById(InvoiceAdjudicationBatchJob.JOB_NAME).orElseThrow()
+                .getLastProcessedId()).isZero();
+    }
+
+    @Test
+    void shouldLeaveInvoicesWithoutCoverageTypePending() {
+        Invoice legacy = invoices.get(0);
+        legacy.setCoverageType(null);
+        invoiceRepository.save(legacy);
+
+        BatchRunReport report = batchJob.run();
+
+        assertThat(report.getClaimsRead()).isEqualTo(3);
+        assertThat(report.getRejected()).isEqualTo(1);
+        assertThat(statusOf(0)).isEqualTo(InvoiceStatus.EN_ATTENTE);
+        assertThat(summaryCount(InvoiceStatus.EN_ATTENTE)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldResumeAfterLastCommittedChunk() {
+        // Simule un arrêt brutal après la validation de la première page
+        BatchCheckpoint checkpoint = new BatchCheckpoint(InvoiceAdjudicationBatchJob.JOB_NAME);
+        checkpoint.setLastProcessedId(invoices.get(1).getId());
+        checkpointRepository.save(checkpoint);
+
+        BatchRunReport resumed = batchJob.run();
+
+        assertThat(resumed.getResumedFromId()).isEqualTo(invoices.get(1).getId());
+        assertThat(resumed.getClaimsRead()).isEqualTo(2);
+        assertThat(statusOf(0)).isEqualTo(InvoiceStatus.EN_ATTENTE);
+        assertThat(statusOf(2)).isEqualTo(InvoiceStatus.REJETEE);
+
+        BatchRunReport nextRun = batchJob.run();
+
+        assertThat(nextRun.getResumedFromId()).isZero();
+        assertThat(nextRun.getClaimsRead()).isEqualTo(2);
+        assertThat(statusOf(0)).isEqualTo(InvoiceStatus.PARTIELLEMENT_REMBOURSEE);
+    }
+
+    @Test
+    void shouldCountInvoiceChangedBeforeWriteAsSkippedOnly() {
+        Long paidMeanwhile = invoices.get(1).getId();
+        // Facture payée par un autre traitement entre la lecture de la page et son écriture
+        doAnswer(invocation -> {
+            InvoiceClaim claim = invocation.getArgument(0);
+            if (claim.getInvoiceId().equals(paidMeanwhile)) {
+                jdbcTemplate.update("update invoices set status = 'PAYEE' where id = ?", paidMeanwhile);
+            }
+            return invocation.callRealMethod();
+        }).when(adjudicationService).adjudicate(any(InvoiceClaim.class));
+
+        BatchRunReport report = batchJob.run();
+
+        assertThat(report.getClaimsRead()).isEqualTo(4);
+        assertThat(report.getSkipped()).isEqualTo(1);
+        assertThat(report.getReimbursed()).isEqualTo(1);
+        assertThat(report.getReimbursed() + report.getPartiallyReimbursed() + report.getRejected()
+                + report.getFailed() + report.getSkipped()).isEqualTo(report.getClaimsRead());
+        assertThat(statusOf(1)).isEqualTo(InvoiceStatus.PAYEE);
+    }
+}
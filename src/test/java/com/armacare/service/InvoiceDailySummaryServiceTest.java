@@ -0,0 +1,222 @@
+package com.armacare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.armacare.dao.BatchCheckpointRepository;
+import com.armacare.dao.InsuranceContractRepository;
+import com.armacare.dao.InsuranceRepository;
+import com.armacare.dao.InvoiceDailySummaryRepository;
+import com.armacare.dao.InvoiceRepository;
+import com.armacare.dao.PatientRepository;
+import com.armacare.dao.ProfessionalRepository;
+import com.armacare.dto.SummaryRebuildReport;
+import com.armacare.model.Coverage;
+import com.armacare.model.Insurance;
+import com.armacare.model.InsuranceContract;
+import com.armacare.model.Invoice;
+import com.armacare.model.Invoice.InvoiceStatus;
+import com.armacare.model.InvoiceDailySummary;
+import com.armacare.model.Patient;
+import com.armacare.model.Professional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class InvoiceDailySummaryServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 15);
+
+    @Autowired
+    private InvoiceDailySummaryRepository summaryRepository;
+
+    @Autowired
+    private InvoiceDailySummaryRebuildJob rebuildJob;
+
+    @Autowired
+    private ClaimAdjudicationService adjudicationService;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private InsuranceContractRepository contractRepository;
+
+    @Autowired
+    private InsuranceRepository insuranceRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private BatchCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Professional professional;
+    private Patient patient;
+    private Insurance insurance;
+    private InsuranceContract contract;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        professional = professionalRepository.findById(1L).orElseThrow();
+        patient = patientRepository.save(new Patient("Moussa", "Diop", LocalDate.of(1985, 3, 2), "M",
+                "CNI-CUMUL", "Rue 3", "Dakar", "10000", "772223344", "moussa.cumul@example.com"));
+        insurance = insuranceRepository.save(new Insurance("Assurance Cumul", "Santé",
+                "cumul@assurance.sn", "782223344"));
+        InsuranceContract newContract = new InsuranceContract("C-CUMUL", "Standard",
+                java.sql.Date.valueOf("2024-01-01"), null, 0.0, patient, insurance);
+        newContract.addCoverage(new Coverage("dentaire", 80, null));
+        contract = contractRepository.save(newContract);
+    }
+
+    @AfterEach
+    void tearDown() {
+        invoiceRepository.deleteAll();
+        contractRepository.deleteAll();
+        insuranceRepository.deleteAll();
+        patientRepository.deleteAll();
+        summaryRepository.deleteAll();
+    }
+
+    private Invoice newInvoice(double totalAmount) {
+        Invoice invoice = new Invoice(DAY, totalAmount, 0.0, InvoiceStatus.EN_ATTENTE, professional, patient, contract);
+        invoice.setCoverageType("dentaire");
+        return invoice;
+    }
+
+    private InvoiceDailySummary.Key key(InvoiceStatus status) {
+        return new InvoiceDailySummary.Key(insurance.getId(), professional.getId(), DAY, status);
+    }
+
+    private InvoiceDailySummary summary(InvoiceStatus status) {
+        return summaryRepository.findById(key(status)).orElseThrow();
+    }
+
+    private Map<InvoiceDailySummary.Key, String> nonEmptySummaries() {
+        return summaryRepository.findAll().stream()
+                .filter(summary -> summary.getInvoiceCount() != 0)
+                .collect(Collectors.toMap(InvoiceDailySummary::getId, summary -> summary.getInvoiceCount()
+                        + "/" + summary.getTotalAmount() + "/" + summary.getReimbursableAmount()));
+    }
+
+    @Test
+    void shouldCountCreatedInvoicesOnePerSummaryRow() {
+        transactionTemplate.executeWithoutResult(status -> {
+            invoiceRepository.save(newInvoice(10000.0));
+            invoiceRepository.save(newInvoice(5000.0));
+        });
+        invoiceRepository.save(newInvoice(2500.0));
+
+        InvoiceDailySummary pending = summary(InvoiceStatus.EN_ATTENTE);
+        assertThat(pending.getInvoiceCount()).isEqualTo(3);
+        assertThat(pending.getTotalAmount()).isEqualTo(17500.0);
+        assertThat(pending.getReimbursableAmount()).isZero();
+    }
+
+    @Test
+    void shouldMoveAdjudicatedInvoiceToItsNewStatus() {
+        Invoice first = invoiceRepository.save(newInvoice(10000.0));
+        invoiceRepository.save(newInvoice(5000.0));
+
+        adjudicationService.adjudicate(first.getId());
+
+        assertThat(summary(InvoiceStatus.EN_ATTENTE).getInvoiceCount()).isEqualTo(1);
+        assertThat(summary(InvoiceStatus.EN_ATTENTE).getTotalAmount()).isEqualTo(5000.0);
+        InvoiceDailySummary partial = summary(InvoiceStatus.PARTIELLEMENT_REMBOURSEE);
+        assertThat(partial.getInvoiceCount()).isEqualTo(1);
+        assertThat(partial.getTotalAmount()).isEqualTo(10000.0);
+        assertThat(partial.getReimbursableAmount()).isEqualTo(8000.0);
+    }
+
+    @Test
+    void shouldUpdateSummaryWithoutLoadingInvoiceContract() {
+        Long invoiceId = invoiceRepository.save(newInvoice(10000.0)).getId();
+
+        boolean contractLoaded = transactionTemplate.execute(status -> {
+            Invoice invoice = invoiceRepository.findById(invoiceId).orElseThrow();
+            invoice.setStatus(InvoiceStatus.REJETEE);
+            invoiceRepository.flush();
+            return Hibernate.isInitialized(invoice.getContract());
+        });
+
+        // L'assureur du contrat est lu en SQL avec l'application des écarts, pas par le proxy du contrat
+        assertThat(contractLoaded).isFalse();
+        assertThat(summary(InvoiceStatus.EN_ATTENTE).getInvoiceCount()).isZero();
+        assertThat(summary(InvoiceStatus.REJETEE).getInvoiceCount()).isEqualTo(1);
+        assertThat(summary(InvoiceStatus.REJETEE).getTotalAmount()).isEqualTo(10000.0);
+    }
+
+    @Test
+    void shouldLeaveSummaryUnchangedWhenTransactionRollsBack() {
+        invoiceRepository.save(newInvoice(10000.0));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            invoiceRepository.saveAndFlush(newInvoice(5000.0));
+            status.setRollbackOnly();
+        });
+
+        assertThat(summary(InvoiceStatus.EN_ATTENTE).getInvoiceCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSubtractDeletedInvoices() {
+        Invoice invoice = invoiceRepository.save(newInvoice(10000.0));
+        invoiceRepository.save(newInvoice(5000.0));
+
+        invoiceRepository.deleteById(invoice.getId());
+
+        assertThat(summary(InvoiceStatus.EN_ATTENTE).getInvoiceCount()).isEqualTo(1);
+        assertThat(summary(InvoiceStatus.EN_ATTENTE).getTotalAmount()).isEqualTo(5000.0);
+    }
+
+    @Test
+    void shouldRebuildTheSameSummaryAsIncrementalMaintenance() {
+        Invoice first = invoiceRepository.save(newInvoice(10000.0));
+        invoiceRepository.save(newInvoice(5000.0));
+        Invoice later = newInvoice(3000.0);
+        later.setInvoiceDate(DAY.plusMonths(1));
+        invoiceRepository.save(later);
+        adjudicationService.adjudicate(first.getId());
+        Map<InvoiceDailySummary.Key, String> incremental = nonEmptySummaries();
+
+        summaryRepository.deleteAll();
+        SummaryRebuildReport report = rebuildJob.rebuild(null, null);
+
+        assertThat(report.months()).isEqualTo(2);
+        assertThat(report.summaryRows()).isEqualTo(3);
+        assertThat(nonEmptySummaries()).isEqualTo(incremental);
+    }
+
+    @Test
+    void shouldBackfillSummariesUntilAFullRebuildIsRecorded() {
+        invoiceRepository.save(newInvoice(10000.0));
+        Map<InvoiceDailySummary.Key, String> incremental = nonEmptySummaries();
+        summaryRepository.deleteAll();
+        checkpointRepository.deleteById(InvoiceDailySummaryRebuildJob.JOB_NAME);
+
+        assertThat(rebuildJob.backfillIfNeeded()).isTrue();
+        assertThat(nonEmptySummaries()).isEqualTo(incremental);
+        assertThat(checkpointRepository.existsById(InvoiceDailySummaryRebuildJob.JOB_NAME)).isTrue();
+        assertThat(rebuildJob.backfillIfNeeded()).isFalse();
+    }
+}
@@ -0,0 +1,131 @@
+package com.armacare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.armacare.dao.PatientRepository;
+import com.armacare.dto.PatientCoverage;
+import com.armacare.dto.PatientDto;
+import com.armacare.dto.PatientEligibility;
+import com.armacare.exception.PatientNotFoundException;
+import com.armacare.model.Patient;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class PatientServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 15);
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    private PatientService patientService;
+
+    @BeforeEach
+    void setUp() {
+        patientService = new PatientService(patientRepository,
+                new PatientEligibilityCache(100, Duration.ofMinutes(1), Duration.ofSeconds(15)));
+    }
+
+    private void givenCoverage(String nationalId, PatientCoverage... rows) {
+        when(patientRepository.findCoverage(eq(nationalId), any(), any(), any(Limit.class))).thenReturn(List.of(rows));
+    }
+
+    @Test
+    void shouldBeEligibleWhenActiveContractCoversType() {
+        givenCoverage("CNI-1", new PatientCoverage(1L, true, 11L, "C-1", "Assurance Test", 5000.0, 21L, 80, 100000.0));
+
+        PatientEligibility eligibility = patientService.checkEligibility("CNI-1", "dentaire", DAY);
+
+        assertThat(eligibility.eligible()).isTrue();
+        assertThat(eligibility.contractId()).isEqualTo(11L);
+        assertThat(eligibility.coverageRate()).isEqualTo(80);
+        assertThat(eligibility.deductible()).isEqualTo(5000.0);
+    }
+
+    @Test
+    void shouldNotBeEligibleWithoutActiveContract() {
+        givenCoverage("CNI-1", new PatientCoverage(1L, true, null, null, null, null, null, null, null));
+
+        PatientEligibility eligibility = patientService.checkEligibility("CNI-1", "dentaire", DAY);
+
+        assertThat(eligibility.eligible()).isFalse();
+        assertThat(eligibility.reason()).isEqualTo("Aucun contrat actif à cette date");
+    }
+
+    @Test
+    void shouldNotBeEligibleWhenContractDoesNotCoverType() {
+        givenCoverage("CNI-1", new PatientCoverage(1L, true, 11L, "C-1", "Assurance Test", 0.0, null, null, null));
+
+        PatientEligibility eligibility = patientService.checkEligibility("CNI-1", "optique", DAY);
+
+        assertThat(eligibility.eligible()).isFalse();
+        assertThat(eligibility.contractNumber()).isEqualTo("C-1");
+        assertThat(eligibility.reason()).isEqualTo("Type de soin non couvert par le contrat");
+    }
+
+    @Test
+    void shouldCachePositiveAndNegativeAnswers() {
+        givenCoverage("CNI-1", new PatientCoverage(1L, true, 11L, "C-1", "Assurance Test", 0.0, 21L, 80, null));
+        when(patientRepository.findCoverage(eq("CNI-X"), any(), any(), any(Limit.class))).thenReturn(List.of());
+
+        patientService.checkEligibility("CNI-1", "dentaire", DAY);
+        patientService.checkEligibility("CNI-1", "DENTAIRE", DAY);
+        assertThrows(PatientNotFoundException.class, () -> patientService.checkEligibility("CNI-X", "dentaire", DAY));
+        assertThrows(PatientNotFoundException.class, () -> patientService.checkEligibility("CNI-X", "dentaire", DAY));
+
+        verify(patientRepository, times(1)).findCoverage(eq("CNI-1"), any(), any(), any(Limit.class));
+        verify(patientRepository, times(1)).findCoverage(eq("CNI-X"), any(), any(), any(Limit.class));
+    }
+
+    @Test
+    void shouldForgetCachedAnswersWhenPatientIsDeactivated() {
+        Patient patient = new Patient("Awa", "Ndiaye", LocalDate.of(1990, 1, 1), "F", "CNI-1",
+                "Rue 1", "Dakar", "10000", "771234567", "awa@example.com");
+        when(patientRepository.findByNationalId("CNI-1")).thenReturn(Optional.of(patient));
+        when(patientRepository.save(patient)).thenReturn(patient);
+        when(patientRepository.findCoverage(eq("CNI-1"), any(), any(), any(Limit.class))).thenReturn(
+                List.of(new PatientCoverage(1L, true, 11L, "C-1", "Assurance Test", 0.0, 21L, 80, null)),
+                List.of(new PatientCoverage(1L, false, 11L, "C-1", "Assurance Test", 0.0, 21L, 80, null)));
+
+        assertThat(patientService.checkEligibility("CNI-1", "dentaire", DAY).eligible()).isTrue();
+        patientService.deactivatePatient("CNI-1");
+
+        PatientEligibility eligibility = patientService.checkEligibility("CNI-1", "dentaire", DAY);
+        assertThat(eligibility.eligible()).isFalse();
+        assertThat(eligibility.reason()).isEqualTo("Patient désactivé");
+        assertThat(patient.isActive()).isFalse();
+    }
+
+    @Test
+    void shouldCreatePatientFromDto() {
+        PatientDto dto = new PatientDto();
+        dto.setFirstName("Moussa");
+        dto.setLastName("Sow");
+        dto.setNationalId("CNI-2");
+        dto.setPhone("781112233");
+        when(patientRepository.save(any(Patient.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Patient patient = patientService.createPatient(dto);
+
+        assertThat(patient.getNationalId()).isEqualTo("CNI-2");
+        assertThat(patient.getCountry()).isEqualTo("Sénégal");
+    }
+}
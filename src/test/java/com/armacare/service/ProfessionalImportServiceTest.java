@@ -0,0 +1,183 @@
+package com.armacare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.armacare.dao.ProfessionalRepository;
+import com.armacare.dto.ProfessionalImportReport;
+import com.armacare.exception.ProfessionalImportException;
+import com.armacare.model.Professional;
+import com.armacare.model.Professional.AccountStatus;
+
+// Petits lots (7 lignes) pour traverser plusieurs transactions avec peu de données
+@SpringBootTest(properties = "armacare.import.chunk-size=7")
+@ActiveProfiles("test")
+public class ProfessionalImportServiceTest {
+
+    private static final String HEADER = "firstName;lastName;speciality;registrationNumber;phone;email;city\n";
+
+    @Autowired
+    private ProfessionalImportService professionalImportService;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @AfterEach
+    void removeImportedProfessionals() {
+        professionalRepository.deleteAll(professionalRepository.findAll().stream()
+                .filter(professional -> professional.getRegistrationNumber().startsWith("IMP-"))
+                .toList());
+    }
+
+    private static String csvRow(int i) {
+        return "Prénom" + i + ";Nom" + i + ";Medecin généraliste;IMP-" + i + ";77" + String.format("%07d", i)
+                + ";pro" + i + "@example.com;Dakar\n";
+    }
+
+    @Test
+    void shouldImportCsvAcrossSeveralChunks() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= 20; i++) {
+            csv.append(csvRow(i));
+        }
+
+        ProfessionalImportReport report = professionalImportService.importCsv(new StringReader(csv.toString()));
+
+        assertThat(report.getTotalRows()).isEqualTo(20);
+        assertThat(report.getImportedRows()).isEqualTo(20);
+        assertThat(report.getFailedRows()).isZero();
+        Professional imported = professionalRepository.findByRegistrationNumber("IMP-13").orElseThrow();
+        assertThat(imported.getLastName()).isEqualTo("Nom13");
+        assertThat(imported.getAccountStatus()).isEqualTo(AccountStatus.PENDING_VERIFICATION);
+        assertThat(imported.getCountry()).isEqualTo("Sénégal");
+    }
+
+    @Test
+    void shouldReportInvalidAndDuplicateRowsWithoutLosingValidOnes() {
+        String csv = HEADER
+                + csvRow(1)
+                + ";Sans prénom;Medecin;IMP-2;771234567;;Dakar\n"
+                + csvRow(1)
+                + "Saliou;Diop;Medecin;123456789;771234568;;Dakar\n"
+                + "\"Awa; dite \"\"Mame\"\"\";Ndiaye;Medecin;IMP-5;771234569;;Dakar\n";
+
+        ProfessionalImportReport report = professionalImportService.importCsv(new StringReader(csv));
+
+        assertThat(report.getTotalRows()).isEqualTo(5);
+        assertThat(report.getImportedRows()).isEqualTo(2);
+        assertThat(report.getFailedRows()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting("row").containsExactly(2L, 3L, 4L);
+        assertThat(report.getErrors().get(0).getMessages()).containsExactly("Le prénom du professionnel est obligatoire");
+        assertThat(report.getErrors().get(1).getMessages()).containsExactly("Numéro d'enregistrement en double dans le fichier");
+        assertThat(report.getErrors().get(2).getMessages()).containsExactly("Numéro d'enregistrement déjà utilisé");
+        assertThat(professionalRepository.findByRegistrationNumber("IMP-5").orElseThrow().getFirstName())
+                .isEqualTo("Awa; dite \"Mame\"");
+    }
+
+    @Test
+    void shouldImportJsonArray() throws Exception {
+        String json = """
+                [
+                  {"firstName": "Awa", "lastName": "Ndiaye", "speciality": "Pédiatre",
+                   "registrationNumber": "IMP-J1", "phone": "771112233", "city": "Thiès"},
+                  {"firstName": "Moussa", "lastName": "Fall", "speciality": "Dentiste",
+                   "registrationNumber": "IMP-J2", "phone": "12", "city": "Dakar"}
+                ]
+                """;
+
+        ProfessionalImportReport report = professionalImportService.importJson(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.getImportedRows()).isEqualTo(1);
+        assertThat(report.getFailedRows()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getRegistrationNumber()).isEqualTo("IMP-J2");
+        assertThat(professionalRepository.findByRegistrationNumber("IMP-J1")).isPresent();
+    }
+
+    @Test
+    void shouldKeepPreviousRowsWhenFileBecomesUnreadable() {
+        String csv = HEADER + csvRow(1) + csvRow(2) + "Fin;\"non fermé;Medecin\n";
+
+        ProfessionalImportReport report = professionalImportService.importCsv(new StringReader(csv));
+
+        assertThat(report.getImportedRows()).isEqualTo(2);
+        assertThat(report.getFailedRows()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getRow()).isEqualTo(3);
+        assertThat(report.getErrors().get(0).getMessages().get(0)).contains("guillemet non fermé");
+    }
+
+    @Test
+    void shouldRejectMalformedRowsAndKeepReading() {
+        String csv = "firstName;lastName;speciality;registrationNumber;phone;city;accountStatus\n"
+                + "Awa;Ndiaye;Pédiatre;IMP-1;771234561;Dakar;ACTIVE\n"
+                + "Trop;de;colonnes;IMP-2;771234562;Dakar;ACTIVE;en trop\n"
+                + "Moussa;Fall;Dentiste;IMP-3;771234563;Dakar;INCONNU\n"
+                + "Fatou;Sarr;Pédiatre;IMP-4;771234564;Thiès;ACTIVE\n";
+
+        ProfessionalImportReport report = professionalImportService.importCsv(new StringReader(csv));
+
+        assertThat(report.getImportedRows()).isEqualTo(2);
+        assertThat(report.getFailedRows()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting("row").containsExactly(2L, 3L);
+        assertThat(report.getErrors().get(0).getMessages().get(0)).contains("8 colonnes au lieu de 7");
+        assertThat(report.getErrors().get(1).getMessages().get(0)).contains("valeur invalide pour accountStatus");
+        assertThat(professionalRepository.findByRegistrationNumber("IMP-4")).isPresent();
+    }
+
+    @Test
+    void shouldRejectJsonElementWithInvalidValueAndKeepReading() throws Exception {
+        String json = """
+                [
+                  {"firstName": "Awa", "lastName": "Ndiaye", "speciality": "Pédiatre",
+                   "registrationNumber": "IMP-J1", "phone": "771112233", "city": "Thiès"},
+                  {"firstName": "Moussa", "lastName": "Fall", "speciality": "Dentiste",
+                   "registrationNumber": "IMP-J2", "phone": "771112234", "accountStatus": "INCONNU"},
+                  {"firstName": "Fatou", "lastName": "Sarr", "speciality": "Dentiste",
+                   "registrationNumber": "IMP-J3", "phone": "771112235", "city": "Dakar"}
+                ]
+                """;
+
+        ProfessionalImportReport report = professionalImportService.importJson(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.getImportedRows()).isEqualTo(2);
+        assertThat(report.getFailedRows()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getRow()).isEqualTo(2);
+        assertThat(report.getErrors().get(0).getMessages()).containsExactly("Valeur invalide pour accountStatus");
+        assertThat(professionalRepository.findByRegistrationNumber("IMP-J3")).isPresent();
+    }
+
+    @Test
+    void shouldRejectUnknownCsvColumn() {
+        assertThrows(ProfessionalImportException.class,
+                () -> professionalImportService.importCsv(new StringReader("prenom;nom\nAwa;Ndiaye\n")));
+        assertThat(professionalRepository.findAll()).extracting(Professional::getRegistrationNumber)
+                .noneMatch(number -> number.startsWith("IMP-"));
+    }
+
+    @Test
+    void shouldCapReportedErrors() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        int rows = ProfessionalImportService.MAX_REPORTED_ERRORS + 5;
+        for (int i = 0; i < rows; i++) {
+            csv.append(";;;;;;\n");
+        }
+
+        ProfessionalImportReport report = professionalImportService.importCsv(new StringReader(csv.toString()));
+
+        assertThat(report.getFailedRows()).isEqualTo(rows);
+        assertThat(report.getErrors()).hasSize(ProfessionalImportService.MAX_REPORTED_ERRORS);
+        assertThat(report.isErrorsTruncated()).isTrue();
+        assertThat(report.getImportedRows()).isZero();
+    }
+}
@@ -1,17 +1,24 @@
 package com.armacare.service;
 
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.ArgumentMatchers.any;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
 
 import com.armacare.model.Professional.AccountStatus;
+import com.armacare.dto.CursorPage;
 import com.armacare.dto.ProfessionalDto;
+import com.armacare.dto.ProfessionalView;
+import com.armacare.dto.StatusChange;
+import com.armacare.exception.InvalidCursorException;
 import com.armacare.exception.ProfessionalNotFoundException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -19,11 +26,15 @@ import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.armacare.dao.ProfessionalRepository;
+import com.armacare.dao.ProfessionalStatusHistoryRepository;
 import com.armacare.model.Professional;
+import com.armacare.model.ProfessionalStatusHistory;
 
 @SpringBootTest // par ce que j'ai besoin de charger tout le contexte de l'application
 @ActiveProfiles("test") // Utiliser le profil de test avec la base de données H2
@@ -32,54 +43,17 @@ public class ProfessionalServiceTest {
     @Mock
     private ProfessionalRepository professionalRepository;
 
-    @InjectMocks
-    private ProfessionalService professionalService;
-
-    @Test
-    void shouldFindAllProfessionals() {
-        Professional professional1 = new Professional(
-                "Saliou",
-                "Diop",
-                "Medecin Chirurgien",
-                "123456789",
-                "+221772345678",
-                "saliou.diop@example.com",
-                "123 Keur Massar",
-                "Dakar",
-                "Sénégal",
-                "ACTIVE",
-                "Documents validés",
-                "2023-01-01T16:00:00",
-                "path/to/identity/document1",
-                "path/to/license1",
-                "path/to/professional/insurance1",
-                "path/to/diploma1",
-                "path/to/bank/account/number1");
-        Professional professional2 = new Professional(
-                "Fatima",
-                "Diop",
-                "Medecin gynécologiste",
-                "7773456789",
-                "762345679",
-                "fatima.diop@example.com",
-                "12 Thiaroye",
-                "Dakar",
-                "Sénégal",
-                "PENDING_VERIFICATION",
-                "En attente de vérification des documents",
-                "2023-02-01T16:01:00",
-                "path/to/identity/document2",
-                "path/to/license2",
-                "path/to/professional/insurance2",
-                "path/to/diploma2",
-                "path/to/bank/account/number2");
+    @Mock
+    private ProfessionalStatusHistoryRepository statusHistoryRepository;
 
-        when(professionalRepository.findAll()).thenReturn(List.of(professional1, professional2));
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
-        List<Professional> professionals = professionalService.findAll();
+    @Spy
+    private ProfessionalLookupCache lookupCache = new ProfessionalLookupCache(100, Duration.ofMinutes(5));
 
-        assertThat(professionals).hasSize(2).containsExactly(professional1, professional2);
-    }
+    @InjectMocks
+    private ProfessionalService professionalService;
 
     @Test
     void shouldGetProfessionalById() {
@@ -167,6 +141,10 @@ public class ProfessionalServiceTest {
         assertThat(savedProfessional.getEmail()).isEqualTo("saliou.diop@example.com");
         assertThat(savedProfessional.getPhone()).isEqualTo("+221772345678");
         assertThat(savedProfessional.getAccountStatus()).isEqualTo(AccountStatus.PENDING_VERIFICATION);
+
+        // Compte en attente : vérification des documents demandée
+        verify(eventPublisher).publishEvent(
+                new ProfessionalVerificationService.VerificationRequested(expectedProfessional.getId()));
     }
 
     @Test
@@ -272,10 +250,10 @@ public class ProfessionalServiceTest {
         
         when(professionalRepository.findByEmail("saliou.diop@example.com")).thenReturn(Optional.of(professional));
         
-        Professional result = professionalService.findByEmail("saliou.diop@example.com").get();
+        ProfessionalView result = professionalService.findByEmail("saliou.diop@example.com").get();
         
         assertThat(result).isNotNull();
-        assertThat(result).isEqualTo(professional);
+        assertThat(result).isEqualTo(ProfessionalView.from(professional));
     }
 
     @Test 
@@ -300,10 +278,10 @@ public class ProfessionalServiceTest {
                 "path/to/bank/account/number1");
         when(professionalRepository.findByPhone("+221772345678")).thenReturn(Optional.of(professional));
 
-        Professional result = professionalService.findByPhone("+221772345678").get();
+        ProfessionalView result = professionalService.findByPhone("+221772345678").get();
 
         assertThat(result).isNotNull();
-        assertThat(result).isEqualTo(professional);
+        assertThat(result).isEqualTo(ProfessionalView.from(professional));
     }
 
     @Test
@@ -328,10 +306,10 @@ public class ProfessionalServiceTest {
                 "path/to/bank/account/number1");
         when(professionalRepository.findByRegistrationNumber("123456789")).thenReturn(Optional.of(professional));
 
-        Professional result = professionalService.findByRegistrationNumber("123456789").get();
+        ProfessionalView result = professionalService.findByRegistrationNumber("123456789").get();
 
         assertThat(result).isNotNull();
-        assertThat(result).isEqualTo(professional);
+        assertThat(result).isEqualTo(ProfessionalView.from(professional));
     }
 
     @Test 
@@ -373,12 +351,12 @@ public class ProfessionalServiceTest {
                 "path/to/diploma2",
                 "path/to/bank/account/number2");
         
-        when(professionalRepository.findBySpeciality("Medecin Chirurgien")).thenReturn(List.of(professional1, professional2));
+        when(professionalRepository.findViewsBySpeciality("Medecin Chirurgien")).thenReturn(List.of(ProfessionalView.from(professional1), ProfessionalView.from(professional2)));
         
-        List<Professional> result = professionalService.findBySpeciality("Medecin Chirurgien");
+        List<ProfessionalView> result = professionalService.findBySpeciality("Medecin Chirurgien");
         
         assertThat(result).isNotNull();
-        assertThat(result).hasSize(2).containsExactly(professional1, professional2);
+        assertThat(result).hasSize(2).containsExactly(ProfessionalView.from(professional1), ProfessionalView.from(professional2));
     }
 
     @Test
@@ -420,12 +398,12 @@ public class ProfessionalServiceTest {
                 "path/to/diploma2",
                 "path/to/bank/account/number2");
         
-        when(professionalRepository.findByCity("Dakar")).thenReturn(List.of(professional1, professional2));
+        when(professionalRepository.findViewsByCity("Dakar")).thenReturn(List.of(ProfessionalView.from(professional1), ProfessionalView.from(professional2)));
         
-        List<Professional> result = professionalService.findByCity("Dakar");
+        List<ProfessionalView> result = professionalService.findByCity("Dakar");
         
         assertThat(result).isNotNull();
-        assertThat(result).hasSize(2).containsExactly(professional1, professional2);
+        assertThat(result).hasSize(2).containsExactly(ProfessionalView.from(professional1), ProfessionalView.from(professional2));
     }
 
     @Test 
@@ -467,12 +445,12 @@ public class ProfessionalServiceTest {
                 "path/to/diploma2",
                 "path/to/bank/account/number2");
         
-        when(professionalRepository.findByAccountStatus(AccountStatus.PENDING_VERIFICATION)).thenReturn(List.of(professional1, professional2));
+        when(professionalRepository.findViewsByAccountStatus(AccountStatus.PENDING_VERIFICATION)).thenReturn(List.of(ProfessionalView.from(professional1), ProfessionalView.from(professional2)));
         
-        List<Professional> result = professionalService.findByAccountStatus(AccountStatus.PENDING_VERIFICATION);
+        List<ProfessionalView> result = professionalService.findByAccountStatus(AccountStatus.PENDING_VERIFICATION);
         
         assertThat(result).isNotNull();
-        assertThat(result).hasSize(2).containsExactly(professional1, professional2);
+        assertThat(result).hasSize(2).containsExactly(ProfessionalView.from(professional1), ProfessionalView.from(professional2));
     }
     
     @Test
@@ -624,5 +602,169 @@ public class ProfessionalServiceTest {
         assertThat(savedProfessional.getAccountStatus()).isEqualTo(AccountStatus.SUSPENDED);
         assertThat(savedProfessional.getStatusChangeReason()).isEqualTo(suspensionReason);
         assertThat(savedProfessional.getStatusChangeDate()).isNotNull();
+
+        // Transition ajoutée à l'historique, avec le statut précédent
+        ArgumentCaptor<ProfessionalStatusHistory> historyCaptor = ArgumentCaptor.forClass(ProfessionalStatusHistory.class);
+        verify(statusHistoryRepository).save(historyCaptor.capture());
+        assertThat(historyCaptor.getValue().getProfessionalId()).isEqualTo(1L);
+        assertThat(historyCaptor.getValue().getPreviousStatus()).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(historyCaptor.getValue().getStatus()).isEqualTo(AccountStatus.SUSPENDED);
+        assertThat(historyCaptor.getValue().getReason()).isEqualTo(suspensionReason);
+    }
+
+    @Test
+    void shouldPageStatusHistoryAfterCursor() {
+        StatusChange suspended = new StatusChange(7L, AccountStatus.ACTIVE, AccountStatus.SUSPENDED, "Contrôle",
+                LocalDateTime.of(2024, 3, 2, 9, 0));
+        StatusChange activated = new StatusChange(5L, AccountStatus.PENDING_VERIFICATION, AccountStatus.ACTIVE,
+                "Compte activé", LocalDateTime.of(2024, 3, 1, 9, 0));
+        when(statusHistoryRepository.findTimelineAfter(1L, 9L, Limit.of(2))).thenReturn(List.of(suspended, activated));
+
+        CursorPage<StatusChange> page = professionalService.findStatusHistory(1L, CursorPage.encodeCursor(9L), 1);
+
+        assertThat(page.getContent()).containsExactly(suspended);
+        assertThat(CursorPage.decodeCursor(page.getNextCursor())).isEqualTo(7L);
+    }
+
+    @Test
+    void shouldThrowProfessionalNotFoundExceptionForHistoryOfUnknownProfessional() {
+        when(statusHistoryRepository.findTimeline(99L, Limit.of(11))).thenReturn(List.of());
+        when(professionalRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ProfessionalNotFoundException.class, () -> professionalService.findStatusHistory(99L, null, 10));
+    }
+
+    @Test
+    void shouldReturnPageWithNextCursorWhenMoreRowsExist() {
+        Professional professional1 = new Professional();
+        professional1.setId(1L);
+        Professional professional2 = new Professional();
+        professional2.setId(2L);
+        Professional professional3 = new Professional();
+        professional3.setId(3L);
+
+        when(professionalRepository.findViewPage(0L, Limit.of(3)))
+                .thenReturn(List.of(ProfessionalView.from(professional1), ProfessionalView.from(professional2),
+                        ProfessionalView.from(professional3)));
+
+        CursorPage<ProfessionalView> page = professionalService.findPage(null, 2);
+
+        assertThat(page.getContent()).extracting(ProfessionalView::id).containsExactly(1L, 2L);
+        assertThat(page.isLast()).isFalse();
+        assertThat(CursorPage.decodeCursor(page.getNextCursor())).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldReturnLastPageWithoutCursor() {
+        Professional professional3 = new Professional();
+        professional3.setId(3L);
+
+        when(professionalRepository.findViewPage(2L, Limit.of(3)))
+                .thenReturn(List.of(ProfessionalView.from(professional3)));
+
+        CursorPage<ProfessionalView> page = professionalService.findPage(CursorPage.encodeCursor(2L), 2);
+
+        assertThat(page.getContent()).extracting(ProfessionalView::id).containsExactly(3L);
+        assertThat(page.isLast()).isTrue();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldCapPageSize() {
+        when(professionalRepository.findViewPage(0L, Limit.of(ProfessionalService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        CursorPage<ProfessionalView> page = professionalService.findPage(null, 100_000);
+
+        assertThat(page.getContent()).isEmpty();
+        verify(professionalRepository).findViewPage(0L, Limit.of(ProfessionalService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void shouldThrowInvalidCursorExceptionOnTamperedCursor() {
+        assertThrows(InvalidCursorException.class, () -> professionalService.findPage("%%%", 10));
+    }
+
+    @Test
+    void shouldServeRepeatedNaturalKeyLookupsFromCache() {
+        Professional professional = new Professional();
+        professional.setId(1L);
+        professional.setEmail("saliou.diop@example.com");
+
+        when(professionalRepository.findByEmail("saliou.diop@example.com")).thenReturn(Optional.of(professional));
+
+        assertThat(professionalService.findByEmail("saliou.diop@example.com")).contains(ProfessionalView.from(professional));
+        assertThat(professionalService.findByEmail("saliou.diop@example.com")).contains(ProfessionalView.from(professional));
+
+        verify(professionalRepository, times(1)).findByEmail("saliou.diop@example.com");
+    }
+
+    @Test
+    void shouldNotCacheMissingProfessional() {
+        when(professionalRepository.findByPhone("770000000")).thenReturn(Optional.empty());
+
+        assertThat(professionalService.findByPhone("770000000")).isEmpty();
+        assertThat(professionalService.findByPhone("770000000")).isEmpty();
+
+        verify(professionalRepository, times(2)).findByPhone("770000000");
+    }
+
+    @Test
+    void shouldInvalidateCachedLookupsWhenAccountIsSuspended() {
+        Professional professional = new Professional();
+        professional.setId(1L);
+        professional.setRegistrationNumber("123456789");
+        professional.setAccountStatus(AccountStatus.ACTIVE);
+
+        when(professionalRepository.findByRegistrationNumber("123456789")).thenReturn(Optional.of(professional));
+        when(professionalRepository.findById(1L)).thenReturn(Optional.of(professional));
+        when(professionalRepository.save(any(Professional.class))).thenReturn(professional);
+
+        professionalService.findByRegistrationNumber("123456789");
+        professionalService.suspendAccount(1L, "Fraude présumée");
+        professionalService.findByRegistrationNumber("123456789");
+
+        verify(professionalRepository, times(2)).findByRegistrationNumber("123456789");
+    }
+
+    @Test
+    void shouldNotCacheLookupThatStartedBeforeInvalidation() {
+        Professional professional = new Professional();
+        professional.setId(1L);
+        professional.setEmail("saliou.diop@example.com");
+        ProfessionalView stale = ProfessionalView.from(professional);
+
+        // Le professionnel est modifié (et invalidé) pendant la lecture de l'ancienne version
+        assertThat(lookupCache.findByEmail("saliou.diop@example.com", email -> {
+            lookupCache.invalidate(professional);
+            return Optional.of(stale);
+        })).contains(stale);
+
+        when(professionalRepository.findByEmail("saliou.diop@example.com")).thenReturn(Optional.of(professional));
+        professionalService.findByEmail("saliou.diop@example.com");
+
+        verify(professionalRepository, times(1)).findByEmail("saliou.diop@example.com");
+    }
+
+    @Test
+    void shouldInvalidatePreviousEmailWhenProfessionalIsUpdated() {
+        Professional professional = new Professional();
+        professional.setId(1L);
+        professional.setEmail("ancien@example.com");
+        professional.setAccountStatus(AccountStatus.ACTIVE);
+
+        when(professionalRepository.findByEmail("ancien@example.com")).thenReturn(Optional.of(professional));
+        when(professionalRepository.findById(1L)).thenReturn(Optional.of(professional));
+        when(professionalRepository.save(any(Professional.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        professionalService.findByEmail("ancien@example.com");
+
+        ProfessionalDto professionalDto = new ProfessionalDto();
+        professionalDto.setEmail("nouveau@example.com");
+        professionalDto.setAccountStatus(AccountStatus.ACTIVE);
+        professionalService.updateProfessional(1L, professionalDto);
+
+        when(professionalRepository.findByEmail("ancien@example.com")).thenReturn(Optional.empty());
+        assertThat(professionalService.findByEmail("ancien@example.com")).isEmpty();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package com.armacare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.armacare.dao.ProfessionalRepository;
+import com.armacare.model.Professional;
+
+import jakarta.persistence.EntityManager;
+
+// Modèle transactionnel réel (sans simulacre) : lectures en lecture seule, sans détection des modifications
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProfessionalServiceTransactionTest {
+
+    @Autowired
+    private ProfessionalService professionalService;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldReadInReadOnlyHibernateSession() {
+        List<Boolean> readOnlyFlags = new ArrayList<>();
+        List<FlushMode> flushModes = new ArrayList<>();
+
+        professionalService.streamAll(professional -> {
+            Session session = entityManager.unwrap(Session.class);
+            readOnlyFlags.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            readOnlyFlags.add(session.isDefaultReadOnly());
+            flushModes.add(session.getHibernateFlushMode());
+        });
+
+        assertThat(readOnlyFlags).isNotEmpty().containsOnly(true);
+        assertThat(flushModes).containsOnly(FlushMode.MANUAL);
+    }
+
+    @Test
+    void shouldNotFlushChangesMadeInReadOnlyTransaction() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            Professional professional = professionalService.findById(1L);
+            professional.setCity("Thiès");
+        });
+
+        assertThat(professionalRepository.findById(1L).orElseThrow().getCity()).isEqualTo("Dakar");
+    }
+
+    @Test
+    void shouldServeCachedLookupsWithoutTransactionOrConnection() {
+        // Premier appel : chargement par requête
+        assertThat(professionalService.findByEmail("saliou.diop@example.com")).isPresent();
+        assertThat(professionalService.findByPhone("+221772345678")).isPresent();
+        assertThat(professionalService.findByRegistrationNumber("123456789")).isPresent();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long transactions = statistics.getTransactionCount();
+        long connections = statistics.getConnectCount();
+
+        assertThat(professionalService.findByEmail("saliou.diop@example.com")).isPresent();
+        assertThat(professionalService.findByPhone("+221772345678")).isPresent();
+        assertThat(professionalService.findByRegistrationNumber("123456789")).isPresent();
+
+        assertThat(statistics.getTransactionCount()).isEqualTo(transactions);
+        assertThat(statistics.getConnectCount()).isEqualTo(connections);
+    }
+}
@@ -0,0 +1,137 @@
+package com.armacare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.armacare.dao.ProfessionalRepository;
+import com.armacare.dao.ProfessionalStatusHistoryRepository;
+import com.armacare.dto.StoredDocument;
+import com.armacare.model.Professional;
+import com.armacare.model.Professional.AccountStatus;
+import com.armacare.model.Professional.DocumentType;
+import com.armacare.service.DocumentStorageService.Upload;
+import com.armacare.service.ProfessionalVerificationService.Outcome;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProfessionalVerificationServiceTest {
+
+    @Autowired
+    private ProfessionalVerificationService verificationService;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentStorageService storage;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private ProfessionalStatusHistoryRepository statusHistoryRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        professionalRepository.deleteAllById(created);
+    }
+
+    // Professionnel en attente, avec un document PDF distinct pour chacun des types donnés
+    private Professional pendingProfessional(int number, DocumentType... documents) {
+        String registrationNumber = "V-" + number;
+        Professional professional = new Professional("Awa", "Ndiaye", "Pédiatre", registrationNumber,
+                "+221770000" + number, "awa.ndiaye" + number + "@example.com", "Rue 10", "Thiès", "Sénégal",
+                "PENDING_VERIFICATION", "En attente de vérification des documents", "2024-01-01T10:00:00",
+                null, null, null, null, null);
+        for (DocumentType type : documents) {
+            professional.setDocumentPath(type, storedPdf(registrationNumber + type).path());
+        }
+        professional = professionalRepository.save(professional);
+        created.add(professional.getId());
+        return professional;
+    }
+
+    private StoredDocument storedPdf(String content) {
+        return storage.store(new ByteArrayInputStream(("%PDF-1.7 " + content).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void shouldActivateProfessionalWhenAllDocumentsAreValid() {
+        Professional professional = pendingProfessional(100, DocumentType.values());
+
+        assertThat(verificationService.verify(professional.getId())).isEqualTo(Outcome.VERIFIED);
+
+        Professional verified = professionalRepository.findById(professional.getId()).orElseThrow();
+        assertThat(verified.getAccountStatus()).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(verified.getStatusChangeReason()).isEqualTo(ProfessionalVerificationService.VERIFIED_REASON);
+        assertThat(statusHistoryRepository.findTimeline(professional.getId(), Limit.of(1)))
+                .singleElement()
+                .satisfies(change -> {
+                    assertThat(change.previousStatus()).isEqualTo(AccountStatus.PENDING_VERIFICATION);
+                    assertThat(change.status()).isEqualTo(AccountStatus.ACTIVE);
+                });
+        assertThat(meterRegistry.get(ProfessionalVerificationService.STAGE_TIMER).tag("stage", "documents")
+                .timer().count()).isPositive();
+    }
+
+    @Test
+    void shouldKeepAccountPendingWithReasonForMissingOrInvalidDocuments() {
+        Professional professional = pendingProfessional(200,
+                DocumentType.IDENTITY, DocumentType.PROFESSIONAL_INSURANCE, DocumentType.BANK_ACCOUNT);
+        // Texte brut au lieu d'un scan ; chemin antérieur au stockage par contenu
+        professional.setLicensePath(storage.store(new ByteArrayInputStream(
+                "licence".getBytes(StandardCharsets.UTF_8))).path());
+        professional.setDiplomaPath("path/to/diploma");
+        professionalRepository.save(professional);
+
+        assertThat(verificationService.verify(professional.getId())).isEqualTo(Outcome.INCOMPLETE);
+
+        Professional pending = professionalRepository.findById(professional.getId()).orElseThrow();
+        assertThat(pending.getAccountStatus()).isEqualTo(AccountStatus.PENDING_VERIFICATION);
+        assertThat(pending.getStatusChangeReason())
+                .contains("DIPLOMA introuvable")
+                .contains("LICENSE de type non accepté (application/octet-stream)")
+                .doesNotContain("IDENTITY");
+    }
+
+    @Test
+    void shouldSkipProfessionalsThatAreNotPending() {
+        // Professionnel 1 : compte actif (data.sql)
+        assertThat(verificationService.verify(1L)).isEqualTo(Outcome.SKIPPED);
+        assertThat(verificationService.verify(999_999L)).isEqualTo(Outcome.SKIPPED);
+    }
+
+    @Test
+    void shouldVerifyInBackgroundOnceLastDocumentIsCommitted() throws InterruptedException {
+        Professional professional = pendingProfessional(300,
+                DocumentType.IDENTITY, DocumentType.DIPLOMA, DocumentType.LICENSE, DocumentType.BANK_ACCOUNT);
+
+        documentService.attachProfessionalDocument(professional.getId(), DocumentType.PROFESSIONAL_INSURANCE,
+                Upload.of(new ByteArrayInputStream("%PDF-1.7 assurance V-300".getBytes(StandardCharsets.UTF_8))));
+
+        AccountStatus status = professional.getAccountStatus();
+        for (int attempt = 0; attempt < 100 && status != AccountStatus.ACTIVE; attempt++) {
+            Thread.sleep(50);
+            status = professionalRepository.findById(professional.getId()).orElseThrow().getAccountStatus();
+        }
+        assertThat(status).isEqualTo(AccountStatus.ACTIVE);
+    }
+}
@@ -1,36 +1,15 @@
--- Création de la table Professional
-
-CREATE TABLE professionals (
-    id BIGINT PRIMARY KEY AUTO_INCREMENT,
-    first_name VARCHAR(255) NOT NULL,
-    last_name VARCHAR(255) NOT NULL,
-    speciality VARCHAR(255) NOT NULL,
-    registration_number VARCHAR(255) NOT NULL UNIQUE,
-    email VARCHAR(255) UNIQUE,
-    phone VARCHAR(255) NOT NULL,
-    address VARCHAR(255) NOT NULL,
-    city VARCHAR(255) NOT NULL,
-    country VARCHAR(255) DEFAULT 'Sénégal',
-    account_status VARCHAR(255) NOT NULL,
-    status_change_date TIMESTAMP,
-    status_change_reason VARCHAR(255),
-    identity_document_path VARCHAR(255),
-    diploma_path VARCHAR(255),
-    license_path VARCHAR(255),
-    professional_insurance_path VARCHAR(255),
-    bank_account_number_path VARCHAR(255) UNIQUE
-);
-
+-- Les tables et séquences sont créées par Hibernate (ddl-auto=create-drop) avant ce script.
+-- Les identifiants 1 à 3 sont fixés ici ; la séquence repart ensuite à 4 (optimiseur pooled-lo).
 
 INSERT INTO professionals (
-    first_name, last_name, speciality, 
+    id, first_name, last_name, speciality, 
     registration_number, email, phone, 
     address, city, country, 
     account_status, status_change_date, status_change_reason, 
     identity_document_path, diploma_path, license_path, 
     professional_insurance_path, bank_account_number_path
 ) VALUES (
-    'Saliou', 'Diop', 'Medecin Chirurgien', 
+    1, 'Saliou', 'Diop', 'Medecin Chirurgien', 
     '123456789', 'saliou.diop@example.com', '+221772345678', 
     '123 Keur Massar', 'Dakar', 'Sénégal', 
     'ACTIVE', TIMESTAMP '2023-01-01 16:00:00', 'Documents validés', 
@@ -39,14 +18,14 @@ INSERT INTO professionals (
 );
 
 INSERT INTO professionals (
-    first_name, last_name, speciality, 
+    id, first_name, last_name, speciality, 
     registration_number, email, phone, 
     address, city, country, 
     account_status, status_change_date, status_change_reason, 
     identity_document_path, diploma_path, license_path, 
     professional_insurance_path, bank_account_number_path
 ) VALUES (
-    'Fatima', 'Diop', 'Medecin gynécologiste', 
+    2, 'Fatima', 'Diop', 'Medecin gynécologiste', 
     '7773456789', 'fatima.diop@example.com', '762345679', 
     '12 Thiaroye', 'Dakar', 'Sénégal', 
     'PENDING_VERIFICATION', TIMESTAMP '2023-02-01 16:01:00', 'En attente de vérification des documents', 
@@ -54,17 +33,19 @@ INSERT INTO professionals (
     'path/to/professional/insurance2', 'path/to/bank/account/number2'
 );
 INSERT INTO professionals (
-    first_name, last_name, speciality, 
+    id, first_name, last_name, speciality, 
     registration_number, email, phone, 
     address, city, country, 
     account_status, status_change_date, status_change_reason, 
     identity_document_path, diploma_path, license_path, 
     professional_insurance_path, bank_account_number_path
 ) VALUES (
-    'Saidou', 'Ly', 'Medecin pédiatride', 
+    3, 'Saidou', 'Ly', 'Medecin pédiatride', 
     '99123456789', 'saidou.ly@example.com', '702345699', 
     '14 Gareba', 'Thiès', 'Sénégal', 
     'PENDING_VERIFICATION', TIMESTAMP '2023-03-01 16:02:00', 'En attente de vérification des documents', 
     'path/to/identity/document3', 'path/to/diploma3', 'path/to/license3',
     'path/to/professional/insurance3', 'path/to/bank/account/number3'
 );
+
+ALTER SEQUENCE professionals_seq RESTART WITH 4;